@@ -186,7 +186,9 @@ subprojects {
         }
 
         test {
-            useJUnitPlatform()
+            useJUnitPlatform {
+                excludeTags("benchmark")
+            }
             testLogging {
                 events("passed", "skipped", "failed")
             }
@@ -29,6 +29,21 @@ tasks {
             addStringOption("Xdoclint:none", "-quiet")
         }
     }
+
+    register<Test>("benchmark") {
+        description = "Runs the benchmarks excluded from the test task."
+        group = "verification"
+
+        testClassesDirs = sourceSets["test"].output.classesDirs
+        classpath = sourceSets["test"].runtimeClasspath
+
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+        testLogging {
+            events("passed", "skipped", "failed")
+        }
+    }
 }
 
 java {
@@ -40,4 +55,7 @@ java {
 dependencies {
     compileOnly("org.joml:joml:1.10.5")
     compileOnly("com.google.code.gson:gson:2.10.1")
+    compileOnly("io.netty:netty-buffer:4.1.97.Final")
+
+    testImplementation("io.netty:netty-buffer:4.1.97.Final")
 }
\ No newline at end of file
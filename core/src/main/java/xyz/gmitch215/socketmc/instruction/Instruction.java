@@ -1,16 +1,22 @@
 package xyz.gmitch215.socketmc.instruction;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import xyz.gmitch215.socketmc.config.ModPermission;
 import xyz.gmitch215.socketmc.log.AuditLog;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.screen.AbstractScreen;
 import xyz.gmitch215.socketmc.screen.Overlay;
 import xyz.gmitch215.socketmc.screen.Toast;
 import xyz.gmitch215.socketmc.util.*;
+import xyz.gmitch215.socketmc.util.render.ContextPatch;
 import xyz.gmitch215.socketmc.util.render.DrawingContext;
 import xyz.gmitch215.socketmc.util.render.RenderBuffer;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
 import xyz.gmitch215.socketmc.util.render.text.Text;
 
 import javax.sound.sampled.AudioSystem;
@@ -22,6 +28,7 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.*;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * Represents a SocketMC Instruction to be sent to the client.
@@ -198,6 +205,36 @@ public final class Instruction implements Serializable, Paramaterized {
     @InstructionPermission(ModPermission.CHANGE_GAME_PREFERENCES)
     public static final String HIDE_PLAYERS = "hide_players";
 
+    /**
+     * Instruction to upsert, update or remove drawn content addressed by an {@link Identifier}.
+     */
+    @InstructionPermission(ModPermission.USE_GUI)
+    public static final String ELEMENT = "element";
+
+    /**
+     * Instruction to patch the commands of a {@link DrawingContext} previously sent under an {@link Identifier}.
+     */
+    @InstructionPermission(ModPermission.USE_GUI)
+    public static final String PATCH_CONTEXT = "patch_context";
+
+    /**
+     * Instruction to register, apply or unregister an {@link InstructionTemplate} for the current session.
+     */
+    @InstructionPermission(ModPermission.REQUIRED)
+    public static final String TEMPLATE = "template";
+
+    /**
+     * The IDs of the instructions that can be drawn as an addressable {@linkplain #ELEMENT element}.
+     */
+    public static final Set<String> ELEMENT_INSTRUCTIONS = Set.of(
+            DRAW_TEXT,
+            DRAW_SHAPE,
+            DRAW_BUFFER,
+            DRAW_TEXTURE,
+            DRAW_CONTEXT,
+            DRAW_ITEMSTACK
+    );
+
     @Serial
     private static final long serialVersionUID = -4177824277470078500L;
 
@@ -528,6 +565,39 @@ public final class Instruction implements Serializable, Paramaterized {
         return new Instruction(DRAW_TEXT, List.of(x, y, text.toJSON(), text.getColor(), text.isDropShadow(), millis));
     }
 
+    /**
+     * Creates a {@link #DRAW_TEXT} instruction for text with placeholders, filled in by the client every frame.
+     * @param x X Coordinate for Text
+     * @param y Y Coordinate for Text
+     * @param text Text to Draw
+     * @param duration Time Duration
+     * @return Draw Text Instruction
+     * @throws IllegalArgumentException If the coordinates or duration are negative, or the text is null
+     */
+    @NotNull
+    public static Instruction drawText(int x, int y, @NotNull DynamicText text, @NotNull Duration duration) throws IllegalArgumentException {
+        if (duration == null) throw new IllegalArgumentException("Duration cannot be null");
+        return drawText(x, y, text, duration.toMillis());
+    }
+
+    /**
+     * Creates a {@link #DRAW_TEXT} instruction for text with placeholders, filled in by the client every frame.
+     * @param x X Coordinate for Text
+     * @param y Y Coordinate for Text
+     * @param text Text to Draw
+     * @param millis Duration to display, in milliseconds
+     * @return Draw Text Instruction
+     * @throws IllegalArgumentException If the coordinates or duration are negative, or the text is null
+     */
+    @NotNull
+    public static Instruction drawText(int x, int y, @NotNull DynamicText text, long millis) throws IllegalArgumentException {
+        if (x < 0 || y < 0) throw new IllegalArgumentException("Coordinates cannot be negative");
+        if (text == null) throw new IllegalArgumentException("Text cannot be null");
+        if (millis < 0) throw new IllegalArgumentException("Duration cannot be negative");
+
+        return new Instruction(DRAW_TEXT, List.of(x, y, text, text.getColor(), text.isDropShadow(), millis));
+    }
+
     /**
      * Creates a {@link #DRAW_SHAPE} instruction for a rectangle ({@code "fill"}).
      * @param x X Coordinate for Shape
@@ -1799,22 +1869,233 @@ public final class Instruction implements Serializable, Paramaterized {
         return new Instruction(HIDE_PLAYERS, List.of(players));
     }
 
+    /**
+     * <p>Creates an {@link #ELEMENT} instruction that draws content under an identifier, replacing anything already
+     * drawn under it.</p>
+     * <p>The content keeps its own duration, and can later be changed with {@link #updateElement(Identifier, Map)}
+     * or removed with {@link #removeElement(Identifier)}.</p>
+     * @param id Identifier of the Element
+     * @param content Instruction to Draw, one of {@link #ELEMENT_INSTRUCTIONS}
+     * @return Element Instruction
+     * @throws IllegalArgumentException if the identifier or content is null, or the content cannot be drawn as an element
+     */
+    @NotNull
+    public static Instruction upsertElement(@NotNull Identifier id, @NotNull Instruction content) throws IllegalArgumentException {
+        if (id == null) throw new IllegalArgumentException("Identifier cannot be null");
+        if (content == null) throw new IllegalArgumentException("Content cannot be null");
+        if (!ELEMENT_INSTRUCTIONS.contains(content.id)) throw new IllegalArgumentException("Instruction cannot be drawn as an element: " + content.id);
+
+        return new Instruction(ELEMENT, List.of("upsert", id, content));
+    }
+
+    /**
+     * Creates an {@link #ELEMENT} instruction that replaces some of the parameters of the content drawn under an
+     * identifier. The content is drawn again with its duration restarted, and the update is ignored if nothing is
+     * drawn under the identifier.
+     * @param id Identifier of the Element
+     * @param parameters Map of Parameter Indexes to their New Values
+     * @return Element Instruction
+     * @throws IllegalArgumentException if the identifier or parameters are null, the parameters are empty, or contain a negative index or null value
+     */
+    @NotNull
+    public static Instruction updateElement(@NotNull Identifier id, @NotNull Map<Integer, Object> parameters) throws IllegalArgumentException {
+        if (id == null) throw new IllegalArgumentException("Identifier cannot be null");
+        if (parameters == null || parameters.isEmpty()) throw new IllegalArgumentException("Parameters cannot be null or empty");
+
+        for (Map.Entry<Integer, Object> entry : parameters.entrySet()) {
+            if (entry.getKey() == null || entry.getKey() < 0) throw new IllegalArgumentException("Invalid parameter index: " + entry.getKey());
+            if (entry.getValue() == null) throw new IllegalArgumentException("Parameter values cannot be null");
+        }
+
+        return new Instruction(ELEMENT, List.of("update", id, Map.copyOf(parameters)));
+    }
+
+    /**
+     * Creates an {@link #ELEMENT} instruction that removes the content drawn under an identifier.
+     * @param id Identifier of the Element
+     * @return Element Instruction
+     * @throws IllegalArgumentException if the identifier is null
+     */
+    @NotNull
+    public static Instruction removeElement(@NotNull Identifier id) throws IllegalArgumentException {
+        if (id == null) throw new IllegalArgumentException("Identifier cannot be null");
+
+        return new Instruction(ELEMENT, List.of("remove", id));
+    }
+
+    /**
+     * <p>Creates a {@link #PATCH_CONTEXT} instruction.</p>
+     * <p>The patch is applied to the most recently rendered {@link DrawingContext} with the same
+     * {@linkplain DrawingContext#getId() identifier}, whether drawn directly, as part of an {@link Overlay}, or in a
+     * {@link xyz.gmitch215.socketmc.screen.ui.CustomWidget}. Patches for unknown identifiers are ignored.</p>
+     * @param id Identifier of the Drawing Context
+     * @param patch Patch to Apply
+     * @return Patch Context Instruction
+     * @throws IllegalArgumentException if the identifier or patch is null
+     */
+    @NotNull
+    public static Instruction patchContext(@NotNull Identifier id, @NotNull ContextPatch patch) throws IllegalArgumentException {
+        if (id == null) throw new IllegalArgumentException("Identifier cannot be null");
+        if (patch == null) throw new IllegalArgumentException("Patch cannot be null");
+
+        return new Instruction(PATCH_CONTEXT, List.of(id, patch));
+    }
+
+    /**
+     * Creates a {@link #PATCH_CONTEXT} instruction that turns a previously sent {@link DrawingContext} into another,
+     * sending only the commands that changed.
+     * @param from Drawing Context already sent
+     * @param to New Drawing Context, with the identifier to patch
+     * @return Patch Context Instruction
+     * @throws IllegalArgumentException if either context is null, the new context has no identifier, or a changed command is not static
+     * @see ContextPatch#diff(DrawingContext, DrawingContext)
+     */
+    @NotNull
+    public static Instruction patchContext(@NotNull DrawingContext from, @NotNull DrawingContext to) throws IllegalArgumentException {
+        if (to == null) throw new IllegalArgumentException("To context cannot be null");
+        if (to.getId() == null) throw new IllegalArgumentException("Context must have an identifier to be patched");
+
+        return patchContext(to.getId(), ContextPatch.diff(from, to));
+    }
+
+    /**
+     * <p>Creates a {@link #TEMPLATE} instruction that registers an {@link InstructionTemplate} on the client, replacing
+     * any template the same plugin already registered under the same id. Template IDs are scoped to the plugin, so
+     * plugins cannot apply or replace each other's templates.</p>
+     * <p>Registering a template needs the permission of the template instruction itself. Templates last until the
+     * player disconnects. A {@link DrawingContext} template is registered by wrapping it in an instruction such as
+     * {@link #drawContext(DrawingContext, long)}.</p>
+     * @param id Template ID
+     * @param template Instruction with Placeholder Slots
+     * @return Template Instruction
+     * @throws IllegalArgumentException if the id is negative, or the template is null or a template instruction
+     * @see InstructionTemplate#slot(int)
+     */
+    @NotNull
+    public static Instruction registerTemplate(int id, @NotNull Instruction template) throws IllegalArgumentException {
+        if (id < 0) throw new IllegalArgumentException("Template ID cannot be negative");
+        if (template == null) throw new IllegalArgumentException("Template cannot be null");
+        if (template.id.equals(TEMPLATE)) throw new IllegalArgumentException("Templates cannot be nested");
+
+        return new Instruction(TEMPLATE, List.of("register", id, template));
+    }
+
+    /**
+     * Creates a {@link #TEMPLATE} instruction that runs a registered template with its slots filled in. Only the
+     * template id and the arguments are sent, and the filled-in instruction needs its own permission.
+     * @param id Template ID
+     * @param arguments Arguments, by Slot Index
+     * @return Template Instruction
+     * @throws IllegalArgumentException if the id is negative, or the arguments are null
+     */
+    @NotNull
+    public static Instruction applyTemplate(int id, @NotNull Object... arguments) throws IllegalArgumentException {
+        if (id < 0) throw new IllegalArgumentException("Template ID cannot be negative");
+        if (arguments == null) throw new IllegalArgumentException("Arguments cannot be null");
+
+        return new Instruction(TEMPLATE, List.of("apply", id, Collections.unmodifiableList(Arrays.asList(arguments.clone()))));
+    }
+
+    /**
+     * Creates a {@link #TEMPLATE} instruction that unregisters a template.
+     * @param id Template ID
+     * @return Template Instruction
+     * @throws IllegalArgumentException if the id is negative
+     */
+    @NotNull
+    public static Instruction unregisterTemplate(int id) throws IllegalArgumentException {
+        if (id < 0) throw new IllegalArgumentException("Template ID cannot be negative");
+
+        return new Instruction(TEMPLATE, List.of("unregister", id));
+    }
+
     // <editor-fold defaultstate="collapsed" desc="Instruction Serialization">
     // Serialization
 
+    /**
+     * Writes this Instruction directly to a buffer in the binary {@linkplain WireCodec wire format}.
+     * @param buf the buffer to write to
+     * @throws IllegalArgumentException if a parameter cannot be encoded
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        buf.writeByte(WireCodec.VERSION);
+        WireCodec.writeInstructionId(buf, id);
+        WireCodec.writeCollection(buf, parameters);
+    }
+
+    /**
+     * Reads an Instruction directly from a buffer in the binary {@linkplain WireCodec wire format}.
+     * @param buf the buffer to read from
+     * @return the Instruction read
+     * @throws IllegalArgumentException if the buffer is malformed or uses an unsupported version
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Instruction readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        WireCodec.readVersion(buf);
+        String id = WireCodec.readInstructionId(buf);
+        List<Object> parameters = WireCodec.readList(buf);
+
+        return new Instruction(id, Collections.unmodifiableList(parameters));
+    }
+
+    /**
+     * Creates a copy of this Instruction with each of its top-level parameters replaced.
+     * @param mapper the function to replace each parameter with
+     * @return the new Instruction, or this Instruction if no parameter was replaced
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public Instruction mapParameters(@NotNull UnaryOperator<Object> mapper) {
+        List<Object> mapped = new ArrayList<>(parameters.size());
+        boolean changed = false;
+
+        for (Object parameter : parameters) {
+            Object value = mapper.apply(parameter);
+            changed |= value != parameter;
+            mapped.add(value);
+        }
+
+        return changed ? new Instruction(id, Collections.unmodifiableList(mapped)) : this;
+    }
+
+    /**
+     * Creates a copy of this Instruction with some of its parameters replaced.
+     * @param replacements the new values, by parameter index
+     * @return the new Instruction
+     * @throws IllegalArgumentException if an index is out of bounds
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public Instruction withParameters(@NotNull Map<Integer, Object> replacements) throws IllegalArgumentException {
+        List<Object> replaced = new ArrayList<>(parameters);
+        for (Map.Entry<Integer, Object> entry : replacements.entrySet()) {
+            int index = entry.getKey();
+            if (index < 0 || index >= replaced.size()) throw new IllegalArgumentException("Parameter index out of bounds: " + index);
+
+            replaced.set(index, entry.getValue());
+        }
+
+        return new Instruction(id, Collections.unmodifiableList(replaced));
+    }
+
     /**
      * Serializes this Instruction to a byte array to be passed over the network.
      * @return Byte Array Representation
      */
     public byte[] toByteArray() {
+        ByteBuf buf = Unpooled.buffer();
         try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ObjectOutputStream outw = new ObjectOutputStream(out);
-            outw.writeObject(this);
+            writeTo(buf);
 
-            return out.toByteArray();
-        } catch (IOException e) {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } catch (IllegalArgumentException e) {
             throw new RuntimeException("Failed to serialize Instruction", e);
+        } finally {
+            buf.release();
         }
     }
 
@@ -1826,11 +2107,8 @@ public final class Instruction implements Serializable, Paramaterized {
     @Nullable
     public static Instruction fromByteArray(byte[] instruction) {
         try {
-            ByteArrayInputStream in = new ByteArrayInputStream(instruction);
-            ObjectInputStream inw = new ObjectInputStream(in);
-
-            return (Instruction) inw.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+            return readFrom(Unpooled.wrappedBuffer(instruction));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
             throw new IllegalArgumentException("Failed to deserialize Instruction", e);
         }
     }
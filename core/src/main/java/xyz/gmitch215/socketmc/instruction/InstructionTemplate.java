@@ -0,0 +1,258 @@
+package xyz.gmitch215.socketmc.instruction;
+
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.util.render.DrawingContext;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Represents an {@link Instruction} with placeholder slots, registered on the client once with
+ * {@link Instruction#registerTemplate(int, Instruction)} and then sent again with only its arguments through
+ * {@link Instruction#applyTemplate(int, Object...)}.</p>
+ * <p>A slot is either a parameter set to {@link #slot(int)}, at the top level, inside a {@link List}, a nested
+ * {@link Instruction}, or a {@link DrawingContext.Command}, or a {@code ${n}} marker inside a String parameter.
+ * Strings are split into their constant and slot fragments once, when the template is created, so applying a
+ * template only joins them.</p>
+ */
+public final class InstructionTemplate {
+
+    private static final Pattern MARKER = Pattern.compile("\\$\\{(\\d{1,4})}");
+
+    private final Instruction instruction;
+    private final Instruction compiled;
+    private final int slotCount;
+
+    /**
+     * Creates a new template.
+     * @param instruction the instruction with placeholder slots
+     * @throws IllegalArgumentException if the instruction is null, or is itself a {@link Instruction#TEMPLATE} instruction
+     */
+    public InstructionTemplate(@NotNull Instruction instruction) throws IllegalArgumentException {
+        if (instruction == null) throw new IllegalArgumentException("Instruction cannot be null");
+        if (instruction.getId().equals(Instruction.TEMPLATE)) throw new IllegalArgumentException("Templates cannot be nested");
+
+        this.instruction = instruction;
+
+        int[] max = { -1 };
+        this.compiled = (Instruction) walk(instruction, value -> switch (value) {
+            case Slot slot -> {
+                max[0] = Math.max(max[0], slot.index);
+                yield slot;
+            }
+            case String s -> {
+                Fragments fragments = Fragments.parse(s);
+                if (fragments == null) yield s;
+
+                for (Object part : fragments.parts)
+                    if (part instanceof Slot slot) max[0] = Math.max(max[0], slot.index);
+
+                yield fragments;
+            }
+            default -> value;
+        });
+        this.slotCount = max[0] + 1;
+    }
+
+    /**
+     * Gets the instruction this template was created from.
+     * @return Template Instruction
+     */
+    @NotNull
+    public Instruction getInstruction() {
+        return instruction;
+    }
+
+    /**
+     * Gets the number of arguments this template needs, which is one more than its highest slot index.
+     * @return Slot Count
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Fills in the slots of this template.
+     * @param arguments the arguments, by slot index
+     * @return the instruction with its slots filled in
+     * @throws IllegalArgumentException if there are fewer arguments than slots
+     */
+    @NotNull
+    public Instruction apply(@NotNull List<?> arguments) throws IllegalArgumentException {
+        if (arguments == null) throw new IllegalArgumentException("Arguments cannot be null");
+        if (arguments.size() < slotCount) throw new IllegalArgumentException("Expected " + slotCount + " arguments, got " + arguments.size());
+
+        return (Instruction) walk(compiled, value -> switch (value) {
+            case Slot slot -> arguments.get(slot.index);
+            case Fragments fragments -> fragments.join(arguments);
+            default -> value;
+        });
+    }
+
+    private static Object walk(Object value, UnaryOperator<Object> leaf) {
+        return switch (value) {
+            case Instruction i -> i.mapParameters(p -> walk(p, leaf));
+            case DrawingContext ctx -> ctx.mapCommands(f -> f instanceof DrawingContext.Command c ? (DrawingContext.Command) walk(c, leaf) : f);
+            case DrawingContext.Command c -> c.mapParameters(p -> walk(p, leaf));
+            case List<?> list -> {
+                List<Object> mapped = new ArrayList<>(list.size());
+                boolean changed = false;
+
+                for (Object element : list) {
+                    Object v = walk(element, leaf);
+                    changed |= v != element;
+                    mapped.add(v);
+                }
+
+                yield changed ? mapped : list;
+            }
+            case null -> null;
+            default -> leaf.apply(value);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "InstructionTemplate{" + instruction + ", slots=" + slotCount + '}';
+    }
+
+    // Static Methods
+
+    /**
+     * Creates a placeholder for the argument at an index.
+     * @param index the index of the argument
+     * @return Template Slot
+     * @throws IllegalArgumentException if the index is negative
+     */
+    @NotNull
+    public static Slot slot(int index) throws IllegalArgumentException {
+        if (index < 0) throw new IllegalArgumentException("Slot index cannot be negative");
+        return new Slot(index);
+    }
+
+    /**
+     * Creates a copy of an instruction with some of its parameters replaced by slots.
+     * @param instruction the instruction to copy
+     * @param slots the slot indexes, by parameter index
+     * @return the instruction with slots
+     * @throws IllegalArgumentException if the instruction or slots are null, or an index is out of bounds or negative
+     */
+    @NotNull
+    public static Instruction withSlots(@NotNull Instruction instruction, @NotNull Map<Integer, Integer> slots) throws IllegalArgumentException {
+        if (instruction == null) throw new IllegalArgumentException("Instruction cannot be null");
+        if (slots == null) throw new IllegalArgumentException("Slots cannot be null");
+
+        return instruction.withParameters(toSlots(slots));
+    }
+
+    /**
+     * Creates a copy of a drawing command with some of its parameters replaced by slots.
+     * @param command the command to copy
+     * @param slots the slot indexes, by parameter index
+     * @return the command with slots
+     * @throws IllegalArgumentException if the command or slots are null, or an index is out of bounds or negative
+     */
+    @NotNull
+    public static DrawingContext.Command withSlots(@NotNull DrawingContext.Command command, @NotNull Map<Integer, Integer> slots) throws IllegalArgumentException {
+        if (command == null) throw new IllegalArgumentException("Command cannot be null");
+        if (slots == null) throw new IllegalArgumentException("Slots cannot be null");
+
+        int size = command.getParameters().size();
+        for (int index : slots.keySet())
+            if (index < 0 || index >= size) throw new IllegalArgumentException("Parameter index out of bounds: " + index);
+
+        Map<Integer, Object> replacements = toSlots(slots);
+        int[] index = { 0 };
+        return command.mapParameters(p -> replacements.getOrDefault(index[0]++, p));
+    }
+
+    private static Map<Integer, Object> toSlots(Map<Integer, Integer> slots) {
+        Map<Integer, Object> replacements = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : slots.entrySet())
+            replacements.put(entry.getKey(), slot(entry.getValue()));
+
+        return replacements;
+    }
+
+    /**
+     * Represents a placeholder for an argument in an {@link InstructionTemplate}.
+     */
+    public static final class Slot implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = -5212493027615749420L;
+
+        private final int index;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Gets the index of the argument this slot is filled with.
+         * @return Argument Index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Slot slot)) return false;
+            return index == slot.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(index);
+        }
+
+        @Override
+        public String toString() {
+            return "${" + index + "}";
+        }
+
+    }
+
+    private static final class Fragments {
+        private final Object[] parts;
+
+        private Fragments(Object[] parts) {
+            this.parts = parts;
+        }
+
+        String join(List<?> arguments) {
+            StringBuilder builder = new StringBuilder();
+            for (Object part : parts)
+                if (part instanceof Slot slot) builder.append(arguments.get(slot.index));
+                else builder.append((String) part);
+
+            return builder.toString();
+        }
+
+        static Fragments parse(String s) {
+            Matcher matcher = MARKER.matcher(s);
+            if (!matcher.find()) return null;
+
+            List<Object> parts = new ArrayList<>();
+            int last = 0;
+            do {
+                if (matcher.start() > last) parts.add(s.substring(last, matcher.start()));
+                parts.add(slot(Integer.parseInt(matcher.group(1))));
+                last = matcher.end();
+            } while (matcher.find());
+
+            if (last < s.length()) parts.add(s.substring(last));
+            return new Fragments(parts.toArray());
+        }
+    }
+
+}
@@ -1,7 +1,10 @@
 package xyz.gmitch215.socketmc.instruction;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Matrix4f;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.util.DataHolder;
 import xyz.gmitch215.socketmc.util.NBTTag;
 
@@ -65,6 +68,40 @@ public abstract class RenderInstruction implements Serializable, DataHolder {
         return Map.copyOf(data);
     }
 
+    /**
+     * Writes this render instruction to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, ordinal);
+        WireCodec.writeSignedVarInt(buf, subOrdinal);
+        buf.writeBoolean(isFilled);
+        WireCodec.writeMap(buf, data);
+    }
+
+    /**
+     * Reads a render instruction from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the render instruction read
+     * @throws IllegalArgumentException if the ordinal is unknown
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static RenderInstruction readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int ordinal = WireCodec.readVarInt(buf);
+        RenderInstruction instruction = switch (ordinal) {
+            case GameRenderer.ORDINAL -> new GameRenderer();
+            case DebugRenderer.ORDINAL -> new DebugRenderer();
+            default -> throw new IllegalArgumentException("Unknown render instruction ordinal: " + ordinal);
+        };
+
+        instruction.subOrdinal = WireCodec.readSignedVarInt(buf);
+        instruction.isFilled = buf.readBoolean();
+        instruction.data.putAll(WireCodec.readMap(buf));
+        return instruction;
+    }
+
     // Subclasses
 
     /**
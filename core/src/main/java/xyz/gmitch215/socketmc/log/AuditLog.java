@@ -8,6 +8,10 @@ import org.jetbrains.annotations.NotNull;
 import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
@@ -30,6 +34,10 @@ public abstract class AuditLog {
      */
     public static final String CLIENT_RECEIVED_MESSAGE = "Received message: {}, size {} bytes";
 
+    // Entries are written one at a time, in the order they were submitted
+    private static ExecutorService executor;
+    private static Thread shutdownHook;
+
     /**
      * The folder where the audit log is stored.
      */
@@ -143,6 +151,92 @@ public abstract class AuditLog {
         log(msg);
     }
 
+    // Asynchronous Logging
+
+    /**
+     * Logs a message to the audit log without blocking the calling thread.
+     * @param level Audit Log Level
+     * @param message Message to log
+     * @return A future completing once the message has been written, or exceptionally with a {@link FailedAuditException}
+     */
+    @NotNull
+    public CompletableFuture<Void> logAsync(@NotNull Level level, @NotNull String message) {
+        return CompletableFuture.runAsync(() -> log(level, message), executor());
+    }
+
+    /**
+     * Logs a sent instruction to the audit log without blocking the calling thread.
+     * @param sent The instruction that was sent.
+     * @param sender The plugin that sent the instruction.
+     * @return A future completing once the entry has been written
+     */
+    @NotNull
+    public CompletableFuture<Void> logSentAsync(@NotNull Instruction sent, @NotNull SocketPlugin sender) {
+        return CompletableFuture.runAsync(() -> logSent(sent, sender), executor());
+    }
+
+    /**
+     * Logs a sent retriever to the audit log without blocking the calling thread.
+     * @param sent The retriever that was sent.
+     * @param sender The plugin that sent the retriever.
+     * @return A future completing once the entry has been written
+     */
+    @NotNull
+    public CompletableFuture<Void> logSentAsync(@NotNull RetrieverType<?> sent, @NotNull SocketPlugin sender) {
+        return CompletableFuture.runAsync(() -> logSent(sent, sender), executor());
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "SocketMC Audit Log");
+                t.setDaemon(true);
+                return t;
+            });
+
+            // The thread is a daemon, so queued entries would otherwise be lost when the game or server stops
+            shutdownHook = new Thread(AuditLog::shutdown, "SocketMC Audit Log Shutdown");
+            try {
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Logged while shutting down, after the hook has already run
+                shutdownHook = null;
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Writes every queued asynchronous entry, then stops the thread used for asynchronous logging. It is started
+     * again the next time an entry is logged asynchronously.
+     */
+    public static void shutdown() {
+        ExecutorService old;
+        synchronized (AuditLog.class) {
+            old = executor;
+            executor = null;
+
+            if (shutdownHook != null && Thread.currentThread() != shutdownHook)
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException ignored) {
+                    // Already shutting down, so the hook is running or has run
+                }
+
+            shutdownHook = null;
+        }
+
+        if (old == null) return;
+        old.shutdown();
+
+        try {
+            old.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Reads the audit log and returns it as a string.
      * @return The audit log as a string.
@@ -0,0 +1,155 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * <p>Represents a content-addressed reference to a large binary {@link Instruction} parameter, such as the audio in
+ * {@link Instruction#playAudio(java.io.File)} or the icon in {@link Instruction#setWindowIcon(byte[])}.</p>
+ * <p>The server sends the reference in place of the bytes, and the client only requests the bytes themselves if they
+ * are not already in its blob cache.</p>
+ */
+@ApiStatus.Internal
+public final class BlobReference implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2874103641659732218L;
+
+    /**
+     * The default size, in bytes, at which a binary parameter is sent by reference.
+     */
+    public static final int DEFAULT_THRESHOLD = 16 * 1024;
+
+    /**
+     * The length of a blob hash, in bytes.
+     */
+    public static final int HASH_LENGTH = 32;
+
+    private final byte[] hash;
+    private final int length;
+
+    private BlobReference(byte[] hash, int length) {
+        this.hash = hash;
+        this.length = length;
+    }
+
+    /**
+     * Gets the SHA-256 hash of the blob.
+     * @return Blob Hash
+     */
+    public byte[] getHash() {
+        return hash.clone();
+    }
+
+    /**
+     * Gets the hash of the blob as a lowercase hexadecimal string.
+     * @return Blob Hash in Hexadecimal
+     */
+    @NotNull
+    public String getHashString() {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * Gets the size of the blob.
+     * @return Blob Size, in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Checks whether the given data is the blob this reference points to.
+     * @param data the data to check
+     * @return true if the data matches this reference's hash and length
+     */
+    public boolean matches(byte[] data) {
+        return data != null && data.length == length && Arrays.equals(hash, hash(data));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BlobReference that)) return false;
+        return length == that.length && Arrays.equals(hash, that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "BlobReference(" + getHashString() + ", " + length + " bytes)";
+    }
+
+    /**
+     * Writes this reference to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    public void writeTo(@NotNull ByteBuf buf) {
+        buf.writeBytes(hash);
+        WireCodec.writeVarInt(buf, length);
+    }
+
+    /**
+     * Reads a reference from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the reference read
+     */
+    @NotNull
+    public static BlobReference readFrom(@NotNull ByteBuf buf) {
+        byte[] hash = new byte[HASH_LENGTH];
+        buf.readBytes(hash);
+        return new BlobReference(hash, WireCodec.readVarInt(buf));
+    }
+
+    // Static Util
+
+    /**
+     * Creates a reference to the given data.
+     * @param data the data to reference
+     * @return the reference
+     * @throws IllegalArgumentException if the data is null
+     */
+    @NotNull
+    public static BlobReference of(byte[] data) throws IllegalArgumentException {
+        if (data == null) throw new IllegalArgumentException("Data cannot be null");
+        return new BlobReference(hash(data), data.length);
+    }
+
+    /**
+     * Gets every blob reference in an instruction's top-level parameters.
+     * @param i the instruction to search
+     * @return the references, in parameter order
+     */
+    @NotNull
+    public static List<BlobReference> find(@NotNull Instruction i) {
+        List<BlobReference> references = new ArrayList<>();
+        for (Object parameter : i.getParameters())
+            if (parameter instanceof BlobReference ref) references.add(ref);
+
+        return references;
+    }
+
+    private static byte[] hash(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
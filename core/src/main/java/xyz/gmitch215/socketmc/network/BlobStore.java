@@ -0,0 +1,159 @@
+package xyz.gmitch215.socketmc.network;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Server-side store for blobs sent by {@link BlobReference}, kept so they can be served to clients that do not have
+ * them cached. The store is bounded by size, evicting the least recently used blobs first.</p>
+ * <p>A client only requests a blob after receiving a reference to it, so each blob is pinned for a while after it is
+ * {@linkplain #put(byte[]) put}, and for as long as it is {@linkplain #retain(BlobReference) retained}. Pinned blobs
+ * are never evicted, even if that takes the store over its maximum size, so a request in flight is always served.</p>
+ */
+@ApiStatus.Internal
+public final class BlobStore {
+
+    /**
+     * The default maximum total size of the blobs held in memory, in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The default time a blob stays pinned after it was last sent, in milliseconds.
+     */
+    public static final long DEFAULT_PIN_TIME = 60_000;
+
+    private final long maxSize;
+    private final long pinTime;
+    private final LongSupplier clock;
+
+    private final Map<BlobReference, Entry> blobs = new LinkedHashMap<>(16, 0.75F, true);
+    private long size = 0;
+
+    /**
+     * Constructs a new, empty BlobStore with the default limits.
+     */
+    public BlobStore() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_PIN_TIME, System::currentTimeMillis);
+    }
+
+    BlobStore(long maxSize, long pinTime, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.pinTime = pinTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces every top-level {@code byte[]} parameter at or above the threshold with a {@link BlobReference},
+     * storing its contents.
+     * @param i The instruction to externalize.
+     * @param threshold The minimum size to send by reference, or a negative number to send everything inline.
+     * @return The instruction to send
+     */
+    @NotNull
+    public Instruction externalize(@NotNull Instruction i, int threshold) {
+        if (threshold < 0) return i;
+
+        return i.mapParameters(p -> {
+            if (!(p instanceof byte[] data) || data.length < threshold) return p;
+            return put(data);
+        });
+    }
+
+    /**
+     * Stores a blob, pinning it until clients have had time to request it.
+     * @param data the blob contents
+     * @return the reference to the blob
+     */
+    @NotNull
+    public synchronized BlobReference put(byte[] data) {
+        BlobReference ref = BlobReference.of(data);
+        long now = clock.getAsLong();
+
+        Entry entry = blobs.get(ref);
+        if (entry == null) {
+            entry = new Entry(data);
+            blobs.put(ref, entry);
+            size += data.length;
+        }
+
+        entry.pinnedUntil = now + pinTime;
+        evict(now);
+
+        return ref;
+    }
+
+    /**
+     * Gets a stored blob.
+     * @param ref the blob reference
+     * @return the blob contents, or null if the blob is not stored
+     */
+    @Nullable
+    public synchronized byte[] get(@NotNull BlobReference ref) {
+        Entry entry = blobs.get(ref);
+        return entry == null ? null : entry.data;
+    }
+
+    /**
+     * Pins a stored blob until it is {@linkplain #release(BlobReference) released}, such as while an encoded instruction
+     * referencing it can still be sent.
+     * @param ref the blob reference
+     */
+    public synchronized void retain(@NotNull BlobReference ref) {
+        Entry entry = blobs.get(ref);
+        if (entry != null) entry.holds++;
+    }
+
+    /**
+     * Releases a blob pinned by {@link #retain(BlobReference)}. It stays pinned for a while, in case it was just sent.
+     * @param ref the blob reference
+     */
+    public synchronized void release(@NotNull BlobReference ref) {
+        Entry entry = blobs.get(ref);
+        if (entry == null || entry.holds == 0) return;
+
+        long now = clock.getAsLong();
+        entry.holds--;
+        entry.pinnedUntil = Math.max(entry.pinnedUntil, now + pinTime);
+        evict(now);
+    }
+
+    /**
+     * Gets the total size of the stored blobs.
+     * @return Stored Size, in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> it = blobs.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest.holds > 0 || eldest.pinnedUntil > now) continue;
+
+            size -= eldest.data.length;
+            it.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final byte[] data;
+        private int holds;
+        private long pinnedUntil;
+
+        private Entry(byte[] data) {
+            this.data = data;
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Represents the binary layout of the events sent from the client to the server in a {@link WireCodec#EVENT_BATCH_FRAME}.</p>
+ * <p>Every event starts with its {@linkplain EventFilter event ID}. Input events have a fixed layout: key codes, mouse
+ * buttons, actions and modifiers are written as variable-length integers, and mouse coordinates as floats, so that a
+ * key press or mouse move takes a handful of bytes. Other events write their parameters as tagged values in a fixed
+ * order, without their names, and are read with {@link WireCodec#readInboundValue(ByteBuf)}, as they come from
+ * clients.</p>
+ */
+@ApiStatus.Internal
+public final class EventCodec {
+
+    // Parameter names of events written as tagged values, by event ID
+    private static final String[][] FIELDS = {
+            null,
+            null,
+            null,
+            null,
+            { "old", "new" },
+            { "screen", "button" },
+            { "screen", "button", "state" },
+            { "screen", "widget", "text" },
+            { "screen", "button", "value" },
+            { "success" },
+            { "option", "old_value", "old_value_string", "new_value", "new_value_string" }
+    };
+
+    private EventCodec() {}
+
+    /**
+     * Writes a {@link EventFilter#PRESS_KEY} event.
+     * @param buf the buffer to write to
+     * @param key the key code
+     * @param action the action ordinal
+     * @param mods the modifier flags
+     */
+    public static void writePressKey(@NotNull ByteBuf buf, int key, int action, int mods) {
+        WireCodec.writeVarInt(buf, EventFilter.PRESS_KEY);
+        WireCodec.writeVarInt(buf, key);
+        WireCodec.writeVarInt(buf, action);
+        WireCodec.writeVarInt(buf, mods);
+    }
+
+    /**
+     * Writes a {@link EventFilter#MOVE_MOUSE} event.
+     * @param buf the buffer to write to
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    public static void writeMoveMouse(@NotNull ByteBuf buf, double x, double y) {
+        WireCodec.writeVarInt(buf, EventFilter.MOVE_MOUSE);
+        buf.writeFloat((float) x);
+        buf.writeFloat((float) y);
+    }
+
+    /**
+     * Writes a {@link EventFilter#SCROLL_MOUSE} event.
+     * @param buf the buffer to write to
+     * @param x the scroll offset along the x-axis
+     * @param y the scroll offset along the y-axis
+     */
+    public static void writeScrollMouse(@NotNull ByteBuf buf, double x, double y) {
+        WireCodec.writeVarInt(buf, EventFilter.SCROLL_MOUSE);
+        buf.writeFloat((float) x);
+        buf.writeFloat((float) y);
+    }
+
+    /**
+     * Writes a {@link EventFilter#CLICK_MOUSE} event.
+     * @param buf the buffer to write to
+     * @param button the mouse button code
+     * @param action the action ordinal
+     * @param mods the modifier flags
+     */
+    public static void writeClickMouse(@NotNull ByteBuf buf, int button, int action, int mods) {
+        WireCodec.writeVarInt(buf, EventFilter.CLICK_MOUSE);
+        WireCodec.writeVarInt(buf, button);
+        WireCodec.writeVarInt(buf, action);
+        WireCodec.writeVarInt(buf, mods);
+    }
+
+    /**
+     * Writes an event from its parameters by name.
+     * @param buf the buffer to write to
+     * @param id the ID of the event
+     * @param params the parameters of the event
+     * @throws IllegalArgumentException if the event ID is invalid, or a parameter cannot be encoded
+     */
+    public static void writeEvent(@NotNull ByteBuf buf, int id, @NotNull Map<String, ?> params) throws IllegalArgumentException {
+        switch (id) {
+            case EventFilter.PRESS_KEY -> writePressKey(buf, (int) params.get("key"), (int) params.get("action"), (int) params.get("flags"));
+            case EventFilter.MOVE_MOUSE -> writeMoveMouse(buf, (double) params.get("x"), (double) params.get("y"));
+            case EventFilter.SCROLL_MOUSE -> writeScrollMouse(buf, (double) params.get("x"), (double) params.get("y"));
+            case EventFilter.CLICK_MOUSE -> writeClickMouse(buf, (int) params.get("button"), (int) params.get("action"), (int) params.get("mods"));
+            default -> {
+                WireCodec.writeVarInt(buf, id);
+                for (String field : fields(id)) WireCodec.writeValue(buf, params.get(field));
+            }
+        }
+    }
+
+    /**
+     * Reads the parameters of an event written as tagged values, after its ID.
+     * @param buf the buffer to read from
+     * @param id the ID of the event
+     * @return the parameters of the event, by name
+     * @throws IllegalArgumentException if the event ID is invalid or an input event, or a parameter cannot be decoded or
+     * is not accepted from clients
+     */
+    @NotNull
+    public static Map<String, Object> readFields(@NotNull ByteBuf buf, int id) throws IllegalArgumentException {
+        String[] fields = fields(id);
+
+        Map<String, Object> params = new HashMap<>(fields.length * 2);
+        for (String field : fields) params.put(field, WireCodec.readInboundValue(buf));
+
+        return params;
+    }
+
+    private static String[] fields(int id) {
+        if (id < 0 || id >= FIELDS.length || FIELDS[id] == null) throw new IllegalArgumentException("Event has no tagged layout: " + id);
+        return FIELDS[id];
+    }
+
+}
@@ -0,0 +1,434 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import xyz.gmitch215.socketmc.util.input.Key;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * <p>Represents an event the server wants a client to send, optionally limited to specific keys or to while a screen
+ * is open.</p>
+ * <p>Clients only send the events they have a filter for, so events no plugin listens to never leave the client.
+ * Events are sent in one batch per client tick: mouse moves are collapsed into the latest position and scrolls into
+ * their sum, at most once per {@linkplain #getInterval() interval}, while text edits are only sent once the text has
+ * stopped changing for the interval. Every event can also be {@linkplain #getLimit() limited} to a number per second.</p>
+ */
+public final class EventFilter {
+
+    //<editor-fold desc="Event IDs" defaultstate="collapsed">
+
+    /**
+     * Event ID for a key press.
+     */
+    public static final int PRESS_KEY = 0;
+
+    /**
+     * Event ID for a mouse movement.
+     */
+    public static final int MOVE_MOUSE = 1;
+
+    /**
+     * Event ID for a mouse scroll.
+     */
+    public static final int SCROLL_MOUSE = 2;
+
+    /**
+     * Event ID for a mouse click.
+     */
+    public static final int CLICK_MOUSE = 3;
+
+    /**
+     * Event ID for a screen change.
+     */
+    public static final int CHANGE_SCREEN = 4;
+
+    /**
+     * Event ID for a button click.
+     */
+    public static final int CLICK_BUTTON = 5;
+
+    /**
+     * Event ID for a checkbox toggle.
+     */
+    public static final int TOGGLE_CHECKBOX = 6;
+
+    /**
+     * Event ID for an edit to a text box.
+     */
+    public static final int EDIT_TEXT = 7;
+
+    /**
+     * Event ID for a cycle button change.
+     */
+    public static final int CYCLE_BUTTON = 8;
+
+    /**
+     * Event ID for a click on an external message box.
+     */
+    public static final int CLICK_EXTERNAL_MESSAGE_BOX = 9;
+
+    /**
+     * Event ID for an option change.
+     */
+    public static final int CHANGE_OPTION = 10;
+
+    /**
+     * The number of event IDs.
+     */
+    public static final int EVENT_COUNT = 11;
+
+    //</editor-fold>
+
+    /**
+     * The default time a text box must stay unchanged before its text is sent, in milliseconds.
+     */
+    public static final long DEFAULT_EDIT_TEXT_INTERVAL = 250;
+
+    private static final int[] NO_KEYS = new int[0];
+
+    private final int eventId;
+    private final int[] keys;
+    private final ScreenCondition screen;
+    private final String screenTitle;
+    private final long interval;
+    private final int limit;
+
+    private EventFilter(int eventId, int[] keys, ScreenCondition screen, String screenTitle, long interval, int limit) {
+        this.eventId = eventId;
+        this.keys = keys;
+        this.screen = screen;
+        this.screenTitle = screenTitle;
+        this.interval = interval;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a filter sending every occurrence of an event.
+     * @param eventId the ID of the event
+     * @return Event Filter
+     * @throws IllegalArgumentException if the event ID is invalid
+     */
+    @NotNull
+    public static EventFilter of(int eventId) throws IllegalArgumentException {
+        if (eventId < 0 || eventId >= EVENT_COUNT) throw new IllegalArgumentException("Invalid event ID: " + eventId);
+        return new EventFilter(eventId, NO_KEYS, ScreenCondition.ANY, null, getDefaultInterval(eventId), 0);
+    }
+
+    /**
+     * Gets the default {@linkplain #getInterval() interval} of an event.
+     * @param eventId the ID of the event
+     * @return the default interval, in milliseconds
+     */
+    public static long getDefaultInterval(int eventId) {
+        return eventId == EDIT_TEXT ? DEFAULT_EDIT_TEXT_INTERVAL : 0;
+    }
+
+    /**
+     * Gets the ID of the event this filter is for.
+     * @return Event ID
+     */
+    public int getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the key codes this filter is limited to, for {@link #PRESS_KEY} events.
+     * @return the key codes, in ascending order, or an empty array if every key is sent
+     */
+    @NotNull
+    public int[] getKeys() {
+        return keys.clone();
+    }
+
+    /**
+     * Gets the screen condition of this filter.
+     * @return Screen Condition
+     */
+    @NotNull
+    public ScreenCondition getScreen() {
+        return screen;
+    }
+
+    /**
+     * Gets the JSON title of the screen that must be open for the event to be sent.
+     * @return the screen title, or null if any screen matching the {@linkplain #getScreen() condition} is accepted
+     */
+    @Nullable
+    public String getScreenTitle() {
+        return screenTitle;
+    }
+
+    /**
+     * Gets the interval of this filter. For mouse moves and scrolls, this is the minimum time between two sends, where
+     * {@code 0} sends at most once per client tick. For text edits, this is how long the text must stay unchanged
+     * before it is sent. Other events are sent in the tick they happen.
+     * @return the interval, in milliseconds
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Gets the maximum number of times per second the event is sent. Events over the limit are dropped by the client,
+     * except mouse moves, scrolls and text edits, which are held until they can be sent.
+     * @return the limit, or {@code 0} if the event is not limited
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the {@linkplain #getInterval() interval} of this filter.
+     * @param interval the interval
+     * @return a new filter with the interval
+     * @throws IllegalArgumentException if the interval is null or negative
+     */
+    @NotNull
+    public EventFilter withInterval(@NotNull Duration interval) throws IllegalArgumentException {
+        if (interval == null) throw new IllegalArgumentException("Interval cannot be null");
+        if (interval.isNegative()) throw new IllegalArgumentException("Interval cannot be negative");
+        return new EventFilter(eventId, keys, screen, screenTitle, interval.toMillis(), limit);
+    }
+
+    /**
+     * Sets the maximum number of times per second the event is sent.
+     * @param limit the limit, or {@code 0} to not limit the event
+     * @return a new filter with the limit
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    @NotNull
+    public EventFilter withLimit(int limit) throws IllegalArgumentException {
+        if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative");
+        return new EventFilter(eventId, keys, screen, screenTitle, interval, limit);
+    }
+
+    /**
+     * Limits this filter to specific keys. Only applies to {@link #PRESS_KEY} events.
+     * @param keys the keys to send
+     * @return a new filter limited to the keys
+     * @throws IllegalArgumentException if the keys are null or empty, or this filter is not for {@link #PRESS_KEY}
+     */
+    @NotNull
+    public EventFilter withKeys(@NotNull Key... keys) throws IllegalArgumentException {
+        if (keys == null || keys.length == 0) throw new IllegalArgumentException("Keys cannot be null or empty");
+        if (eventId != PRESS_KEY) throw new IllegalArgumentException("Only key press events can be filtered by key");
+
+        int[] codes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) throw new IllegalArgumentException("Keys cannot contain null");
+            codes[i] = keys[i].getCode();
+        }
+
+        return new EventFilter(eventId, sorted(codes), screen, screenTitle, interval, limit);
+    }
+
+    /**
+     * Limits this filter to when a screen condition is met.
+     * @param screen the screen condition
+     * @return a new filter limited to the condition
+     * @throws IllegalArgumentException if the condition is null
+     */
+    @NotNull
+    public EventFilter whileScreen(@NotNull ScreenCondition screen) throws IllegalArgumentException {
+        if (screen == null) throw new IllegalArgumentException("Screen condition cannot be null");
+        return new EventFilter(eventId, keys, screen, null, interval, limit);
+    }
+
+    /**
+     * Limits this filter to while a screen with a specific title is open.
+     * @param titleJSON the JSON title of the screen, as returned by {@link xyz.gmitch215.socketmc.screen.AbstractScreen#getTitleJSON()}
+     * @return a new filter limited to the screen
+     * @throws IllegalArgumentException if the title is null
+     */
+    @NotNull
+    public EventFilter whileScreen(@NotNull String titleJSON) throws IllegalArgumentException {
+        if (titleJSON == null) throw new IllegalArgumentException("Screen title cannot be null");
+        return new EventFilter(eventId, keys, ScreenCondition.SCREEN_OPEN, titleJSON, interval, limit);
+    }
+
+    /**
+     * Checks whether a key passes this filter.
+     * @param code the key code
+     * @return true if the key should be sent
+     */
+    public boolean testKey(int code) {
+        return keys.length == 0 || Arrays.binarySearch(keys, code) >= 0;
+    }
+
+    /**
+     * Checks whether the current screen passes this filter.
+     * @param title a supplier of the JSON title of the open screen, returning null if no screen is open. Only called
+     * if this filter depends on the screen.
+     * @return true if the event should be sent
+     */
+    public boolean testScreen(@NotNull Supplier<String> title) {
+        if (screen == ScreenCondition.ANY) return true;
+
+        String current = title.get();
+        return switch (screen) {
+            case NO_SCREEN -> current == null;
+            case SCREEN_OPEN -> current != null && (screenTitle == null || screenTitle.equals(current));
+            default -> true;
+        };
+    }
+
+    /**
+     * Combines this filter with another filter for the same event, so that the result passes everything either filter
+     * passes, using the shorter interval and the higher limit.
+     * @param other the other filter
+     * @return the combined filter
+     * @throws IllegalArgumentException if the other filter is null or for a different event
+     */
+    @NotNull
+    public EventFilter union(@NotNull EventFilter other) throws IllegalArgumentException {
+        if (other == null) throw new IllegalArgumentException("Filter cannot be null");
+        if (other.eventId != eventId) throw new IllegalArgumentException("Cannot combine filters for different events");
+        if (equals(other)) return this;
+
+        int[] keys0 = keys.length == 0 || other.keys.length == 0 ? NO_KEYS : sorted(concat(keys, other.keys));
+
+        ScreenCondition screen0 = ScreenCondition.ANY;
+        String title0 = null;
+        if (screen == other.screen) {
+            screen0 = screen;
+            title0 = Objects.equals(screenTitle, other.screenTitle) ? screenTitle : null;
+        }
+
+        int limit0 = limit == 0 || other.limit == 0 ? 0 : Math.max(limit, other.limit);
+        return new EventFilter(eventId, keys0, screen0, title0, Math.min(interval, other.interval), limit0);
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] c = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, c, a.length, b.length);
+        return c;
+    }
+
+    private static int[] sorted(int[] codes) {
+        return Arrays.stream(codes).sorted().distinct().toArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventFilter that)) return false;
+        return eventId == that.eventId && Arrays.equals(keys, that.keys) && screen == that.screen && Objects.equals(screenTitle, that.screenTitle)
+                && interval == that.interval && limit == that.limit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId, Arrays.hashCode(keys), screen, screenTitle, interval, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "EventFilter(" + eventId + ", keys=" + Arrays.toString(keys) + ", screen=" + screen + (screenTitle == null ? "" : ", title=" + screenTitle) + ", interval=" + interval + ", limit=" + limit + ")";
+    }
+
+    // Serialization
+
+    /**
+     * Writes this filter to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, eventId);
+        WireCodec.writeVarInt(buf, keys.length);
+        for (int key : keys) WireCodec.writeVarInt(buf, key);
+
+        buf.writeByte(screen.ordinal());
+        buf.writeBoolean(screenTitle != null);
+        if (screenTitle != null) WireCodec.writeString(buf, screenTitle);
+
+        WireCodec.writeVarLong(buf, interval);
+        WireCodec.writeVarInt(buf, limit);
+    }
+
+    /**
+     * Reads a filter from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the filter read
+     * @throws IllegalArgumentException if the filter is malformed
+     */
+    @NotNull
+    public static EventFilter readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int eventId = WireCodec.readVarInt(buf);
+        if (eventId < 0 || eventId >= EVENT_COUNT) throw new IllegalArgumentException("Invalid event ID: " + eventId);
+
+        int count = WireCodec.readVarInt(buf);
+        if (count < 0 || count > buf.readableBytes()) throw new IllegalArgumentException("Invalid key count: " + count);
+
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) keys[i] = WireCodec.readVarInt(buf);
+
+        int ordinal = buf.readUnsignedByte();
+        if (ordinal >= ScreenCondition.values().length) throw new IllegalArgumentException("Invalid screen condition: " + ordinal);
+
+        String title = buf.readBoolean() ? WireCodec.readString(buf) : null;
+
+        long interval = WireCodec.readVarLong(buf);
+        int limit = WireCodec.readVarInt(buf);
+        if (interval < 0 || limit < 0) throw new IllegalArgumentException("Invalid rate: " + interval + "ms, " + limit + "/s");
+
+        return new EventFilter(eventId, count == 0 ? NO_KEYS : sorted(keys), ScreenCondition.values()[ordinal], title, interval, limit);
+    }
+
+    /**
+     * Writes a set of filters to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     * @param filters the filters to write
+     */
+    public static void writeAll(@NotNull ByteBuf buf, @NotNull Collection<EventFilter> filters) {
+        WireCodec.writeVarInt(buf, filters.size());
+        for (EventFilter filter : filters) filter.writeTo(buf);
+    }
+
+    /**
+     * Reads a set of filters from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the filters read
+     * @throws IllegalArgumentException if the filters are malformed
+     */
+    @NotNull
+    public static List<EventFilter> readAll(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int count = WireCodec.readVarInt(buf);
+        if (count < 0 || count > buf.readableBytes()) throw new IllegalArgumentException("Invalid filter count: " + count);
+
+        List<EventFilter> filters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) filters.add(readFrom(buf));
+
+        return filters;
+    }
+
+    /**
+     * Represents the screen state an event can be limited to.
+     */
+    public enum ScreenCondition {
+
+        /**
+         * The event is sent regardless of the open screen.
+         */
+        ANY,
+
+        /**
+         * The event is only sent while no screen is open, such as while playing.
+         */
+        NO_SCREEN,
+
+        /**
+         * The event is only sent while a screen is open.
+         */
+        SCREEN_OPEN
+
+    }
+
+}
@@ -0,0 +1,179 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>Compresses and decompresses SocketMC frames for a single channel.</p>
+ * <p>Frames at or above the {@linkplain #getThreshold() threshold} are deflated against a preset dictionary of common
+ * payload content and wrapped in a {@link WireCodec#COMPRESSED_FRAME}. The {@link Deflater} and {@link Inflater} are
+ * reused between frames, so an instance should be kept for the lifetime of its channel.</p>
+ */
+@ApiStatus.Internal
+public final class FrameCompressor {
+
+    /**
+     * The default compression threshold, in bytes.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * The maximum size of a decompressed frame, in bytes.
+     */
+    public static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+    private static final byte[] DICTIONARY = createDictionary();
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final Inflater inflater = new Inflater();
+    private final byte[] chunk = new byte[8192];
+
+    private volatile int threshold;
+
+    /**
+     * Creates a new frame compressor with the {@linkplain #DEFAULT_THRESHOLD default threshold}.
+     */
+    public FrameCompressor() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a new frame compressor.
+     * @param threshold the minimum frame size to compress, in bytes, or a negative number to disable compression
+     */
+    public FrameCompressor(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Gets the minimum frame size that will be compressed.
+     * @return the threshold in bytes, or a negative number if compression is disabled
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the minimum frame size that will be compressed.
+     * @param threshold the threshold in bytes, or a negative number to disable compression
+     */
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Compresses a frame if it is at or above the threshold. If the frame is compressed, it is released and a new
+     * {@link WireCodec#COMPRESSED_FRAME} is returned; otherwise the frame itself is returned.
+     * @param frame the frame to compress, including its frame ID
+     * @return the frame to write
+     */
+    @NotNull
+    public ByteBuf compress(@NotNull ByteBuf frame) {
+        int threshold = this.threshold;
+        int length = frame.readableBytes();
+        if (threshold < 0 || length < threshold) return frame;
+
+        ByteBuf out = Unpooled.buffer(length / 2);
+        WireCodec.writeVarInt(out, WireCodec.COMPRESSED_FRAME);
+        WireCodec.writeVarInt(out, length);
+
+        synchronized (deflater) {
+            deflater.reset();
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(frame.nioBuffer());
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                int read = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, read);
+            }
+        }
+
+        // Incompressible payloads, such as already compressed audio, are sent as they are
+        if (out.readableBytes() >= length) {
+            out.release();
+            return frame;
+        }
+
+        frame.release();
+        return out;
+    }
+
+    /**
+     * Decompresses the body of a {@link WireCodec#COMPRESSED_FRAME}. The frame ID must already have been read.
+     * @param buf the buffer to read from
+     * @return the decompressed frame, including its frame ID
+     * @throws IllegalArgumentException if the frame is too large or malformed
+     */
+    @NotNull
+    public ByteBuf decompress(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int length = WireCodec.readVarInt(buf);
+        if (length < 0 || length > MAX_FRAME_SIZE) throw new IllegalArgumentException("Invalid decompressed frame size: " + length);
+
+        byte[] out = new byte[length];
+
+        synchronized (inflater) {
+            inflater.reset();
+            inflater.setInput(buf.nioBuffer());
+
+            try {
+                int offset = 0;
+                while (offset < length) {
+                    int read = inflater.inflate(out, offset, length - offset);
+                    if (read == 0) {
+                        if (inflater.needsDictionary()) inflater.setDictionary(DICTIONARY);
+                        else break;
+                    }
+
+                    offset += read;
+                }
+
+                if (offset != length) throw new IllegalArgumentException("Compressed frame ended after " + offset + " of " + length + " bytes");
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Failed to decompress frame", e);
+            }
+        }
+
+        buf.skipBytes(buf.readableBytes());
+        return Unpooled.wrappedBuffer(out);
+    }
+
+    /**
+     * Releases the native resources held by this compressor.
+     */
+    public void close() {
+        synchronized (deflater) { deflater.end(); }
+        synchronized (inflater) { inflater.end(); }
+    }
+
+    // Dictionary
+
+    private static byte[] createDictionary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Deflate favours content near the end of the dictionary, so the most common strings are added last
+        String[] common = {
+                "{\"text\":\"", "\"color\":\"", "\"bold\":", "\"italic\":", "\"underlined\":", "\"strikethrough\":",
+                "\"obfuscated\":", "\"extra\":[", "\"clickEvent\":", "\"hoverEvent\":", "\"action\":\"", "\"value\":\"",
+                "true", "false", "minecraft:", "textures/",
+                "java.util.HashMap", "java.util.ArrayList", "java.util.List", "java.lang.String", "java.lang.Integer",
+                "java.lang.Boolean", "java.lang.Object", "java.lang.Enum", "java.util.Map",
+                "xyz.gmitch215.socketmc.screen.layout.", "xyz.gmitch215.socketmc.screen.ui.", "xyz.gmitch215.socketmc.screen.",
+                "xyz.gmitch215.socketmc.util.render.", "xyz.gmitch215.socketmc.util.", "xyz.gmitch215.socketmc.spigot.SocketPlugin",
+                "pluginName", "pluginVersion", "pluginUrl", "mainClass", "jarFilePath",
+        };
+
+        for (String s : common) out.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,111 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * <p>Represents a reference to a large binary payload that is sent separately as a sequence of
+ * {@link WireCodec#STREAM_FRAME}s.</p>
+ * <p>Streaming keeps a single large payload from occupying the channel, and lets the client begin consuming the
+ * payload before the last chunk has arrived.</p>
+ */
+@ApiStatus.Internal
+public final class StreamReference implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6120571893411937015L;
+
+    /**
+     * The default size, in bytes, at which a binary payload is streamed.
+     */
+    public static final int DEFAULT_THRESHOLD = 256 * 1024;
+
+    /**
+     * The size of each chunk in a stream, in bytes.
+     */
+    public static final int CHUNK_SIZE = 32 * 1024;
+
+    /**
+     * The IDs of the instructions that can consume a streamed parameter as an {@link java.io.InputStream} before it
+     * has been fully received.
+     */
+    public static final Set<String> STREAMABLE_INSTRUCTIONS = Set.of(
+            Instruction.PLAY_AUDIO
+    );
+
+    private final int id;
+    private final int length;
+
+    /**
+     * Creates a new stream reference.
+     * @param id the ID of the stream, unique to its connection
+     * @param length the total length of the stream, in bytes
+     * @throws IllegalArgumentException if the length is negative or above {@link FrameCompressor#MAX_FRAME_SIZE}
+     */
+    public StreamReference(int id, int length) throws IllegalArgumentException {
+        if (length < 0 || length > FrameCompressor.MAX_FRAME_SIZE) throw new IllegalArgumentException("Invalid stream length: " + length);
+
+        this.id = id;
+        this.length = length;
+    }
+
+    /**
+     * Gets the ID of the stream, unique to its connection.
+     * @return Stream ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the total length of the stream.
+     * @return Stream Length, in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StreamReference that)) return false;
+        return id == that.id && length == that.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * id + length;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamReference(" + id + ", " + length + " bytes)";
+    }
+
+    /**
+     * Writes this reference to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, id);
+        WireCodec.writeVarInt(buf, length);
+    }
+
+    /**
+     * Reads a reference from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the reference read
+     * @throws IllegalArgumentException if the length is invalid
+     */
+    @NotNull
+    public static StreamReference readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return new StreamReference(WireCodec.readVarInt(buf), WireCodec.readVarInt(buf));
+    }
+
+}
@@ -0,0 +1,906 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.instruction.InstructionTemplate;
+import xyz.gmitch215.socketmc.instruction.RenderInstruction;
+import xyz.gmitch215.socketmc.retriever.RetrieverType;
+import xyz.gmitch215.socketmc.screen.*;
+import xyz.gmitch215.socketmc.spigot.SocketPlugin;
+import xyz.gmitch215.socketmc.util.Identifier;
+import xyz.gmitch215.socketmc.util.NBTTag;
+import xyz.gmitch215.socketmc.util.render.Animation;
+import xyz.gmitch215.socketmc.util.render.ContextPatch;
+import xyz.gmitch215.socketmc.util.render.DrawingContext;
+import xyz.gmitch215.socketmc.util.render.DrawingMode;
+import xyz.gmitch215.socketmc.util.render.Expression;
+import xyz.gmitch215.socketmc.util.render.ItemDisplayType;
+import xyz.gmitch215.socketmc.util.render.RenderBuffer;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
+import xyz.gmitch215.socketmc.util.option.*;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * <p>Represents the binary wire format used to send SocketMC objects between the server and the client.</p>
+ * <p>Integers are written as variable-length integers, floating point numbers are written raw, and strings
+ * and byte arrays are prefixed with their length. Arbitrary parameters are written with a single byte tag
+ * describing their type. Objects with no native encoding (such as serialized lambdas) fall back to
+ * Java Serialization.</p>
+ */
+@ApiStatus.Internal
+public final class WireCodec {
+
+    /**
+     * The current version of the wire format.
+     */
+    public static final int VERSION = 1;
+
+    //<editor-fold desc="Frames" defaultstate="collapsed">
+
+    /**
+     * Frame ID for an {@link Instruction} sent from the server to the client.
+     */
+    public static final int INSTRUCTION_FRAME = -2;
+
+    /**
+     * Frame ID for an event sent from the client to the server with Java serialization. Servers discard these frames.
+     * @deprecated Events are sent in an {@link #EVENT_BATCH_FRAME}
+     */
+    @Deprecated
+    public static final int EVENT_FRAME = -3;
+
+    /**
+     * Frame ID for a retriever request sent from the server to the client.
+     */
+    public static final int RETRIEVER_FRAME = -4;
+
+    /**
+     * Frame ID for a retriever response sent from the client to the server.
+     */
+    public static final int RETRIEVER_RESPONSE_FRAME = -5;
+
+    /**
+     * Frame ID for a batch of {@link Instruction}s sent from the server to the client, applied together in a single client tick.
+     */
+    public static final int INSTRUCTION_BATCH_FRAME = -6;
+
+    /**
+     * Frame ID for a deflated frame sent from the server to the client.
+     * @see FrameCompressor
+     */
+    public static final int COMPRESSED_FRAME = -8;
+
+    /**
+     * Frame ID for a request for a missing blob sent from the client to the server.
+     * @see BlobReference
+     */
+    public static final int BLOB_REQUEST_FRAME = -7;
+
+    /**
+     * Frame ID for the contents of a blob sent from the server to the client.
+     * @see BlobReference
+     */
+    public static final int BLOB_FRAME = -10;
+
+    /**
+     * Frame ID for a chunk of a streamed payload sent from the server to the client.
+     * @see StreamReference
+     */
+    public static final int STREAM_FRAME = -12;
+
+    /**
+     * Frame ID for a request for several retriever types at once sent from the server to the client. The values are
+     * sampled together and answered in a single {@link #RETRIEVER_RESPONSE_FRAME}, by retriever ID.
+     */
+    public static final int MULTI_RETRIEVER_FRAME = -14;
+
+    /**
+     * Frame ID for a subscription to a retriever type sent from the server to the client. The client samples the value
+     * itself and sends a {@link #RETRIEVER_UPDATE_FRAME} only when it changes.
+     */
+    public static final int RETRIEVER_SUBSCRIBE_FRAME = -16;
+
+    /**
+     * Frame ID for changed values of subscribed retriever types sent from the client to the server, by retriever ID.
+     * Each value is written with {@link RetrieverType#writeValue(ByteBuf, Object)}, prefixed with its length, and
+     * followed by the IDs of the plugins allowed to receive it.
+     */
+    public static final int RETRIEVER_UPDATE_FRAME = -9;
+
+    /**
+     * Frame ID for the set of events the client should send, sent from the server to the client. Events without an
+     * {@link EventFilter} in the latest frame are not sent.
+     */
+    public static final int EVENT_SUBSCRIBE_FRAME = -18;
+
+    /**
+     * Frame ID for every event a client collected during a tick, sent from the client to the server in the order they happened.
+     * @see EventCodec
+     */
+    public static final int EVENT_BATCH_FRAME = -11;
+
+    //</editor-fold>
+
+    /**
+     * The maximum length of a string, in bytes.
+     */
+    public static final int MAX_STRING_LENGTH = 262144;
+
+    private WireCodec() {}
+
+    // Stable table of instruction IDs; new IDs must only be appended
+
+    private static final String[] INSTRUCTION_IDS = {
+            Instruction.PING,
+            Instruction.DRAW_TEXT,
+            Instruction.DRAW_SHAPE,
+            Instruction.PLAY_AUDIO,
+            Instruction.DRAW_BUFFER,
+            Instruction.LOG_MESSAGE,
+            Instruction.DRAW_TEXTURE,
+            Instruction.OPEN_BOOK_AND_QUILL,
+            Instruction.OPEN_SCREEN,
+            Instruction.CLOSE_SCREEN,
+            Instruction.RENDERER,
+            Instruction.DRAW_BEACON_BEAM,
+            Instruction.OPEN_LINK,
+            Instruction.MAILTO,
+            Instruction.DRAW_CONTEXT,
+            Instruction.NARRATE,
+            Instruction.DISPLAY_TOAST,
+            Instruction.OS_BEEP,
+            Instruction.EXTERNAL_WINDOW_POPUP,
+            Instruction.EXTERNAL_WINDOW_MESSAGE_BOX,
+            Instruction.SET_WINDOW_TITLE,
+            Instruction.SET_OVERLAY,
+            Instruction.DRAW_ITEMSTACK,
+            Instruction.SET_WINDOW_ICON,
+            Instruction.SHOW_PLAYERS,
+            Instruction.HIDE_PLAYERS,
+            Instruction.ELEMENT,
+            Instruction.PATCH_CONTEXT,
+            Instruction.TEMPLATE
+    };
+
+    private static final Map<String, Integer> INSTRUCTION_INDEX = new HashMap<>();
+
+    // Stable table of enums with a native encoding; new enums must only be appended
+
+    private static final List<Class<? extends Enum<?>>> ENUMS = List.of(
+            DrawingContext.Type.class,
+            DrawingMode.class,
+            ItemDisplayType.class,
+            ScreenBackground.class,
+            Toast.System.class,
+            Toast.Tutorial.class,
+            AttackIndicator.class,
+            ChatVisibility.class,
+            ChunkUpdatePriority.class,
+            CloudRendering.class,
+            GraphicsQuality.class,
+            NarratorStatus.class,
+            ParticleRendering.class
+    );
+
+    static {
+        for (int i = 0; i < INSTRUCTION_IDS.length; i++)
+            INSTRUCTION_INDEX.put(INSTRUCTION_IDS[i], i + 1);
+    }
+
+    //<editor-fold desc="Tags" defaultstate="collapsed">
+
+    private static final int NULL = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+    private static final int BYTE = 3;
+    private static final int SHORT = 4;
+    private static final int INT = 5;
+    private static final int LONG = 6;
+    private static final int FLOAT = 7;
+    private static final int DOUBLE = 8;
+    private static final int STRING = 9;
+    private static final int BYTE_ARRAY = 10;
+    private static final int UUID_TAG = 11;
+    private static final int URI_TAG = 12;
+    private static final int LIST = 13;
+    private static final int SET = 14;
+    private static final int MAP = 15;
+    private static final int ENUM = 16;
+    private static final int IDENTIFIER = 17;
+    private static final int QUATERNION = 18;
+    private static final int MATRIX4F = 19;
+    private static final int NBT_TAG = 20;
+    private static final int DRAWING_CONTEXT = 21;
+    private static final int COMMAND = 22;
+    private static final int MODIFIER = 23;
+    private static final int RENDER_BUFFER = 24;
+    private static final int TOAST = 25;
+    private static final int CUSTOM_SCREEN = 26;
+    private static final int DEFAULT_SCREEN = 27;
+    private static final int RENDER_INSTRUCTION = 28;
+    private static final int OVERLAY = 29;
+    private static final int BLOB_REFERENCE = 30;
+    private static final int STREAM_REFERENCE = 31;
+    private static final int INSTRUCTION = 32;
+    private static final int CONTEXT_PATCH = 33;
+    private static final int TEMPLATE_SLOT = 34;
+    private static final int ANIMATION = 35;
+    private static final int DYNAMIC_TEXT = 36;
+    private static final int EXPRESSION = 37;
+    private static final int SERIALIZED = 127;
+
+    //</editor-fold>
+
+    // Integers
+
+    /**
+     * Writes a variable-length integer, compatible with Minecraft's VarInt format.
+     * @param buf the buffer to write to
+     * @param value the value to write
+     */
+    public static void writeVarInt(@NotNull ByteBuf buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buf.writeByte(value);
+    }
+
+    /**
+     * Reads a variable-length integer, compatible with Minecraft's VarInt format.
+     * @param buf the buffer to read from
+     * @return the value read
+     * @throws IllegalArgumentException if the integer is too long
+     */
+    public static int readVarInt(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+            if (shift >= 35) throw new IllegalArgumentException("VarInt too long");
+            b = buf.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * <p>Reads a variable-length integer at the buffer's reader index without modifying the buffer or copying its contents.</p>
+     * <p>This is used to inspect the packet ID of every inbound packet, so it is kept allocation-free.</p>
+     * @param buf the buffer to peek
+     * @param def the value to return if the buffer does not start with a complete VarInt
+     * @return the value read, or {@code def} if incomplete
+     */
+    public static int peekVarInt(@NotNull ByteBuf buf, int def) {
+        int index = buf.readerIndex();
+        int end = Math.min(buf.writerIndex(), index + 5);
+        int value = 0;
+
+        for (int shift = 0; index < end; shift += 7) {
+            byte b = buf.getByte(index++);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+
+        return def;
+    }
+
+    /**
+     * Writes a variable-length long, compatible with Minecraft's VarLong format.
+     * @param buf the buffer to write to
+     * @param value the value to write
+     */
+    public static void writeVarLong(@NotNull ByteBuf buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buf.writeByte((int) value);
+    }
+
+    /**
+     * Reads a variable-length long, compatible with Minecraft's VarLong format.
+     * @param buf the buffer to read from
+     * @return the value read
+     * @throws IllegalArgumentException if the long is too long
+     */
+    public static long readVarLong(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+            if (shift >= 70) throw new IllegalArgumentException("VarLong too long");
+            b = buf.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Writes a ZigZag-encoded variable-length integer, which keeps small negative numbers (such as {@code -1}) to a single byte.
+     * @param buf the buffer to write to
+     * @param value the value to write
+     */
+    public static void writeSignedVarInt(@NotNull ByteBuf buf, int value) {
+        writeVarInt(buf, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Reads a ZigZag-encoded variable-length integer.
+     * @param buf the buffer to read from
+     * @return the value read
+     */
+    public static int readSignedVarInt(@NotNull ByteBuf buf) {
+        int raw = readVarInt(buf);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Writes a ZigZag-encoded variable-length long, which keeps small negative numbers (such as {@code -1}) to a single byte.
+     * @param buf the buffer to write to
+     * @param value the value to write
+     */
+    public static void writeSignedVarLong(@NotNull ByteBuf buf, long value) {
+        writeVarLong(buf, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a ZigZag-encoded variable-length long.
+     * @param buf the buffer to read from
+     * @return the value read
+     */
+    public static long readSignedVarLong(@NotNull ByteBuf buf) {
+        long raw = readVarLong(buf);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    // Strings & Arrays
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     * @param buf the buffer to write to
+     * @param value the string to write
+     */
+    public static void writeString(@NotNull ByteBuf buf, @NotNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(buf, bytes.length);
+        buf.writeBytes(bytes);
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     * @param buf the buffer to read from
+     * @return the string read
+     * @throws IllegalArgumentException if the string length is invalid
+     */
+    @NotNull
+    public static String readString(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int length = readVarInt(buf);
+        if (length < 0 || length > MAX_STRING_LENGTH || length > buf.readableBytes())
+            throw new IllegalArgumentException("Invalid string length: " + length);
+
+        String value = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return value;
+    }
+
+    /**
+     * Writes a length-prefixed byte array.
+     * @param buf the buffer to write to
+     * @param value the array to write
+     */
+    public static void writeByteArray(@NotNull ByteBuf buf, byte[] value) {
+        writeVarInt(buf, value.length);
+        buf.writeBytes(value);
+    }
+
+    /**
+     * Reads a length-prefixed byte array.
+     * @param buf the buffer to read from
+     * @return the array read
+     * @throws IllegalArgumentException if the array length is invalid
+     */
+    public static byte[] readByteArray(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int length = readVarInt(buf);
+        if (length < 0 || length > buf.readableBytes())
+            throw new IllegalArgumentException("Invalid byte array length: " + length);
+
+        byte[] value = new byte[length];
+        buf.readBytes(value);
+        return value;
+    }
+
+    /**
+     * Writes a {@link UUID} as two raw longs.
+     * @param buf the buffer to write to
+     * @param uuid the UUID to write
+     */
+    public static void writeUUID(@NotNull ByteBuf buf, @NotNull UUID uuid) {
+        buf.writeLong(uuid.getMostSignificantBits());
+        buf.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Reads a {@link UUID} written as two raw longs.
+     * @param buf the buffer to read from
+     * @return the UUID read
+     */
+    @NotNull
+    public static UUID readUUID(@NotNull ByteBuf buf) {
+        return new UUID(buf.readLong(), buf.readLong());
+    }
+
+    /**
+     * Writes an {@link Instruction} ID, using its index in the stable ID table if known.
+     * @param buf the buffer to write to
+     * @param id the instruction ID
+     */
+    public static void writeInstructionId(@NotNull ByteBuf buf, @NotNull String id) {
+        Integer index = INSTRUCTION_INDEX.get(id);
+        if (index != null)
+            writeVarInt(buf, index);
+        else {
+            writeVarInt(buf, 0);
+            writeString(buf, id);
+        }
+    }
+
+    /**
+     * Reads an {@link Instruction} ID.
+     * @param buf the buffer to read from
+     * @return the instruction ID
+     * @throws IllegalArgumentException if the ID index is unknown
+     */
+    @NotNull
+    public static String readInstructionId(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int index = readVarInt(buf);
+        if (index == 0) return readString(buf);
+        if (index < 0 || index > INSTRUCTION_IDS.length) throw new IllegalArgumentException("Unknown instruction index: " + index);
+
+        return INSTRUCTION_IDS[index - 1];
+    }
+
+    /**
+     * Reads and verifies the wire format version.
+     * @param buf the buffer to read from
+     * @throws IllegalArgumentException if the version is not supported
+     */
+    public static void readVersion(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int version = buf.readUnsignedByte();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported wire version: " + version + " (expected " + VERSION + ")");
+    }
+
+    /**
+     * Writes a batch of {@link Instruction}s, prefixed with its size.
+     * @param buf the buffer to write to
+     * @param instructions the instructions to write
+     */
+    public static void writeInstructions(@NotNull ByteBuf buf, @NotNull Collection<Instruction> instructions) {
+        writeVarInt(buf, instructions.size());
+        for (Instruction i : instructions) i.writeTo(buf);
+    }
+
+    /**
+     * Reads a batch of {@link Instruction}s, prefixed with its size.
+     * @param buf the buffer to read from
+     * @return a mutable list of the instructions read, in the order they were written
+     * @throws IllegalArgumentException if the size is invalid, or an instruction is malformed
+     */
+    @NotNull
+    public static List<Instruction> readInstructions(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int size = readSize(buf);
+        List<Instruction> instructions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) instructions.add(Instruction.readFrom(buf));
+
+        return instructions;
+    }
+
+    /**
+     * Writes a reference to a {@link SocketPlugin} interned for the current connection. The plugin itself is only
+     * included until the receiver is known to have it.
+     * @param buf the buffer to write to
+     * @param id the ID of the plugin for the current connection
+     * @param definition the plugin to define the ID with, or null if the receiver already has it
+     */
+    public static void writePluginReference(@NotNull ByteBuf buf, int id, @Nullable SocketPlugin definition) {
+        writeVarInt(buf, id << 1 | (definition == null ? 0 : 1));
+        if (definition != null) writeByteArray(buf, definition.toByteArray());
+    }
+
+    // Values
+
+    /**
+     * Writes a tagged value.
+     * @param buf the buffer to write to
+     * @param value the value to write
+     * @throws IllegalArgumentException if the value cannot be encoded
+     */
+    public static void writeValue(@NotNull ByteBuf buf, @Nullable Object value) throws IllegalArgumentException {
+        switch (value) {
+            case null -> buf.writeByte(NULL);
+            case Boolean b -> buf.writeByte(b ? TRUE : FALSE);
+            case Byte b -> {
+                buf.writeByte(BYTE);
+                buf.writeByte(b);
+            }
+            case Short s -> {
+                buf.writeByte(SHORT);
+                buf.writeShort(s);
+            }
+            case Integer i -> {
+                buf.writeByte(INT);
+                writeSignedVarInt(buf, i);
+            }
+            case Long l -> {
+                buf.writeByte(LONG);
+                writeSignedVarLong(buf, l);
+            }
+            case Float f -> {
+                buf.writeByte(FLOAT);
+                buf.writeFloat(f);
+            }
+            case Double d -> {
+                buf.writeByte(DOUBLE);
+                buf.writeDouble(d);
+            }
+            case String s -> {
+                buf.writeByte(STRING);
+                writeString(buf, s);
+            }
+            case byte[] bytes -> {
+                buf.writeByte(BYTE_ARRAY);
+                writeByteArray(buf, bytes);
+            }
+            case UUID uuid -> {
+                buf.writeByte(UUID_TAG);
+                writeUUID(buf, uuid);
+            }
+            case URI uri -> {
+                buf.writeByte(URI_TAG);
+                writeString(buf, uri.toString());
+            }
+            case Identifier id -> {
+                buf.writeByte(IDENTIFIER);
+                id.writeTo(buf);
+            }
+            case Quaternionf q -> {
+                buf.writeByte(QUATERNION);
+                buf.writeFloat(q.x);
+                buf.writeFloat(q.y);
+                buf.writeFloat(q.z);
+                buf.writeFloat(q.w);
+            }
+            case Matrix4f m -> {
+                buf.writeByte(MATRIX4F);
+                for (float f : m.get(new float[16])) buf.writeFloat(f);
+            }
+            case NBTTag tag -> {
+                buf.writeByte(NBT_TAG);
+                tag.writeTo(buf);
+            }
+            case DrawingContext ctx -> {
+                buf.writeByte(DRAWING_CONTEXT);
+                ctx.writeTo(buf);
+            }
+            case DrawingContext.Command cmd -> {
+                buf.writeByte(COMMAND);
+                cmd.writeTo(buf);
+            }
+            case DrawingContext.Modifier mod -> {
+                buf.writeByte(MODIFIER);
+                mod.writeTo(buf);
+            }
+            case RenderBuffer buffer -> {
+                buf.writeByte(RENDER_BUFFER);
+                buffer.writeTo(buf);
+            }
+            case Toast toast -> {
+                buf.writeByte(TOAST);
+                toast.writeTo(buf);
+            }
+            case CustomScreen screen -> {
+                buf.writeByte(CUSTOM_SCREEN);
+                screen.writeTo(buf);
+            }
+            case DefaultScreen screen -> {
+                buf.writeByte(DEFAULT_SCREEN);
+                screen.writeTo(buf);
+            }
+            case RenderInstruction instruction -> {
+                buf.writeByte(RENDER_INSTRUCTION);
+                instruction.writeTo(buf);
+            }
+            case Overlay overlay -> {
+                buf.writeByte(OVERLAY);
+                overlay.writeTo(buf);
+            }
+            case BlobReference ref -> {
+                buf.writeByte(BLOB_REFERENCE);
+                ref.writeTo(buf);
+            }
+            case StreamReference ref -> {
+                buf.writeByte(STREAM_REFERENCE);
+                ref.writeTo(buf);
+            }
+            case Instruction instruction -> {
+                buf.writeByte(INSTRUCTION);
+                instruction.writeTo(buf);
+            }
+            case ContextPatch patch -> {
+                buf.writeByte(CONTEXT_PATCH);
+                patch.writeTo(buf);
+            }
+            case DynamicText text -> {
+                buf.writeByte(DYNAMIC_TEXT);
+                text.writeTo(buf);
+            }
+            case Expression expression -> {
+                buf.writeByte(EXPRESSION);
+                expression.writeTo(buf);
+            }
+            case Animation animation -> {
+                buf.writeByte(ANIMATION);
+                animation.writeTo(buf);
+            }
+            case InstructionTemplate.Slot slot -> {
+                buf.writeByte(TEMPLATE_SLOT);
+                writeVarInt(buf, slot.getIndex());
+            }
+            case Enum<?> e when ENUMS.contains(e.getDeclaringClass()) -> {
+                buf.writeByte(ENUM);
+                writeVarInt(buf, ENUMS.indexOf(e.getDeclaringClass()));
+                writeVarInt(buf, e.ordinal());
+            }
+            case Set<?> set -> {
+                buf.writeByte(SET);
+                writeCollection(buf, set);
+            }
+            case Collection<?> list -> {
+                buf.writeByte(LIST);
+                writeCollection(buf, list);
+            }
+            case Map<?, ?> map -> {
+                buf.writeByte(MAP);
+                writeMap(buf, map);
+            }
+            default -> {
+                buf.writeByte(SERIALIZED);
+                writeByteArray(buf, serialize(value));
+            }
+        }
+    }
+
+    /**
+     * Reads a tagged value.
+     * @param buf the buffer to read from
+     * @return the value read
+     * @throws IllegalArgumentException if the value cannot be decoded
+     */
+    @Nullable
+    public static Object readValue(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return readValue(buf, false);
+    }
+
+    /**
+     * Reads a tagged value sent from a client to the server. Only plain data is accepted, such as primitives, strings,
+     * identifiers, enums with a native encoding, and collections of them. Values that would need Java serialization
+     * are rejected before any of their bytes are decoded.
+     * @param buf the buffer to read from
+     * @return the value read
+     * @throws IllegalArgumentException if the value cannot be decoded, or is not accepted from clients
+     */
+    @Nullable
+    public static Object readInboundValue(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return readValue(buf, true);
+    }
+
+    private static Object readValue(ByteBuf buf, boolean inbound) {
+        int tag = buf.readUnsignedByte();
+        if (inbound && !isInbound(tag)) throw new IllegalArgumentException("Value tag not accepted from clients: " + tag);
+
+        return switch (tag) {
+            case NULL -> null;
+            case TRUE -> true;
+            case FALSE -> false;
+            case BYTE -> buf.readByte();
+            case SHORT -> buf.readShort();
+            case INT -> readSignedVarInt(buf);
+            case LONG -> readSignedVarLong(buf);
+            case FLOAT -> buf.readFloat();
+            case DOUBLE -> buf.readDouble();
+            case STRING -> readString(buf);
+            case BYTE_ARRAY -> readByteArray(buf);
+            case UUID_TAG -> readUUID(buf);
+            case URI_TAG -> URI.create(readString(buf));
+            case IDENTIFIER -> Identifier.readFrom(buf);
+            case QUATERNION -> new Quaternionf(buf.readFloat(), buf.readFloat(), buf.readFloat(), buf.readFloat());
+            case MATRIX4F -> {
+                float[] values = new float[16];
+                for (int i = 0; i < values.length; i++) values[i] = buf.readFloat();
+                yield new Matrix4f().set(values);
+            }
+            case NBT_TAG -> NBTTag.readFrom(buf);
+            case DRAWING_CONTEXT -> DrawingContext.readFrom(buf);
+            case COMMAND -> DrawingContext.Command.readFrom(buf);
+            case MODIFIER -> DrawingContext.Modifier.readFrom(buf);
+            case RENDER_BUFFER -> RenderBuffer.readFrom(buf);
+            case TOAST -> Toast.readFrom(buf);
+            case CUSTOM_SCREEN -> CustomScreen.readFrom(buf);
+            case DEFAULT_SCREEN -> DefaultScreen.readFrom(buf);
+            case RENDER_INSTRUCTION -> RenderInstruction.readFrom(buf);
+            case OVERLAY -> Overlay.readFrom(buf);
+            case BLOB_REFERENCE -> BlobReference.readFrom(buf);
+            case STREAM_REFERENCE -> StreamReference.readFrom(buf);
+            case INSTRUCTION -> Instruction.readFrom(buf);
+            case CONTEXT_PATCH -> ContextPatch.readFrom(buf);
+            case TEMPLATE_SLOT -> InstructionTemplate.slot(readVarInt(buf));
+            case ANIMATION -> Animation.readFrom(buf);
+            case DYNAMIC_TEXT -> DynamicText.readFrom(buf);
+            case EXPRESSION -> Expression.readFrom(buf);
+            case ENUM -> {
+                int index = readVarInt(buf);
+                if (index < 0 || index >= ENUMS.size()) throw new IllegalArgumentException("Unknown enum index: " + index);
+
+                Enum<?>[] constants = ENUMS.get(index).getEnumConstants();
+                int ordinal = readVarInt(buf);
+                if (ordinal < 0 || ordinal >= constants.length) throw new IllegalArgumentException("Unknown enum ordinal: " + ordinal);
+
+                yield constants[ordinal];
+            }
+            case SET -> new LinkedHashSet<>(readList(buf, inbound));
+            case LIST -> readList(buf, inbound);
+            case MAP -> readMap(buf, inbound);
+            case SERIALIZED -> deserialize(readByteArray(buf));
+            default -> throw new IllegalArgumentException("Unknown value tag: " + tag);
+        };
+    }
+
+    private static boolean isInbound(int tag) {
+        return switch (tag) {
+            case NULL, TRUE, FALSE, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, BYTE_ARRAY, UUID_TAG, URI_TAG,
+                 IDENTIFIER, ENUM, LIST, SET, MAP, DEFAULT_SCREEN -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Writes a collection of tagged values, prefixed with its size.
+     * @param buf the buffer to write to
+     * @param values the values to write
+     */
+    public static void writeCollection(@NotNull ByteBuf buf, @NotNull Collection<?> values) {
+        writeVarInt(buf, values.size());
+        for (Object value : values) writeValue(buf, value);
+    }
+
+    /**
+     * Reads a list of tagged values, prefixed with its size.
+     * @param buf the buffer to read from
+     * @return a mutable list of the values read
+     * @throws IllegalArgumentException if the size is invalid
+     */
+    @NotNull
+    public static List<Object> readList(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return readList(buf, false);
+    }
+
+    private static List<Object> readList(ByteBuf buf, boolean inbound) {
+        int size = readSize(buf);
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add(readValue(buf, inbound));
+
+        return values;
+    }
+
+    /**
+     * Writes a map of tagged keys and values, prefixed with its size.
+     * @param buf the buffer to write to
+     * @param map the map to write
+     */
+    public static void writeMap(@NotNull ByteBuf buf, @NotNull Map<?, ?> map) {
+        writeVarInt(buf, map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue(buf, entry.getKey());
+            writeValue(buf, entry.getValue());
+        }
+    }
+
+    /**
+     * Reads a map of tagged keys and values, prefixed with its size.
+     * @param buf the buffer to read from
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return a mutable map of the entries read
+     * @throws IllegalArgumentException if the size is invalid
+     */
+    @NotNull
+    public static <K, V> Map<K, V> readMap(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return readMap(buf, false);
+    }
+
+    /**
+     * Reads a map of tagged keys and values sent from a client to the server, accepting the same values as
+     * {@link #readInboundValue(ByteBuf)}.
+     * @param buf the buffer to read from
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return a mutable map of the entries read
+     * @throws IllegalArgumentException if the size is invalid, or a key or value is not accepted from clients
+     */
+    @NotNull
+    public static <K, V> Map<K, V> readInboundMap(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return readMap(buf, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V> readMap(ByteBuf buf, boolean inbound) {
+        int size = readSize(buf);
+        Map<K, V> map = new HashMap<>();
+        for (int i = 0; i < size; i++) map.put((K) readValue(buf, inbound), (V) readValue(buf, inbound));
+
+        return map;
+    }
+
+    private static int readSize(ByteBuf buf) {
+        int size = readVarInt(buf);
+        // Every element takes at least one byte, so anything larger is malformed
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid collection size: " + size);
+
+        return size;
+    }
+
+    // Java Serialization Fallback
+
+    /**
+     * Serializes an object using Java Serialization, for values with no native encoding.
+     * @param value the value to serialize
+     * @return the serialized bytes
+     * @throws IllegalArgumentException if the value is not serializable
+     */
+    public static byte[] serialize(@Nullable Object value) throws IllegalArgumentException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ObjectOutputStream outw = new ObjectOutputStream(out);
+            outw.writeObject(value);
+            outw.close();
+
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to serialize " + (value == null ? "null" : value.getClass().getName()), e);
+        }
+    }
+
+    /**
+     * Deserializes an object previously serialized with {@link #serialize(Object)}.
+     * @param bytes the serialized bytes
+     * @return the deserialized object
+     * @throws IllegalArgumentException if the object cannot be deserialized
+     */
+    @Nullable
+    public static Object deserialize(byte[] bytes) throws IllegalArgumentException {
+        try {
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Failed to deserialize object", e);
+        }
+    }
+
+}
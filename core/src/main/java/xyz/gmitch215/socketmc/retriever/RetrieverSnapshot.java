@@ -0,0 +1,101 @@
+package xyz.gmitch215.socketmc.retriever;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents several values retrieved from the client in a single request, all sampled at the same time.
+ */
+public final class RetrieverSnapshot {
+
+    private final Map<RetrieverType<?>, Object> values;
+
+    private RetrieverSnapshot(Map<RetrieverType<?>, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Gets the value retrieved for a type.
+     * @param type The retriever type
+     * @return The value retrieved, or null if it was not retrieved or is null
+     * @param <T> The type of the retriever
+     */
+    @Nullable
+    public <T> T get(@NotNull RetrieverType<T> type) {
+        return type.getType().cast(values.get(type));
+    }
+
+    /**
+     * Checks whether a type was retrieved. Types the plugin has no permission for are not retrieved.
+     * @param type The retriever type
+     * @return true if the type was retrieved
+     */
+    public boolean contains(@NotNull RetrieverType<?> type) {
+        return values.containsKey(type);
+    }
+
+    /**
+     * Gets an immutable set of the types retrieved.
+     * @return Retrieved Types
+     */
+    @NotNull
+    @Unmodifiable
+    public Set<RetrieverType<?>> getTypes() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    /**
+     * Gets an immutable view of the values retrieved, by type.
+     * @return Retrieved Values
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<RetrieverType<?>, Object> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RetrieverSnapshot that)) return false;
+        return values.equals(that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RetrieverSnapshot" + values;
+    }
+
+    /**
+     * Creates a snapshot from the values sent by the client, by retriever ID. Unknown IDs are ignored.
+     * @param values The values, by retriever ID
+     * @return Retriever Snapshot
+     * @throws IllegalArgumentException if the values are null
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static RetrieverSnapshot fromIds(@NotNull Map<String, ?> values) throws IllegalArgumentException {
+        if (values == null) throw new IllegalArgumentException("Values cannot be null");
+
+        Map<RetrieverType<?>, Object> map = new HashMap<>();
+        values.forEach((id, value) -> {
+            RetrieverType<?> type = RetrieverType.fromId(id);
+            if (type != null) map.put(type, value);
+        });
+
+        return new RetrieverSnapshot(map);
+    }
+
+}
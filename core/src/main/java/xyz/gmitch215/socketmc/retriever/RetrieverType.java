@@ -1,13 +1,18 @@
 package xyz.gmitch215.socketmc.retriever;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import xyz.gmitch215.socketmc.config.ModPermission;
 import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.spigot.SocketPlugin;
 import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.InputType;
 
 import java.io.*;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
@@ -211,6 +216,112 @@ public final class RetrieverType<T> implements Serializable {
         }
     }
 
+    // Wire Format
+
+    /**
+     * Writes a value of this type in the binary wire format, such as in a {@link WireCodec#RETRIEVER_UPDATE_FRAME}.
+     * @param buf the buffer to write to
+     * @param value the value to write
+     * @throws IllegalArgumentException if the value is not of this type
+     */
+    @ApiStatus.Internal
+    public void writeValue(@NotNull ByteBuf buf, @Nullable Object value) throws IllegalArgumentException {
+        if (value != null && !type.isInstance(value)) throw new IllegalArgumentException("Invalid value for retriever " + id + ": " + value.getClass().getName());
+
+        buf.writeBoolean(value != null);
+        if (value == null) return;
+
+        switch (value) {
+            case Enum<?> e -> WireCodec.writeVarInt(buf, e.ordinal());
+            case Window window -> window.writeTo(buf);
+            case Object[] array -> {
+                WireCodec.writeVarInt(buf, array.length);
+                for (Object element : array) WireCodec.writeValue(buf, element);
+            }
+            case Map<?, ?> map when equals(PLUGIN_PERMISSIONS) -> {
+                WireCodec.writeVarInt(buf, map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    ((SocketPlugin) entry.getKey()).writeTo(buf);
+
+                    Set<ModPermission> permissions = (Set<ModPermission>) entry.getValue();
+                    WireCodec.writeVarInt(buf, permissions.size());
+                    for (ModPermission permission : permissions) WireCodec.writeVarInt(buf, permission.ordinal());
+                }
+            }
+            default -> WireCodec.writeValue(buf, value);
+        }
+    }
+
+    /**
+     * Reads a value of this type in the binary wire format. Values are sent by clients, so nothing is read with Java
+     * serialization.
+     * @param buf the buffer to read from
+     * @return the value read
+     * @throws IllegalArgumentException if the buffer is malformed, or the value is not of this type
+     */
+    @ApiStatus.Internal
+    @Nullable
+    public T readValue(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        if (!buf.readBoolean()) return null;
+
+        Object value;
+        if (type.isEnum()) {
+            T[] constants = type.getEnumConstants();
+            int ordinal = WireCodec.readVarInt(buf);
+            if (ordinal < 0 || ordinal >= constants.length) throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " ordinal: " + ordinal);
+
+            value = constants[ordinal];
+        } else if (type == Window.class) {
+            value = Window.readFrom(buf);
+        } else if (type.isArray()) {
+            Class<?> component = type.getComponentType();
+            int size = readSize(buf);
+
+            Object[] array = (Object[]) Array.newInstance(component, size);
+            for (int i = 0; i < size; i++) {
+                Object element = WireCodec.readInboundValue(buf);
+                if (element != null && !component.isInstance(element)) throw new IllegalArgumentException("Invalid element for retriever " + id + ": " + element.getClass().getName());
+
+                array[i] = element;
+            }
+
+            value = array;
+        } else if (equals(PLUGIN_PERMISSIONS)) {
+            int size = readSize(buf);
+            ModPermission[] all = ModPermission.values();
+
+            Map<SocketPlugin, Set<ModPermission>> map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                SocketPlugin plugin = SocketPlugin.readFrom(buf);
+
+                int count = readSize(buf);
+                Set<ModPermission> permissions = EnumSet.noneOf(ModPermission.class);
+                for (int j = 0; j < count; j++) {
+                    int ordinal = WireCodec.readVarInt(buf);
+                    if (ordinal < 0 || ordinal >= all.length) throw new IllegalArgumentException("Unknown permission ordinal: " + ordinal);
+
+                    permissions.add(all[ordinal]);
+                }
+
+                map.put(plugin, permissions);
+            }
+
+            value = map;
+        } else {
+            value = WireCodec.readInboundValue(buf);
+        }
+
+        if (value != null && !type.isInstance(value)) throw new IllegalArgumentException("Invalid value for retriever " + id + ": " + value.getClass().getName());
+        return type.cast(value);
+    }
+
+    private static int readSize(ByteBuf buf) {
+        int size = WireCodec.readVarInt(buf);
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid size: " + size);
+
+        return size;
+    }
+
     // Serialization
 
     /**
@@ -287,6 +398,25 @@ public final class RetrieverType<T> implements Serializable {
         return values.toArray(RetrieverType[]::new);
     }
 
+    private static Map<String, RetrieverType<?>> byId;
+
+    /**
+     * Gets a retriever type by its ID.
+     * @param id The ID of the retriever type
+     * @return The retriever type, or null if there is none with the ID
+     */
+    @Nullable
+    public static RetrieverType<?> fromId(@Nullable String id) {
+        if (id == null) return null;
+        if (byId == null) {
+            Map<String, RetrieverType<?>> map = new HashMap<>();
+            for (RetrieverType<?> type : values()) map.put(type.id, type);
+            byId = Map.copyOf(map);
+        }
+
+        return byId.get(id);
+    }
+
     //</editor-fold>
 
 }
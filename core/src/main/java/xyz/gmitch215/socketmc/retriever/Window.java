@@ -1,7 +1,13 @@
 package xyz.gmitch215.socketmc.retriever;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Utility class to represent the client's window information.
@@ -185,4 +191,73 @@ public final class Window implements Serializable {
     public int getRefreshRate() {
         return refreshRate;
     }
+
+    /**
+     * Writes this window to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        buf.writeLong(id);
+        buf.writeBoolean(fullscreen);
+        buf.writeInt(x);
+        buf.writeInt(y);
+        buf.writeInt(width);
+        buf.writeInt(height);
+        buf.writeInt(screenWidth);
+        buf.writeInt(screenHeight);
+        buf.writeInt(guiScaledWidth);
+        buf.writeInt(guiScaledHeight);
+        buf.writeDouble(guiScale);
+        buf.writeInt(framerateLimit);
+        WireCodec.writeValue(buf, platform);
+        buf.writeInt(refreshRate);
+    }
+
+    /**
+     * Reads a window from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the window read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Window readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        Window window = new Window();
+        window.id = buf.readLong();
+        window.fullscreen = buf.readBoolean();
+        window.x = buf.readInt();
+        window.y = buf.readInt();
+        window.width = buf.readInt();
+        window.height = buf.readInt();
+        window.screenWidth = buf.readInt();
+        window.screenHeight = buf.readInt();
+        window.guiScaledWidth = buf.readInt();
+        window.guiScaledHeight = buf.readInt();
+        window.guiScale = buf.readDouble();
+        window.framerateLimit = buf.readInt();
+
+        Object platform = WireCodec.readInboundValue(buf);
+        if (platform != null && !(platform instanceof String)) throw new IllegalArgumentException("Invalid window platform: " + platform);
+        window.platform = (String) platform;
+
+        window.refreshRate = buf.readInt();
+        return window;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Window window)) return false;
+        return id == window.id && fullscreen == window.fullscreen && x == window.x && y == window.y && width == window.width
+                && height == window.height && screenWidth == window.screenWidth && screenHeight == window.screenHeight
+                && guiScaledWidth == window.guiScaledWidth && guiScaledHeight == window.guiScaledHeight
+                && Double.compare(guiScale, window.guiScale) == 0 && framerateLimit == window.framerateLimit
+                && refreshRate == window.refreshRate && Objects.equals(platform, window.platform);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, fullscreen, x, y, width, height, screenWidth, screenHeight, guiScaledWidth, guiScaledHeight, guiScale, framerateLimit, platform, refreshRate);
+    }
 }
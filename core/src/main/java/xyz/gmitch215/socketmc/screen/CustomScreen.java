@@ -1,8 +1,11 @@
 package xyz.gmitch215.socketmc.screen;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.screen.layout.Layout;
 import xyz.gmitch215.socketmc.util.render.text.Text;
 
@@ -32,6 +35,8 @@ public final class CustomScreen extends AbstractScreen {
      * Constructs a new screen with the given title.
      * @param title the title
      */
+    private CustomScreen() {}
+
     public CustomScreen(@NotNull Text title) {
         if (title == null) throw new IllegalArgumentException("Title cannot be null");
         this.titleJSON = title.toJSON();
@@ -256,6 +261,55 @@ public final class CustomScreen extends AbstractScreen {
         else attributes.put(key, value);
     }
 
+    /**
+     * <p>Writes this screen to a buffer in the binary wire format.</p>
+     * <p>Children and the layout are written with Java Serialization, as they may contain custom widgets.</p>
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeString(buf, titleJSON);
+        WireCodec.writeValue(buf, narrationMessageJSON);
+        WireCodec.writeVarInt(buf, background.ordinal());
+        buf.writeBoolean(closeableOnEscape);
+        WireCodec.writeMap(buf, attributes);
+
+        WireCodec.writeVarInt(buf, children.size());
+        for (Positionable child : children) WireCodec.writeByteArray(buf, WireCodec.serialize(child));
+
+        buf.writeBoolean(layout != null);
+        if (layout != null) WireCodec.writeByteArray(buf, WireCodec.serialize(layout));
+    }
+
+    /**
+     * Reads a screen from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the screen read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static CustomScreen readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        CustomScreen screen = new CustomScreen();
+        screen.titleJSON = WireCodec.readString(buf);
+        screen.narrationMessageJSON = (String) WireCodec.readValue(buf);
+
+        int background = WireCodec.readVarInt(buf);
+        if (background < 0 || background >= ScreenBackground.values().length) throw new IllegalArgumentException("Unknown screen background: " + background);
+        screen.background = ScreenBackground.values()[background];
+
+        screen.closeableOnEscape = buf.readBoolean();
+        screen.attributes.putAll(WireCodec.readMap(buf));
+
+        int size = WireCodec.readVarInt(buf);
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid child count: " + size);
+        for (int i = 0; i < size; i++) screen.children.add((Positionable) WireCodec.deserialize(WireCodec.readByteArray(buf)));
+
+        if (buf.readBoolean()) screen.layout = (Layout) WireCodec.deserialize(WireCodec.readByteArray(buf));
+
+        return screen;
+    }
+
     @Override
     @NotNull
     public String toString() {
@@ -1,5 +1,8 @@
 package xyz.gmitch215.socketmc.screen;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.util.DataHolder;
 import xyz.gmitch215.socketmc.util.render.text.PlainText;
 import xyz.gmitch215.socketmc.util.render.text.Text;
@@ -266,6 +269,30 @@ public final class DefaultScreen extends AbstractScreen implements DataHolder {
         return screens;
     }
 
+    /**
+     * Writes this screen to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeString(buf, identifier);
+        WireCodec.writeMap(buf, data);
+    }
+
+    /**
+     * Reads a screen from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the screen read
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static DefaultScreen readFrom(@NotNull ByteBuf buf) {
+        DefaultScreen screen = new DefaultScreen(WireCodec.readString(buf));
+        // Only holds plain data, and is also sent by clients in events
+        screen.data.putAll(WireCodec.readInboundMap(buf));
+        return screen;
+    }
+
     @Override
     public String toString() {
         return "DefaultScreen{'" + identifier + "'}";
@@ -1,6 +1,9 @@
 package xyz.gmitch215.socketmc.screen;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.util.render.DrawingContext;
 
 import java.io.Serial;
@@ -53,4 +56,26 @@ public final class Overlay implements Serializable {
     public void setPauseScreen(boolean pauseScreen) {
         this.pauseScreen = pauseScreen;
     }
+
+    /**
+     * Writes this overlay to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        context.writeTo(buf);
+        buf.writeBoolean(pauseScreen);
+    }
+
+    /**
+     * Reads an overlay from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the overlay read
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Overlay readFrom(@NotNull ByteBuf buf) {
+        DrawingContext context = DrawingContext.readFrom(buf);
+        return new Overlay(context, buf.readBoolean());
+    }
 }
@@ -1,7 +1,10 @@
 package xyz.gmitch215.socketmc.screen;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.util.Paramaterized;
 import xyz.gmitch215.socketmc.util.render.DrawingContext;
 import xyz.gmitch215.socketmc.util.render.text.PlainText;
@@ -90,6 +93,36 @@ public final class Toast implements Serializable, Paramaterized {
         return duration;
     }
 
+    /**
+     * Writes this toast message to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, type);
+        WireCodec.writeVarInt(buf, width);
+        WireCodec.writeVarInt(buf, height);
+        WireCodec.writeCollection(buf, paramaters);
+        WireCodec.writeSignedVarLong(buf, duration);
+    }
+
+    /**
+     * Reads a toast message from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the toast message read
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Toast readFrom(@NotNull ByteBuf buf) {
+        int type = WireCodec.readVarInt(buf);
+        int width = WireCodec.readVarInt(buf);
+        int height = WireCodec.readVarInt(buf);
+        List<Object> paramaters = WireCodec.readList(buf);
+        long duration = WireCodec.readSignedVarLong(buf);
+
+        return new Toast(type, width, height, paramaters, duration);
+    }
+
     //</editor-fold>
 
     // Custom Toast
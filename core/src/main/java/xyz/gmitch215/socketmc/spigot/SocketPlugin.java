@@ -1,8 +1,10 @@
 package xyz.gmitch215.socketmc.spigot;
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import xyz.gmitch215.socketmc.network.WireCodec;
 
 import java.io.*;
 import java.util.Objects;
@@ -132,6 +134,38 @@ public final class SocketPlugin implements Serializable, Comparable<SocketPlugin
         }
     }
 
+    /**
+     * Writes this plugin to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeValue(buf, mainClass);
+        WireCodec.writeValue(buf, pluginName);
+        WireCodec.writeValue(buf, pluginVersion);
+        WireCodec.writeValue(buf, pluginUrl);
+        WireCodec.writeValue(buf, jarFilePath);
+    }
+
+    /**
+     * Reads a plugin from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the plugin read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static SocketPlugin readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return new SocketPlugin(readString(buf), readString(buf), readString(buf), readString(buf), readString(buf));
+    }
+
+    private static String readString(ByteBuf buf) {
+        Object value = WireCodec.readInboundValue(buf);
+        if (value != null && !(value instanceof String)) throw new IllegalArgumentException("Invalid plugin field: " + value);
+
+        return (String) value;
+    }
+
     @Override
     public int compareTo(@NotNull SocketPlugin o) {
         return pluginName.compareTo(o.pluginName);
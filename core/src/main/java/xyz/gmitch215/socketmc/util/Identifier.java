@@ -1,6 +1,9 @@
 package xyz.gmitch215.socketmc.util;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.network.WireCodec;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -94,4 +97,25 @@ public final class Identifier implements Serializable {
         return Identifier.socketmc(uuid.toString());
     }
 
+    /**
+     * Writes this Identifier to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeString(buf, namespace);
+        WireCodec.writeString(buf, path);
+    }
+
+    /**
+     * Reads an Identifier from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the Identifier read
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Identifier readFrom(@NotNull ByteBuf buf) {
+        return new Identifier(WireCodec.readString(buf), WireCodec.readString(buf));
+    }
+
 }
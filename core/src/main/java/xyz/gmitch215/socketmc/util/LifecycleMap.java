@@ -31,6 +31,7 @@ public class LifecycleMap<T> implements Iterable<T> {
      */
     public LifecycleMap(@Nullable LifecycleMap<T> map) {
         if (map != null) {
+            identifiers.putAll(map.identifiers);
             origin.putAll(map.origin);
             duration.putAll(map.duration);
         }
@@ -45,6 +46,7 @@ public class LifecycleMap<T> implements Iterable<T> {
             T key = it.next();
             if (getRemainingTime(key) <= 0) {
                 it.remove();
+                identifiers.remove(key);
                 duration.remove(key);
             }
         }
@@ -1,8 +1,11 @@
 package xyz.gmitch215.socketmc.util;
 
 import com.google.gson.Gson;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import xyz.gmitch215.socketmc.network.WireCodec;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -390,4 +393,24 @@ public final class NBTTag implements Serializable {
 
         return new NBTTag(nbt);
     }
+
+    /**
+     * Writes this tag to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeMap(buf, tag);
+    }
+
+    /**
+     * Reads a tag from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the tag read
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static NBTTag readFrom(@NotNull ByteBuf buf) {
+        return new NBTTag(WireCodec.readMap(buf));
+    }
 }
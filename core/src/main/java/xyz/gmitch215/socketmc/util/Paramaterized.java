@@ -2,6 +2,7 @@ package xyz.gmitch215.socketmc.util;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
+import xyz.gmitch215.socketmc.util.render.Animation;
 
 import java.util.List;
 
@@ -69,7 +70,7 @@ public interface Paramaterized {
     @NotNull
     default <T> T parameter(int index, @NotNull Class<T> type) throws IllegalArgumentException {
         if (type == null) throw new IllegalArgumentException("type cannot be null");
-        return type.cast(parameter(index));
+        return cast(parameter(index), type);
     }
 
     /**
@@ -101,7 +102,7 @@ public interface Paramaterized {
     default <T> T firstParameter(@NotNull Class<T> type) throws IllegalArgumentException {
         if (type == null) throw new IllegalArgumentException("type cannot be null");
 
-        return type.cast(firstParameter());
+        return cast(firstParameter(), type);
     }
 
     /**
@@ -115,7 +116,7 @@ public interface Paramaterized {
     default <T> T lastParameter(@NotNull Class<T> type) throws IllegalArgumentException {
         if (type == null) throw new IllegalArgumentException("type cannot be null");
 
-        return type.cast(lastParameter());
+        return cast(lastParameter(), type);
     }
 
     /**
@@ -332,4 +333,20 @@ public interface Paramaterized {
         return lastParameter(String.class);
     }
 
+    private static <T> T cast(Object value, Class<T> type) {
+        // Animations are read as their value at the time of the read, such as while drawing a frame
+        if (value instanceof Animation animation && Number.class.isAssignableFrom(type))
+            return animation.getValue(type);
+
+        // Numbers are converted between types, such as an evaluated Expression read as an int
+        if (value instanceof Number number && !type.isInstance(value)) {
+            if (type == Integer.class) return type.cast((int) Math.round(number.doubleValue()));
+            if (type == Long.class) return type.cast(Math.round(number.doubleValue()));
+            if (type == Float.class) return type.cast(number.floatValue());
+            if (type == Double.class) return type.cast(number.doubleValue());
+        }
+
+        return type.cast(value);
+    }
+
 }
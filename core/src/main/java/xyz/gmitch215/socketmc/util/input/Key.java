@@ -511,11 +511,20 @@ public enum Key {
      */
     @Nullable
     public static Key fromCode(int code) {
-        for (Key key : values()) {
-            if (key.code == code) {
-                return key;
-            }
-        }
-        return null;
+        if (code < 0 || code >= BY_CODE.length) return null;
+        return BY_CODE[code];
+    }
+
+    // Lookup table indexed by keyboard code
+
+    private static final Key[] BY_CODE;
+
+    static {
+        int max = 0;
+        for (Key key : values()) max = Math.max(max, key.code);
+
+        BY_CODE = new Key[max + 1];
+        for (Key key : values())
+            if (BY_CODE[key.code] == null) BY_CODE[key.code] = key;
     }
 }
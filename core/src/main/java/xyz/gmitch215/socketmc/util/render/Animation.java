@@ -0,0 +1,394 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Represents a number that changes over time, following a track of keyframes.</p>
+ * <p>An animation can be used in place of any numeric parameter of an {@link Instruction},
+ * {@link DrawingContext.Command} or {@link DrawingContext.Modifier}, such as a position, size or scale. It is
+ * evaluated on the client every time it is drawn, starting from the first frame it is drawn in, so one instruction
+ * moves smoothly at the client's frame rate.</p>
+ */
+public final class Animation implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5021750326617298411L;
+
+    private final long[] times;
+    private final float[] values;
+    private final Easing[] easings;
+    private final Repeat repeat;
+
+    private transient boolean started;
+    private transient long start;
+
+    private Animation(long[] times, float[] values, Easing[] easings, Repeat repeat) {
+        this.times = times;
+        this.values = values;
+        this.easings = easings;
+        this.repeat = repeat;
+    }
+
+    /**
+     * Gets the time of the last keyframe, in milliseconds.
+     * @return Animation Duration
+     */
+    public long getDuration() {
+        return times[times.length - 1];
+    }
+
+    /**
+     * Gets how this animation repeats after its last keyframe.
+     * @return Animation Repeat
+     */
+    @NotNull
+    public Repeat getRepeat() {
+        return repeat;
+    }
+
+    /**
+     * Gets the number of keyframes in this animation.
+     * @return Keyframe Count
+     */
+    public int getKeyframeCount() {
+        return times.length;
+    }
+
+    /**
+     * Gets the value of this animation at a specific time.
+     * @param elapsed the time since the animation started, in milliseconds
+     * @return Animation Value
+     */
+    public float valueAt(long elapsed) {
+        long duration = getDuration();
+        if (repeat != Repeat.NONE && duration > 0 && elapsed > duration) {
+            long cycle = elapsed / duration;
+            elapsed %= duration;
+
+            if (repeat == Repeat.ALTERNATE && cycle % 2 == 1) elapsed = duration - elapsed;
+        }
+
+        int last = times.length - 1;
+        if (elapsed <= times[0]) return values[0];
+        if (elapsed >= times[last]) return values[last];
+
+        int i = Arrays.binarySearch(times, elapsed);
+        if (i >= 0) return values[i];
+
+        i = -i - 1;
+        float t = (float) (elapsed - times[i - 1]) / (times[i] - times[i - 1]);
+        return values[i - 1] + (values[i] - values[i - 1]) * easings[i].apply(t);
+    }
+
+    /**
+     * Gets the current value of this animation. The first call starts the animation.
+     * @return Current Animation Value
+     */
+    public float getValue() {
+        long now = System.nanoTime() / 1_000_000L;
+        if (!started) {
+            start = now;
+            started = true;
+        }
+
+        return valueAt(now - start);
+    }
+
+    /**
+     * Gets the current value of this animation as a specific numeric type, rounding if needed.
+     * @param type the type of number to get
+     * @param <T> the type of number
+     * @return Current Animation Value
+     * @throws IllegalArgumentException if the type is not a {@link Integer}, {@link Long}, {@link Float}, {@link Double} or {@link Number}
+     */
+    @NotNull
+    public <T> T getValue(@NotNull Class<T> type) throws IllegalArgumentException {
+        float value = getValue();
+
+        Object result;
+        if (type == Integer.class) result = Math.round(value);
+        else if (type == Long.class) result = (long) Math.round(value);
+        else if (type == Double.class) result = (double) value;
+        else if (type == Float.class || type == Number.class) result = value;
+        else throw new IllegalArgumentException("Animations cannot be read as " + type);
+
+        return type.cast(result);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Animation that)) return false;
+        return Arrays.equals(times, that.times) && Arrays.equals(values, that.values) && Arrays.equals(easings, that.easings) && repeat == that.repeat;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(times);
+        result = 31 * result + Arrays.hashCode(values);
+        result = 31 * result + Arrays.hashCode(easings);
+        result = 31 * result + repeat.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Animation{" + times.length + " keyframes, " + getDuration() + "ms, " + repeat + '}';
+    }
+
+    /**
+     * Writes this animation to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, times.length);
+        for (int i = 0; i < times.length; i++) {
+            WireCodec.writeVarLong(buf, times[i]);
+            buf.writeFloat(values[i]);
+            buf.writeByte(easings[i].ordinal());
+        }
+
+        buf.writeByte(repeat.ordinal());
+    }
+
+    /**
+     * Reads an animation from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the animation read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Animation readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int size = WireCodec.readVarInt(buf);
+        if (size <= 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid keyframe count: " + size);
+
+        Builder builder = builder();
+        Easing[] easings = Easing.values();
+        for (int i = 0; i < size; i++) {
+            long time = WireCodec.readVarLong(buf);
+            float value = buf.readFloat();
+
+            int easing = buf.readUnsignedByte();
+            if (easing >= easings.length) throw new IllegalArgumentException("Unknown easing: " + easing);
+
+            builder.keyframe(time, value, easings[easing]);
+        }
+
+        Repeat[] repeats = Repeat.values();
+        int repeat = buf.readUnsignedByte();
+        if (repeat >= repeats.length) throw new IllegalArgumentException("Unknown repeat: " + repeat);
+
+        return builder.repeat(repeats[repeat]).build();
+    }
+
+    // Static Methods
+
+    /**
+     * Creates a new builder for an animation.
+     * @return Animation Builder
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates an animation between two values.
+     * @param from the starting value
+     * @param to the ending value
+     * @param millis the duration, in milliseconds
+     * @param easing the easing to use
+     * @return Animation
+     * @throws IllegalArgumentException if the duration is not positive, or the easing is null
+     */
+    @NotNull
+    public static Animation between(float from, float to, long millis, @NotNull Easing easing) throws IllegalArgumentException {
+        if (millis <= 0) throw new IllegalArgumentException("Duration must be positive");
+
+        return builder()
+                .keyframe(0, from)
+                .keyframe(millis, to, easing)
+                .build();
+    }
+
+    /**
+     * Creates a copy of an instruction with some of its parameters animated.
+     * @param instruction the instruction to copy
+     * @param animations the animations, by parameter index
+     * @return the animated instruction
+     * @throws IllegalArgumentException if the instruction or animations are null, an index is out of bounds, or a replaced parameter is not a number
+     */
+    @NotNull
+    public static Instruction animate(@NotNull Instruction instruction, @NotNull Map<Integer, Animation> animations) throws IllegalArgumentException {
+        if (instruction == null) throw new IllegalArgumentException("Instruction cannot be null");
+        checkNumbers(instruction.getParameters(), animations);
+
+        return instruction.withParameters(new HashMap<>(animations));
+    }
+
+    /**
+     * Creates a copy of a drawing command with some of its parameters animated.
+     * @param command the command to copy
+     * @param animations the animations, by parameter index
+     * @return the animated command
+     * @throws IllegalArgumentException if the command or animations are null, an index is out of bounds, or a replaced parameter is not a number
+     */
+    @NotNull
+    public static DrawingContext.Command animate(@NotNull DrawingContext.Command command, @NotNull Map<Integer, Animation> animations) throws IllegalArgumentException {
+        if (command == null) throw new IllegalArgumentException("Command cannot be null");
+        checkNumbers(command.getParameters(), animations);
+
+        int[] index = { 0 };
+        return command.mapParameters(p -> {
+            Animation animation = animations.get(index[0]++);
+            return animation == null ? p : animation;
+        });
+    }
+
+    /**
+     * Creates a copy of a drawing modifier with some of its parameters animated, such as the amount of a
+     * {@linkplain DrawingContext.Modifier#translate(float, float, float) translation}.
+     * @param modifier the modifier to copy
+     * @param animations the animations, by parameter index
+     * @return the animated modifier
+     * @throws IllegalArgumentException if the modifier or animations are null, an index is out of bounds, or a replaced parameter is not a number
+     */
+    @NotNull
+    public static DrawingContext.Modifier animate(@NotNull DrawingContext.Modifier modifier, @NotNull Map<Integer, Animation> animations) throws IllegalArgumentException {
+        if (modifier == null) throw new IllegalArgumentException("Modifier cannot be null");
+        checkNumbers(modifier.getParameters(), animations);
+
+        int[] index = { 0 };
+        return modifier.mapParameters(p -> {
+            Animation animation = animations.get(index[0]++);
+            return animation == null ? p : animation;
+        });
+    }
+
+    private static void checkNumbers(List<Object> parameters, Map<Integer, Animation> animations) throws IllegalArgumentException {
+        if (animations == null) throw new IllegalArgumentException("Animations cannot be null");
+
+        for (Map.Entry<Integer, Animation> entry : animations.entrySet()) {
+            int index = entry.getKey();
+            if (index < 0 || index >= parameters.size()) throw new IllegalArgumentException("Parameter index out of bounds: " + index);
+            if (!(parameters.get(index) instanceof Number)) throw new IllegalArgumentException("Parameter " + index + " is not a number");
+            if (entry.getValue() == null) throw new IllegalArgumentException("Animation cannot be null");
+        }
+    }
+
+    /**
+     * Represents how an {@link Animation} continues after its last keyframe.
+     * <br>
+     * Repeats are sent by their ordinal, so new repeats must only be appended.
+     */
+    public enum Repeat {
+
+        /**
+         * Stays at the value of the last keyframe.
+         */
+        NONE,
+
+        /**
+         * Starts again from the first keyframe.
+         */
+        LOOP,
+
+        /**
+         * Plays backwards to the first keyframe, then forwards again.
+         */
+        ALTERNATE
+
+    }
+
+    /**
+     * Represents a builder for an {@link Animation}.
+     */
+    public static final class Builder {
+        final List<Long> times = new ArrayList<>();
+        final List<Float> values = new ArrayList<>();
+        final List<Easing> easings = new ArrayList<>();
+        Repeat repeat = Repeat.NONE;
+
+        private Builder() {}
+
+        /**
+         * Adds a keyframe, moved to in a {@linkplain Easing#LINEAR straight line}.
+         * @param millis the time of the keyframe, in milliseconds since the animation started
+         * @param value the value at the keyframe
+         * @return this builder, for chaining
+         * @throws IllegalArgumentException if the time is negative, or not after the previous keyframe
+         */
+        @NotNull
+        public Builder keyframe(long millis, float value) throws IllegalArgumentException {
+            return keyframe(millis, value, Easing.LINEAR);
+        }
+
+        /**
+         * Adds a keyframe.
+         * @param millis the time of the keyframe, in milliseconds since the animation started
+         * @param value the value at the keyframe
+         * @param easing how the value moves from the previous keyframe to this one
+         * @return this builder, for chaining
+         * @throws IllegalArgumentException if the time is negative, or not after the previous keyframe, or the easing is null
+         */
+        @NotNull
+        public Builder keyframe(long millis, float value, @NotNull Easing easing) throws IllegalArgumentException {
+            if (millis < 0) throw new IllegalArgumentException("Keyframe time cannot be negative");
+            if (!times.isEmpty() && millis <= times.getLast()) throw new IllegalArgumentException("Keyframes must be in order");
+            if (easing == null) throw new IllegalArgumentException("Easing cannot be null");
+
+            times.add(millis);
+            values.add(value);
+            easings.add(easing);
+            return this;
+        }
+
+        /**
+         * Sets how the animation continues after its last keyframe.
+         * @param repeat the repeat mode
+         * @return this builder, for chaining
+         * @throws IllegalArgumentException if the repeat is null
+         */
+        @NotNull
+        public Builder repeat(@NotNull Repeat repeat) throws IllegalArgumentException {
+            if (repeat == null) throw new IllegalArgumentException("Repeat cannot be null");
+
+            this.repeat = repeat;
+            return this;
+        }
+
+        /**
+         * Builds the animation.
+         * @return Animation
+         * @throws IllegalArgumentException if there are no keyframes
+         */
+        @NotNull
+        public Animation build() throws IllegalArgumentException {
+            if (times.isEmpty()) throw new IllegalArgumentException("Animation must have at least one keyframe");
+
+            long[] t = new long[times.size()];
+            float[] v = new float[values.size()];
+            for (int i = 0; i < t.length; i++) {
+                t[i] = times.get(i);
+                v[i] = values.get(i);
+            }
+
+            return new Animation(t, v, easings.toArray(new Easing[0]), repeat);
+        }
+    }
+
+}
@@ -0,0 +1,312 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>Represents a set of changes to the {@link DrawingContext.Command}s of a {@link DrawingContext} that has already
+ * been sent to the client under an {@linkplain DrawingContext#getId() identifier}.</p>
+ * <p>Operations are applied in order, and each index refers to the commands as left by the previous operation.</p>
+ */
+public final class ContextPatch implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 3094830127735610218L;
+
+    /**
+     * Inserts a command at an index.
+     */
+    public static final int INSERT = 0;
+
+    /**
+     * Replaces the command at an index.
+     */
+    public static final int REPLACE = 1;
+
+    /**
+     * Removes the command at an index.
+     */
+    public static final int REMOVE = 2;
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    private ContextPatch() {}
+
+    /**
+     * Gets an immutable copy of the operations in this patch.
+     * @return Patch Operations
+     */
+    @NotNull
+    @Unmodifiable
+    public List<Operation> getOperations() {
+        return List.copyOf(operations);
+    }
+
+    /**
+     * Checks whether this patch has no operations.
+     * @return true if this patch changes nothing
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    void applyTo(List<Function<GraphicsContext, DrawingContext.Command>> commands) throws IllegalArgumentException {
+        int size = commands.size();
+        for (Operation op : operations) {
+            int bound = op.type == INSERT ? size : size - 1;
+            if (op.index < 0 || op.index > bound) throw new IllegalArgumentException("Patch index out of bounds: " + op.index);
+
+            if (op.type == INSERT) size++;
+            else if (op.type == REMOVE) size--;
+        }
+
+        for (Operation op : operations)
+            switch (op.type) {
+                case INSERT -> commands.add(op.index, op.command);
+                case REPLACE -> commands.set(op.index, op.command);
+                case REMOVE -> commands.remove(op.index);
+            }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContextPatch patch)) return false;
+        return Objects.equals(operations, patch.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(operations);
+    }
+
+    @Override
+    public String toString() {
+        return "ContextPatch{" + operations.size() + '}';
+    }
+
+    /**
+     * Writes this patch to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, operations.size());
+        for (Operation op : operations) {
+            WireCodec.writeVarInt(buf, op.type);
+            WireCodec.writeVarInt(buf, op.index);
+            if (op.command != null) op.command.writeTo(buf);
+        }
+    }
+
+    /**
+     * Reads a patch from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the patch read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static ContextPatch readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int size = WireCodec.readVarInt(buf);
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid operation count: " + size);
+
+        ContextPatch patch = new ContextPatch();
+        for (int i = 0; i < size; i++) {
+            int type = WireCodec.readVarInt(buf);
+            if (type < INSERT || type > REMOVE) throw new IllegalArgumentException("Unknown patch operation: " + type);
+
+            int index = WireCodec.readVarInt(buf);
+            DrawingContext.Command command = type == REMOVE ? null : DrawingContext.Command.readFrom(buf);
+            patch.operations.add(new Operation(type, index, command));
+        }
+
+        return patch;
+    }
+
+    /**
+     * Creates a patch that turns one list of commands into another. Only commands that differ are sent, after
+     * skipping the commands both lists start and end with.
+     * @param from the commands already sent
+     * @param to the new commands
+     * @return the patch
+     * @throws IllegalArgumentException if either context is null, or a changed command is not a static {@link DrawingContext.Command}
+     */
+    @NotNull
+    public static ContextPatch diff(@NotNull DrawingContext from, @NotNull DrawingContext to) throws IllegalArgumentException {
+        if (from == null) throw new IllegalArgumentException("From context cannot be null");
+        if (to == null) throw new IllegalArgumentException("To context cannot be null");
+
+        List<Function<GraphicsContext, DrawingContext.Command>> a = from.getCommands();
+        List<Function<GraphicsContext, DrawingContext.Command>> b = to.getCommands();
+
+        int start = 0;
+        while (start < a.size() && start < b.size() && a.get(start).equals(b.get(start))) start++;
+
+        int endA = a.size(), endB = b.size();
+        while (endA > start && endB > start && a.get(endA - 1).equals(b.get(endB - 1))) {
+            endA--;
+            endB--;
+        }
+
+        Builder builder = builder();
+        int common = Math.min(endA - start, endB - start);
+        for (int i = 0; i < common; i++)
+            builder.replace(start + i, command(b.get(start + i)));
+
+        for (int i = start + common; i < endB; i++)
+            builder.insert(i, command(b.get(i)));
+
+        for (int i = start + common; i < endA; i++)
+            builder.remove(start + common);
+
+        return builder.build();
+    }
+
+    private static DrawingContext.Command command(Function<GraphicsContext, DrawingContext.Command> function) {
+        if (!(function instanceof DrawingContext.Command command)) throw new IllegalArgumentException("Only static commands can be patched");
+        return command;
+    }
+
+    /**
+     * Creates a new builder for a patch.
+     * @return Patch Builder
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Represents a single operation in a {@link ContextPatch}.
+     */
+    public static final class Operation implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = -1838420597218412066L;
+
+        private final int type;
+        private final int index;
+        private final DrawingContext.Command command;
+
+        private Operation(int type, int index, DrawingContext.Command command) {
+            this.type = type;
+            this.index = index;
+            this.command = command;
+        }
+
+        /**
+         * Gets the type of this operation.
+         * @return {@link #INSERT}, {@link #REPLACE} or {@link #REMOVE}
+         */
+        public int getType() {
+            return type;
+        }
+
+        /**
+         * Gets the index of the command this operation affects.
+         * @return Command Index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the command inserted or replaced by this operation.
+         * @return Command, or null if this operation is a removal
+         */
+        public DrawingContext.Command getCommand() {
+            return command;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Operation op)) return false;
+            return type == op.type && index == op.index && Objects.equals(command, op.command);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, index, command);
+        }
+
+    }
+
+    /**
+     * Represents a builder for a {@link ContextPatch}.
+     */
+    public static final class Builder {
+        final List<Operation> operations = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Inserts a command at an index.
+         * @param index the index to insert the command at
+         * @param command the command to insert
+         * @return this builder, for chaining
+         * @throws IllegalArgumentException if the index is negative or the command is null
+         */
+        @NotNull
+        public Builder insert(int index, @NotNull DrawingContext.Command command) throws IllegalArgumentException {
+            if (index < 0) throw new IllegalArgumentException("Index cannot be negative");
+            if (command == null) throw new IllegalArgumentException("Command cannot be null");
+
+            operations.add(new Operation(INSERT, index, command));
+            return this;
+        }
+
+        /**
+         * Replaces the command at an index.
+         * @param index the index of the command to replace
+         * @param command the new command
+         * @return this builder, for chaining
+         * @throws IllegalArgumentException if the index is negative or the command is null
+         */
+        @NotNull
+        public Builder replace(int index, @NotNull DrawingContext.Command command) throws IllegalArgumentException {
+            if (index < 0) throw new IllegalArgumentException("Index cannot be negative");
+            if (command == null) throw new IllegalArgumentException("Command cannot be null");
+
+            operations.add(new Operation(REPLACE, index, command));
+            return this;
+        }
+
+        /**
+         * Removes the command at an index.
+         * @param index the index of the command to remove
+         * @return this builder, for chaining
+         * @throws IllegalArgumentException if the index is negative
+         */
+        @NotNull
+        public Builder remove(int index) throws IllegalArgumentException {
+            if (index < 0) throw new IllegalArgumentException("Index cannot be negative");
+
+            operations.add(new Operation(REMOVE, index, null));
+            return this;
+        }
+
+        /**
+         * Builds the patch.
+         * @return Context Patch
+         */
+        @NotNull
+        public ContextPatch build() {
+            ContextPatch patch = new ContextPatch();
+            patch.operations.addAll(operations);
+            return patch;
+        }
+    }
+
+}
@@ -1,17 +1,21 @@
 package xyz.gmitch215.socketmc.util.render;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.joml.Matrix3f;
 import org.joml.Matrix4f;
 import org.joml.Quaternionf;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.screen.util.Sprites;
 import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.NBTTag;
 import xyz.gmitch215.socketmc.util.Paramaterized;
 import xyz.gmitch215.socketmc.util.SerializableConsumer;
 import xyz.gmitch215.socketmc.util.math.Axis;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
 import xyz.gmitch215.socketmc.util.render.text.Text;
 
 import java.awt.*;
@@ -20,12 +24,16 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
  * <p>Represents the raw graphics context used to display graphics on the screen.</p>
  * <p>This allows you to also collect the context of the current screen, as specified in {@link GraphicsContext}.
  * The {@link Function} interfaces you specify <strong>must</strong> be serializable and cannot call anything external.</p>
+ * <p>Commands that depend on the screen, such as following the mouse or anchoring to an edge, should prefer
+ * {@link Expression} parameters over functions. Expressions are sent as data and evaluated without any serialized
+ * code, while commands without them are drawn as-is.</p>
  */
 public final class DrawingContext implements Serializable, Iterable<Function<GraphicsContext, DrawingContext.Command>>, Cloneable {
 
@@ -138,9 +146,15 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
      */
     public static final int MODIFIER_APPLY_NORMAL = 5;
 
+    /**
+     * Only draws an element while an {@link Expression} condition is true.
+     */
+    public static final int MODIFIER_VISIBLE_IF = 6;
+
     //</editor-fold>
 
     private boolean locked = false;
+    private Identifier id;
     private final List<Function<GraphicsContext, Command>> commands = new ArrayList<>();
 
     private DrawingContext(Collection<Function<GraphicsContext, Command>> commands) {
@@ -149,6 +163,8 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
 
     /**
      * Gets an immutable copy of the commands in this DrawingContext, with the current {@link GraphicsContext} information.
+     * <p>Commands added with {@link #addCommand(Command)} are returned as the {@link Command} itself, rather than a
+     * function wrapping it.</p>
      * @return DrawingContext Commands
      */
     @NotNull
@@ -158,12 +174,13 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
 
     /**
      * Adds a command to the DrawingContext.
+     * <p>The command is stored as-is, since a {@link Command} is a function returning itself. This keeps it
+     * written in the native wire format instead of serialized as a lambda.</p>
      * @param command the command to add
      * @throws IllegalArgumentException if the command is null
      */
     public void addCommand(@NotNull Command command) throws IllegalArgumentException {
-        checkLocked();
-        addCommand(ctx -> command);
+        addCommand((Function<GraphicsContext, Command>) command);
     }
 
     /**
@@ -178,14 +195,14 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
     }
 
     /**
-     * Adds a command to the DrawingContext at the specified index.
+     * Adds a command to the DrawingContext at the specified index. The command is stored as-is, like
+     * {@link #addCommand(Command)}.
      * @param index the index to add the command at
      * @param command the command to add
      * @throws IllegalArgumentException if the command is null
      */
     public void addCommand(int index, @NotNull Command command) throws IllegalArgumentException {
-        checkLocked();
-        addCommand(index, ctx -> command);
+        addCommand(index, (Function<GraphicsContext, Command>) command);
     }
 
     /**
@@ -217,6 +234,63 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
         commands.clear();
     }
 
+    /**
+     * Gets the identifier this DrawingContext is kept under on the client, allowing it to be changed later with a
+     * {@link ContextPatch}.
+     * @return the identifier, or null if this DrawingContext cannot be patched
+     */
+    @Nullable
+    public Identifier getId() {
+        return id;
+    }
+
+    /**
+     * Sets the identifier this DrawingContext is kept under on the client. Once sent, its commands can be changed
+     * with {@link xyz.gmitch215.socketmc.instruction.Instruction#patchContext(Identifier, ContextPatch)} instead of
+     * sending the whole context again.
+     * @param id the identifier, or null to not keep this DrawingContext
+     */
+    public void setId(@Nullable Identifier id) {
+        checkLocked();
+        this.id = id;
+    }
+
+    /**
+     * Applies a patch to the commands of this DrawingContext, even if it is locked.
+     * @param patch the patch to apply
+     * @throws IllegalArgumentException if the patch is null or an index in it is out of bounds
+     */
+    @ApiStatus.Internal
+    public void patch(@NotNull ContextPatch patch) throws IllegalArgumentException {
+        if (patch == null) throw new IllegalArgumentException("Patch cannot be null");
+        patch.applyTo(commands);
+    }
+
+    /**
+     * Creates a copy of this DrawingContext with each of its commands replaced, keeping its identifier and lock.
+     * @param mapper the function to replace each command with
+     * @return the new DrawingContext, or this DrawingContext if no command was replaced
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public DrawingContext mapCommands(@NotNull UnaryOperator<Function<GraphicsContext, Command>> mapper) {
+        List<Function<GraphicsContext, Command>> mapped = new ArrayList<>(commands.size());
+        boolean changed = false;
+
+        for (Function<GraphicsContext, Command> command : commands) {
+            Function<GraphicsContext, Command> value = mapper.apply(command);
+            changed |= value != command;
+            mapped.add(value);
+        }
+
+        if (!changed) return this;
+
+        DrawingContext context = new DrawingContext(mapped);
+        context.id = id;
+        context.locked = locked;
+        return context;
+    }
+
     /**
      * Checks if the DrawingContext is locked. If true, this DrawingContext cannot be modified.
      * @return true if the DrawingContext is locked, false otherwise
@@ -241,7 +315,9 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
     @NotNull
     @Override
     public DrawingContext clone() {
-        return new DrawingContext(commands);
+        DrawingContext context = new DrawingContext(commands);
+        context.id = id;
+        return context;
     }
 
     @NotNull
@@ -267,6 +343,58 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
         return "DrawingContext{" + commands.size() + '}';
     }
 
+    /**
+     * <p>Writes this DrawingContext to a buffer in the binary wire format.</p>
+     * <p>Static {@link Command}s are written natively, while dynamic commands fall back to Java Serialization.</p>
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        buf.writeBoolean(locked);
+        buf.writeBoolean(id != null);
+        if (id != null) id.writeTo(buf);
+
+        WireCodec.writeVarInt(buf, commands.size());
+
+        for (Function<GraphicsContext, Command> command : commands)
+            if (command instanceof Command c) {
+                buf.writeBoolean(true);
+                c.writeTo(buf);
+            } else {
+                buf.writeBoolean(false);
+                WireCodec.writeByteArray(buf, WireCodec.serialize(command));
+            }
+    }
+
+    /**
+     * Reads a DrawingContext from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the DrawingContext read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static DrawingContext readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        boolean locked = buf.readBoolean();
+        Identifier id = buf.readBoolean() ? Identifier.readFrom(buf) : null;
+
+        int size = WireCodec.readVarInt(buf);
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid command count: " + size);
+
+        List<Function<GraphicsContext, Command>> commands = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            if (buf.readBoolean())
+                commands.add(Command.readFrom(buf));
+            else
+                commands.add((Function<GraphicsContext, Command>) WireCodec.deserialize(WireCodec.readByteArray(buf)));
+
+        DrawingContext context = new DrawingContext(commands);
+        context.id = id;
+        context.locked = locked;
+        return context;
+    }
+
     // Constructors
 
     /**
@@ -337,9 +465,25 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
     }
 
     /**
-     * Represents a command in a DrawingContext.
+     * Resolves a command in this context for the current frame.
+     * @param command the command, or function creating the command
+     * @param context the graphics context
+     * @return the command to draw, or null if it is hidden
+     * @see Command#resolve(GraphicsContext)
+     */
+    @ApiStatus.Internal
+    @Nullable
+    public static Command resolve(@NotNull Function<GraphicsContext, Command> command, @NotNull GraphicsContext context) {
+        // Commands are resolved directly, leaving only functions to be called
+        Command resolved = command instanceof Command c ? c : command.apply(context);
+        return resolved == null ? null : resolved.resolve(context);
+    }
+
+    /**
+     * Represents a command in a DrawingContext. A command is also a {@link Function} that returns itself, which allows it to be
+     * added to a DrawingContext directly as a static command.
      */
-    public static final class Command implements Serializable, Paramaterized  {
+    public static final class Command implements Serializable, Paramaterized, Function<GraphicsContext, Command> {
 
         @Serial
         private static final long serialVersionUID = 1202929033750152256L;
@@ -832,6 +976,71 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
             return new Command(DRAW_STRING, Type.DEFAULT, modifiers, List.of(x, y, text.toJSON(), color.getRGB(), dropShadow));
         }
 
+        /**
+         * Draws a centered string with placeholders, filled in by the client every frame.
+         * @param x the x-coordinate
+         * @param y the y-coordinate
+         * @param text the text to draw
+         * @return A DrawingContext Command
+         * @throws IllegalArgumentException if the text is null, or coordinates are invalid
+         */
+        @NotNull
+        public static Command drawCenteredString(int x, int y, @NotNull DynamicText text) throws IllegalArgumentException {
+            return drawCenteredString(x, y, text, Color.WHITE, null);
+        }
+
+        /**
+         * Draws a centered string with placeholders, filled in by the client every frame.
+         * @param x the x-coordinate
+         * @param y the y-coordinate
+         * @param text the text to draw
+         * @param color the color of the text
+         * @param modifiers the modifiers to apply to the command
+         * @return A DrawingContext Command
+         * @throws IllegalArgumentException if the text or color are null, or coordinates are invalid
+         */
+        @NotNull
+        public static Command drawCenteredString(int x, int y, @NotNull DynamicText text, @NotNull Color color, @Nullable Collection<Modifier> modifiers) throws IllegalArgumentException {
+            if (text == null) throw new IllegalArgumentException("Text cannot be null");
+            if (color == null) throw new IllegalArgumentException("Color cannot be null");
+            if (x < 0 || y < 0) throw new IllegalArgumentException("Coordinates cannot be negative");
+
+            return new Command(DRAW_CENTERED_STRING, Type.DEFAULT, modifiers, List.of(x, y, text, color.getRGB()));
+        }
+
+        /**
+         * Draws a string with placeholders, filled in by the client every frame.
+         * @param x the x-coordinate
+         * @param y the y-coordinate
+         * @param text the text to draw
+         * @return A DrawingContext Command
+         * @throws IllegalArgumentException if the text is null, or coordinates are invalid
+         */
+        @NotNull
+        public static Command drawString(int x, int y, @NotNull DynamicText text) throws IllegalArgumentException {
+            return drawString(x, y, text, Color.WHITE, true, null);
+        }
+
+        /**
+         * Draws a string with placeholders, filled in by the client every frame.
+         * @param x the x-coordinate
+         * @param y the y-coordinate
+         * @param text the text to draw
+         * @param color the color of the text
+         * @param dropShadow whether to draw a drop shadow
+         * @param modifiers the modifiers to apply to the command
+         * @return A DrawingContext Command
+         * @throws IllegalArgumentException if the text or color are null, or coordinates are invalid
+         */
+        @NotNull
+        public static Command drawString(int x, int y, @NotNull DynamicText text, @NotNull Color color, boolean dropShadow, @Nullable Collection<Modifier> modifiers) throws IllegalArgumentException {
+            if (text == null) throw new IllegalArgumentException("Text cannot be null");
+            if (color == null) throw new IllegalArgumentException("Color cannot be null");
+            if (x < 0 || y < 0) throw new IllegalArgumentException("Coordinates cannot be negative");
+
+            return new Command(DRAW_STRING, Type.DEFAULT, modifiers, List.of(x, y, text, color.getRGB(), dropShadow));
+        }
+
         /**
          * Draws a word-wrapped string.
          * @param x the x-coordinate
@@ -1209,6 +1418,8 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
         private final List<Object> parameters = new ArrayList<>();
         private final List<Modifier> modifiers = new ArrayList<>();
 
+        private transient Boolean dynamic;
+
         private Command(int id, Type type, Collection<Modifier> modifiers, Collection<Object> parameters) {
             this.id = id;
             this.type = type;
@@ -1250,6 +1461,116 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
             return List.copyOf(parameters);
         }
 
+        /**
+         * Returns this command, as it is static and does not depend on the {@link GraphicsContext}.
+         * @param context the graphics context
+         * @return this command
+         */
+        @Override
+        public Command apply(GraphicsContext context) {
+            return this;
+        }
+
+        /**
+         * Checks whether this command is static, meaning none of its parameters or modifiers contain an {@link Expression}.
+         * @return true if this command is drawn the same way on every frame
+         */
+        public boolean isStatic() {
+            if (dynamic == null) {
+                boolean found = parameters.stream().anyMatch(Expression.class::isInstance);
+                for (Modifier modifier : modifiers)
+                    found |= modifier.parameters.stream().anyMatch(Expression.class::isInstance);
+
+                dynamic = found;
+            }
+
+            return !dynamic;
+        }
+
+        /**
+         * Resolves this command for the current frame, evaluating each {@link Expression} in its parameters and modifiers.
+         * @param context the graphics context
+         * @return this command if it is {@linkplain #isStatic() static}, a resolved copy, or null if a {@link Modifier#visibleIf(Expression)} condition is false
+         */
+        @ApiStatus.Internal
+        @Nullable
+        public Command resolve(@NotNull GraphicsContext context) {
+            if (isStatic()) return this;
+
+            List<Modifier> resolved = new ArrayList<>(modifiers.size());
+            for (Modifier modifier : modifiers) {
+                if (modifier.id == MODIFIER_VISIBLE_IF) {
+                    if (modifier.firstParameter(Expression.class).evaluate(context) == 0) return null;
+                    continue;
+                }
+
+                resolved.add(modifier.mapParameters(p -> p instanceof Expression e ? e.evaluate(context) : p));
+            }
+
+            List<Object> mapped = new ArrayList<>(parameters.size());
+            for (Object parameter : parameters)
+                mapped.add(parameter instanceof Expression e ? e.evaluate(context) : parameter);
+
+            return new Command(id, type, resolved, mapped);
+        }
+
+        /**
+         * Creates a copy of this command with each of its parameters replaced, keeping its type and modifiers.
+         * @param mapper the function to replace each parameter with
+         * @return the new command, or this command if no parameter was replaced
+         */
+        @ApiStatus.Internal
+        @NotNull
+        public Command mapParameters(@NotNull UnaryOperator<Object> mapper) {
+            List<Object> mapped = new ArrayList<>(parameters.size());
+            boolean changed = false;
+
+            for (Object parameter : parameters) {
+                Object value = mapper.apply(parameter);
+                changed |= value != parameter;
+                mapped.add(value);
+            }
+
+            return changed ? new Command(id, type, modifiers, mapped) : this;
+        }
+
+        /**
+         * Writes this command to a buffer in the binary wire format.
+         * @param buf the buffer to write to
+         */
+        @ApiStatus.Internal
+        public void writeTo(@NotNull ByteBuf buf) {
+            WireCodec.writeVarInt(buf, id);
+            WireCodec.writeVarInt(buf, type.ordinal());
+
+            WireCodec.writeVarInt(buf, modifiers.size());
+            for (Modifier modifier : modifiers) modifier.writeTo(buf);
+
+            WireCodec.writeCollection(buf, parameters);
+        }
+
+        /**
+         * Reads a command from a buffer in the binary wire format.
+         * @param buf the buffer to read from
+         * @return the command read
+         * @throws IllegalArgumentException if the buffer is malformed
+         */
+        @ApiStatus.Internal
+        @NotNull
+        public static Command readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+            int id = WireCodec.readVarInt(buf);
+            int type = WireCodec.readVarInt(buf);
+            if (type < 0 || type >= Type.values().length) throw new IllegalArgumentException("Unknown command type: " + type);
+
+            int size = WireCodec.readVarInt(buf);
+            if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid modifier count: " + size);
+
+            List<Modifier> modifiers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) modifiers.add(Modifier.readFrom(buf));
+
+            return new Command(id, Type.values()[type], modifiers, WireCodec.readList(buf));
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -1393,6 +1714,33 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
             return new Modifier(MODIFIER_APPLY_NORMAL, List.of(consumer));
         }
 
+        /**
+         * Only draws the element while a condition is true, such as while the mouse is over an area.
+         * @param condition the condition, which is true when it is not {@code 0}
+         * @return A {@link Command} Modifier
+         * @throws IllegalArgumentException if the condition is null
+         */
+        @NotNull
+        public static Modifier visibleIf(@NotNull Expression condition) throws IllegalArgumentException {
+            if (condition == null) throw new IllegalArgumentException("Condition cannot be null");
+
+            return new Modifier(MODIFIER_VISIBLE_IF, List.of(condition));
+        }
+
+        /**
+         * Translates the element across the XY axis by expressions, such as to follow the mouse.
+         * @param x the x-axis translation
+         * @param y the y-axis translation
+         * @return A {@link Command} Modifier
+         * @throws IllegalArgumentException if either expression is null
+         */
+        @NotNull
+        public static Modifier translate(@NotNull Expression x, @NotNull Expression y) throws IllegalArgumentException {
+            if (x == null || y == null) throw new IllegalArgumentException("Expressions cannot be null");
+
+            return new Modifier(MODIFIER_TRANSLATE, List.of(x, y, 0F));
+        }
+
         //<editor-fold desc="Implementation" defaultstate="collapsed">
 
         private final int id;
@@ -1418,6 +1766,48 @@ public final class DrawingContext implements Serializable, Iterable<Function<Gra
             return List.copyOf(parameters);
         }
 
+        /**
+         * Creates a copy of this modifier with each of its parameters replaced.
+         * @param mapper the function to replace each parameter with
+         * @return the new modifier, or this modifier if no parameter was replaced
+         */
+        @ApiStatus.Internal
+        @NotNull
+        public Modifier mapParameters(@NotNull UnaryOperator<Object> mapper) {
+            List<Object> mapped = new ArrayList<>(parameters.size());
+            boolean changed = false;
+
+            for (Object parameter : parameters) {
+                Object value = mapper.apply(parameter);
+                changed |= value != parameter;
+                mapped.add(value);
+            }
+
+            return changed ? new Modifier(id, mapped) : this;
+        }
+
+        /**
+         * Writes this modifier to a buffer in the binary wire format.
+         * @param buf the buffer to write to
+         */
+        @ApiStatus.Internal
+        public void writeTo(@NotNull ByteBuf buf) {
+            WireCodec.writeVarInt(buf, id);
+            WireCodec.writeCollection(buf, parameters);
+        }
+
+        /**
+         * Reads a modifier from a buffer in the binary wire format.
+         * @param buf the buffer to read from
+         * @return the modifier read
+         * @throws IllegalArgumentException if the buffer is malformed
+         */
+        @ApiStatus.Internal
+        @NotNull
+        public static Modifier readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+            return new Modifier(WireCodec.readVarInt(buf), WireCodec.readList(buf));
+        }
+
         //</editor-fold>
     }
 }
@@ -0,0 +1,117 @@
+package xyz.gmitch215.socketmc.util.render;
+
+/**
+ * Represents how an {@link Animation} moves between two keyframes.
+ * <br>
+ * Easings are sent by their ordinal, so new easings must only be appended.
+ */
+public enum Easing {
+
+    /**
+     * Moves at a constant speed.
+     */
+    LINEAR,
+
+    /**
+     * Stays at the previous value until the keyframe is reached.
+     */
+    STEP,
+
+    /**
+     * Starts slow and speeds up, with a quadratic curve.
+     */
+    EASE_IN_QUAD,
+
+    /**
+     * Starts fast and slows down, with a quadratic curve.
+     */
+    EASE_OUT_QUAD,
+
+    /**
+     * Starts and ends slow, with a quadratic curve.
+     */
+    EASE_IN_OUT_QUAD,
+
+    /**
+     * Starts slow and speeds up, with a cubic curve.
+     */
+    EASE_IN_CUBIC,
+
+    /**
+     * Starts fast and slows down, with a cubic curve.
+     */
+    EASE_OUT_CUBIC,
+
+    /**
+     * Starts and ends slow, with a cubic curve.
+     */
+    EASE_IN_OUT_CUBIC,
+
+    /**
+     * Starts slow and speeds up, with a sine curve.
+     */
+    EASE_IN_SINE,
+
+    /**
+     * Starts fast and slows down, with a sine curve.
+     */
+    EASE_OUT_SINE,
+
+    /**
+     * Starts and ends slow, with a sine curve.
+     */
+    EASE_IN_OUT_SINE,
+
+    /**
+     * Overshoots the keyframe slightly before settling on it.
+     */
+    EASE_OUT_BACK,
+
+    /**
+     * Bounces against the keyframe before settling on it.
+     */
+    EASE_OUT_BOUNCE
+
+    ;
+
+    /**
+     * Applies this easing to the progress between two keyframes.
+     * @param t the linear progress, from {@code 0} to {@code 1}
+     * @return the eased progress
+     */
+    public float apply(float t) {
+        return switch (this) {
+            case LINEAR -> t;
+            case STEP -> t < 1 ? 0 : 1;
+            case EASE_IN_QUAD -> t * t;
+            case EASE_OUT_QUAD -> 1 - (1 - t) * (1 - t);
+            case EASE_IN_OUT_QUAD -> t < 0.5F ? 2 * t * t : 1 - (-2 * t + 2) * (-2 * t + 2) / 2;
+            case EASE_IN_CUBIC -> t * t * t;
+            case EASE_OUT_CUBIC -> 1 - (1 - t) * (1 - t) * (1 - t);
+            case EASE_IN_OUT_CUBIC -> t < 0.5F ? 4 * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 3) / 2;
+            case EASE_IN_SINE -> 1 - (float) Math.cos(t * Math.PI / 2);
+            case EASE_OUT_SINE -> (float) Math.sin(t * Math.PI / 2);
+            case EASE_IN_OUT_SINE -> -((float) Math.cos(Math.PI * t) - 1) / 2;
+            case EASE_OUT_BACK -> {
+                float c1 = 1.70158F, c3 = c1 + 1;
+                yield 1 + c3 * (t - 1) * (t - 1) * (t - 1) + c1 * (t - 1) * (t - 1);
+            }
+            case EASE_OUT_BOUNCE -> {
+                float n = 7.5625F, d = 2.75F;
+                if (t < 1 / d) yield n * t * t;
+                if (t < 2 / d) {
+                    t -= 1.5F / d;
+                    yield n * t * t + 0.75F;
+                }
+                if (t < 2.5F / d) {
+                    t -= 2.25F / d;
+                    yield n * t * t + 0.9375F;
+                }
+
+                t -= 2.625F / d;
+                yield n * t * t + 0.984375F;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,473 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Represents a number calculated on the client from its {@link GraphicsContext} while drawing, such as a position
+ * relative to the mouse or anchored to the edge of the screen.</p>
+ * <p>Expressions are sent as data instead of serialized code, and can be used in place of any numeric parameter of a
+ * {@link DrawingContext.Command} or {@link DrawingContext.Modifier}. Conditions are expressions that are {@code 1}
+ * when true and {@code 0} when false, and can hide a command with {@link DrawingContext.Modifier#visibleIf(Expression)}.</p>
+ */
+public final class Expression implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -8046723197845263027L;
+
+    /**
+     * The maximum depth of an expression read from the network.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    private static final int CONSTANT = 0;
+    private static final int VARIABLE = 1;
+    private static final int ADD = 2;
+    private static final int SUBTRACT = 3;
+    private static final int MULTIPLY = 4;
+    private static final int DIVIDE = 5;
+    private static final int MIN = 6;
+    private static final int MAX = 7;
+    private static final int GREATER = 8;
+    private static final int LESS = 9;
+    private static final int AND = 10;
+    private static final int OR = 11;
+    private static final int NOT = 12;
+    private static final int WHEN = 13;
+
+    private final int op;
+    private final double value;
+    private final Variable variable;
+    private final Expression[] operands;
+
+    private transient ToDoubleFunction<GraphicsContext> compiled;
+
+    private Expression(int op, double value, Variable variable, Expression... operands) {
+        this.op = op;
+        this.value = value;
+        this.variable = variable;
+        this.operands = operands;
+    }
+
+    private static Expression of(int op, Expression... operands) {
+        for (Expression operand : operands)
+            if (operand == null) throw new IllegalArgumentException("Expression cannot be null");
+
+        return new Expression(op, 0, null, operands);
+    }
+
+    /**
+     * Evaluates this expression.
+     * @param context the graphics context to read variables from
+     * @return Expression Value
+     */
+    public double evaluate(@NotNull GraphicsContext context) {
+        if (compiled == null) compiled = compile();
+        return compiled.applyAsDouble(context);
+    }
+
+    /**
+     * Checks whether this expression is a constant, without any variables.
+     * @return true if this expression always has the same value
+     */
+    public boolean isConstant() {
+        if (op == VARIABLE) return false;
+        for (Expression operand : operands)
+            if (!operand.isConstant()) return false;
+
+        return true;
+    }
+
+    private ToDoubleFunction<GraphicsContext> compile() {
+        // Constant parts are folded, so only the variables are read on each frame
+        if (op != CONSTANT && isConstant()) {
+            double folded = compile(op, value, variable, operands).applyAsDouble(null);
+            return c -> folded;
+        }
+
+        return compile(op, value, variable, operands);
+    }
+
+    private static ToDoubleFunction<GraphicsContext> compile(int op, double value, Variable variable, Expression[] operands) {
+        ToDoubleFunction<GraphicsContext>[] f = new ToDoubleFunction[operands.length];
+        for (int i = 0; i < operands.length; i++) f[i] = operands[i].compile();
+
+        return switch (op) {
+            case CONSTANT -> c -> value;
+            case VARIABLE -> variable::get;
+            case ADD -> c -> f[0].applyAsDouble(c) + f[1].applyAsDouble(c);
+            case SUBTRACT -> c -> f[0].applyAsDouble(c) - f[1].applyAsDouble(c);
+            case MULTIPLY -> c -> f[0].applyAsDouble(c) * f[1].applyAsDouble(c);
+            case DIVIDE -> c -> {
+                double divisor = f[1].applyAsDouble(c);
+                return divisor == 0 ? 0 : f[0].applyAsDouble(c) / divisor;
+            };
+            case MIN -> c -> Math.min(f[0].applyAsDouble(c), f[1].applyAsDouble(c));
+            case MAX -> c -> Math.max(f[0].applyAsDouble(c), f[1].applyAsDouble(c));
+            case GREATER -> c -> f[0].applyAsDouble(c) > f[1].applyAsDouble(c) ? 1 : 0;
+            case LESS -> c -> f[0].applyAsDouble(c) < f[1].applyAsDouble(c) ? 1 : 0;
+            case AND -> c -> f[0].applyAsDouble(c) != 0 && f[1].applyAsDouble(c) != 0 ? 1 : 0;
+            case OR -> c -> f[0].applyAsDouble(c) != 0 || f[1].applyAsDouble(c) != 0 ? 1 : 0;
+            case NOT -> c -> f[0].applyAsDouble(c) == 0 ? 1 : 0;
+            case WHEN -> c -> f[0].applyAsDouble(c) != 0 ? f[1].applyAsDouble(c) : f[2].applyAsDouble(c);
+            default -> throw new IllegalStateException("Unknown expression: " + op);
+        };
+    }
+
+    // Operations
+
+    /**
+     * Adds another expression to this one.
+     * @param other the expression to add
+     * @return the new expression
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression plus(@NotNull Expression other) throws IllegalArgumentException {
+        return of(ADD, this, other);
+    }
+
+    /**
+     * Adds a number to this expression.
+     * @param other the number to add
+     * @return the new expression
+     */
+    @NotNull
+    public Expression plus(double other) {
+        return plus(constant(other));
+    }
+
+    /**
+     * Subtracts another expression from this one.
+     * @param other the expression to subtract
+     * @return the new expression
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression minus(@NotNull Expression other) throws IllegalArgumentException {
+        return of(SUBTRACT, this, other);
+    }
+
+    /**
+     * Subtracts a number from this expression.
+     * @param other the number to subtract
+     * @return the new expression
+     */
+    @NotNull
+    public Expression minus(double other) {
+        return minus(constant(other));
+    }
+
+    /**
+     * Multiplies this expression by another.
+     * @param other the expression to multiply by
+     * @return the new expression
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression times(@NotNull Expression other) throws IllegalArgumentException {
+        return of(MULTIPLY, this, other);
+    }
+
+    /**
+     * Multiplies this expression by a number.
+     * @param other the number to multiply by
+     * @return the new expression
+     */
+    @NotNull
+    public Expression times(double other) {
+        return times(constant(other));
+    }
+
+    /**
+     * Divides this expression by another. Dividing by zero results in zero.
+     * @param other the expression to divide by
+     * @return the new expression
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression div(@NotNull Expression other) throws IllegalArgumentException {
+        return of(DIVIDE, this, other);
+    }
+
+    /**
+     * Divides this expression by a number. Dividing by zero results in zero.
+     * @param other the number to divide by
+     * @return the new expression
+     */
+    @NotNull
+    public Expression div(double other) {
+        return div(constant(other));
+    }
+
+    /**
+     * Takes the smaller of this expression and another.
+     * @param other the other expression
+     * @return the new expression
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression min(@NotNull Expression other) throws IllegalArgumentException {
+        return of(MIN, this, other);
+    }
+
+    /**
+     * Takes the larger of this expression and another.
+     * @param other the other expression
+     * @return the new expression
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression max(@NotNull Expression other) throws IllegalArgumentException {
+        return of(MAX, this, other);
+    }
+
+    /**
+     * Creates a condition that is true when this expression is greater than another.
+     * @param other the other expression
+     * @return the new condition
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression greaterThan(@NotNull Expression other) throws IllegalArgumentException {
+        return of(GREATER, this, other);
+    }
+
+    /**
+     * Creates a condition that is true when this expression is greater than a number.
+     * @param other the number
+     * @return the new condition
+     */
+    @NotNull
+    public Expression greaterThan(double other) {
+        return greaterThan(constant(other));
+    }
+
+    /**
+     * Creates a condition that is true when this expression is less than another.
+     * @param other the other expression
+     * @return the new condition
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression lessThan(@NotNull Expression other) throws IllegalArgumentException {
+        return of(LESS, this, other);
+    }
+
+    /**
+     * Creates a condition that is true when this expression is less than a number.
+     * @param other the number
+     * @return the new condition
+     */
+    @NotNull
+    public Expression lessThan(double other) {
+        return lessThan(constant(other));
+    }
+
+    /**
+     * Creates a condition that is true when both this condition and another are true.
+     * @param other the other condition
+     * @return the new condition
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression and(@NotNull Expression other) throws IllegalArgumentException {
+        return of(AND, this, other);
+    }
+
+    /**
+     * Creates a condition that is true when either this condition or another is true.
+     * @param other the other condition
+     * @return the new condition
+     * @throws IllegalArgumentException if the expression is null
+     */
+    @NotNull
+    public Expression or(@NotNull Expression other) throws IllegalArgumentException {
+        return of(OR, this, other);
+    }
+
+    /**
+     * Creates a condition that is true when this condition is false.
+     * @return the new condition
+     */
+    @NotNull
+    public Expression not() {
+        return of(NOT, this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Expression that)) return false;
+        return op == that.op && Double.compare(value, that.value) == 0 && variable == that.variable && Arrays.equals(operands, that.operands);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(op, value, variable) + Arrays.hashCode(operands);
+    }
+
+    @Override
+    public String toString() {
+        return switch (op) {
+            case CONSTANT -> Double.toString(value);
+            case VARIABLE -> variable.name();
+            default -> "Expression{" + op + ", " + Arrays.toString(operands) + '}';
+        };
+    }
+
+    /**
+     * Writes this expression to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        buf.writeByte(op);
+        switch (op) {
+            case CONSTANT -> buf.writeDouble(value);
+            case VARIABLE -> buf.writeByte(variable.ordinal());
+            default -> {
+                for (Expression operand : operands) operand.writeTo(buf);
+            }
+        }
+    }
+
+    /**
+     * Reads an expression from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the expression read
+     * @throws IllegalArgumentException if the buffer is malformed, or the expression is deeper than {@link #MAX_DEPTH}
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Expression readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        return readFrom(buf, 0);
+    }
+
+    private static Expression readFrom(ByteBuf buf, int depth) {
+        if (depth > MAX_DEPTH) throw new IllegalArgumentException("Expression is too deep");
+
+        int op = buf.readUnsignedByte();
+        return switch (op) {
+            case CONSTANT -> constant(buf.readDouble());
+            case VARIABLE -> {
+                int variable = buf.readUnsignedByte();
+                if (variable >= Variable.values().length) throw new IllegalArgumentException("Unknown variable: " + variable);
+
+                yield variable(Variable.values()[variable]);
+            }
+            case NOT -> of(op, readFrom(buf, depth + 1));
+            case WHEN -> of(op, readFrom(buf, depth + 1), readFrom(buf, depth + 1), readFrom(buf, depth + 1));
+            case ADD, SUBTRACT, MULTIPLY, DIVIDE, MIN, MAX, GREATER, LESS, AND, OR -> of(op, readFrom(buf, depth + 1), readFrom(buf, depth + 1));
+            default -> throw new IllegalArgumentException("Unknown expression: " + op);
+        };
+    }
+
+    // Static Methods
+
+    /**
+     * Creates a constant expression.
+     * @param value the value
+     * @return Constant Expression
+     */
+    @NotNull
+    public static Expression constant(double value) {
+        return new Expression(CONSTANT, value, null);
+    }
+
+    /**
+     * Creates an expression reading a {@link Variable}.
+     * @param variable the variable to read
+     * @return Variable Expression
+     * @throws IllegalArgumentException if the variable is null
+     */
+    @NotNull
+    public static Expression variable(@NotNull Variable variable) throws IllegalArgumentException {
+        if (variable == null) throw new IllegalArgumentException("Variable cannot be null");
+        return new Expression(VARIABLE, 0, variable);
+    }
+
+    /**
+     * Creates an expression reading the X coordinate of the mouse.
+     * @return Mouse X Expression
+     */
+    @NotNull
+    public static Expression mouseX() {
+        return variable(Variable.MOUSE_X);
+    }
+
+    /**
+     * Creates an expression reading the Y coordinate of the mouse.
+     * @return Mouse Y Expression
+     */
+    @NotNull
+    public static Expression mouseY() {
+        return variable(Variable.MOUSE_Y);
+    }
+
+    /**
+     * Creates an expression reading the scaled width of the screen, used to anchor to its right edge.
+     * @return GUI Width Expression
+     */
+    @NotNull
+    public static Expression guiWidth() {
+        return variable(Variable.GUI_WIDTH);
+    }
+
+    /**
+     * Creates an expression reading the scaled height of the screen, used to anchor to its bottom edge.
+     * @return GUI Height Expression
+     */
+    @NotNull
+    public static Expression guiHeight() {
+        return variable(Variable.GUI_HEIGHT);
+    }
+
+    /**
+     * Creates an expression that picks between two others based on a condition.
+     * @param condition the condition
+     * @param then the expression to use when the condition is true
+     * @param otherwise the expression to use when the condition is false
+     * @return Conditional Expression
+     * @throws IllegalArgumentException if any expression is null
+     */
+    @NotNull
+    public static Expression when(@NotNull Expression condition, @NotNull Expression then, @NotNull Expression otherwise) throws IllegalArgumentException {
+        return of(WHEN, condition, then, otherwise);
+    }
+
+    /**
+     * Creates a copy of a drawing command with some of its parameters calculated by expressions.
+     * @param command the command to copy
+     * @param expressions the expressions, by parameter index
+     * @return the dynamic command
+     * @throws IllegalArgumentException if the command or expressions are null, an index is out of bounds, or a replaced parameter is not a number
+     */
+    @NotNull
+    public static DrawingContext.Command bind(@NotNull DrawingContext.Command command, @NotNull Map<Integer, Expression> expressions) throws IllegalArgumentException {
+        if (command == null) throw new IllegalArgumentException("Command cannot be null");
+        if (expressions == null) throw new IllegalArgumentException("Expressions cannot be null");
+
+        for (Map.Entry<Integer, Expression> entry : expressions.entrySet()) {
+            int index = entry.getKey();
+            if (index < 0 || index >= command.getParameters().size()) throw new IllegalArgumentException("Parameter index out of bounds: " + index);
+            if (!(command.getParameters().get(index) instanceof Number)) throw new IllegalArgumentException("Parameter " + index + " is not a number");
+            if (entry.getValue() == null) throw new IllegalArgumentException("Expression cannot be null");
+        }
+
+        int[] index = { 0 };
+        return command.mapParameters(p -> {
+            Expression expression = expressions.get(index[0]++);
+            return expression == null ? p : expression;
+        });
+    }
+
+}
@@ -28,6 +28,18 @@ public interface GraphicsContext {
      */
     int getScreenHeight();
 
+    /**
+     * Gets the current width of the screen, scaled to the GUI.
+     * @return the scaled width
+     */
+    int getGuiWidth();
+
+    /**
+     * Gets the current height of the screen, scaled to the GUI.
+     * @return the scaled height
+     */
+    int getGuiHeight();
+
     /**
      * Gets the current x-coordinate of the mouse relative to Minecraft.
      * @return the x-coordinate
@@ -79,4 +91,22 @@ public interface GraphicsContext {
      */
     boolean isKeyDown(@Nullable Key key);
 
+    /**
+     * Gets the X coordinate of the player in the world.
+     * @return the player's X coordinate, or {@code 0} if not in a world
+     */
+    double getPlayerX();
+
+    /**
+     * Gets the Y coordinate of the player in the world.
+     * @return the player's Y coordinate, or {@code 0} if not in a world
+     */
+    double getPlayerY();
+
+    /**
+     * Gets the Z coordinate of the player in the world.
+     * @return the player's Z coordinate, or {@code 0} if not in a world
+     */
+    double getPlayerZ();
+
 }
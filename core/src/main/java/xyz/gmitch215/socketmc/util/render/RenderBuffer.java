@@ -1,6 +1,9 @@
 package xyz.gmitch215.socketmc.util.render;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.network.WireCodec;
 
 import java.awt.*;
 import java.io.Serial;
@@ -52,6 +55,48 @@ public final class RenderBuffer implements Serializable {
         return vertices.get(vertex);
     }
 
+    /**
+     * Writes this buffer to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeVarInt(buf, mode.ordinal());
+        WireCodec.writeVarInt(buf, vertices.size());
+
+        for (Map.Entry<Vertex, Integer> entry : vertices.entrySet()) {
+            Vertex v = entry.getKey();
+            WireCodec.writeSignedVarInt(buf, v.getX());
+            WireCodec.writeSignedVarInt(buf, v.getY());
+            WireCodec.writeSignedVarInt(buf, v.getZ());
+            buf.writeInt(entry.getValue());
+        }
+    }
+
+    /**
+     * Reads a render buffer from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the render buffer read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static RenderBuffer readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int mode = WireCodec.readVarInt(buf);
+        if (mode < 0 || mode >= DrawingMode.values().length) throw new IllegalArgumentException("Unknown drawing mode: " + mode);
+
+        RenderBuffer buffer = new RenderBuffer(DrawingMode.values()[mode]);
+        int size = WireCodec.readVarInt(buf);
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid vertex count: " + size);
+
+        for (int i = 0; i < size; i++) {
+            Vertex v = new Vertex(WireCodec.readSignedVarInt(buf), WireCodec.readSignedVarInt(buf), WireCodec.readSignedVarInt(buf));
+            buffer.vertices.put(v, buf.readInt());
+        }
+
+        return buffer;
+    }
+
     /**
      * Creats a new builder for a {@link RenderBuffer}.
      * @param mode The drawing mode for the buffer.
@@ -0,0 +1,84 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a value read on the client from its {@link GraphicsContext} while drawing.
+ * <br>
+ * Variables are sent by their ordinal, so new variables must only be appended.
+ */
+public enum Variable {
+
+    /**
+     * The client's frames per second.
+     */
+    FPS,
+
+    /**
+     * The X coordinate of the mouse, in GUI pixels.
+     */
+    MOUSE_X,
+
+    /**
+     * The Y coordinate of the mouse, in GUI pixels.
+     */
+    MOUSE_Y,
+
+    /**
+     * The width of the client's window, in pixels.
+     */
+    SCREEN_WIDTH,
+
+    /**
+     * The height of the client's window, in pixels.
+     */
+    SCREEN_HEIGHT,
+
+    /**
+     * The X coordinate of the player in the world.
+     */
+    PLAYER_X,
+
+    /**
+     * The Y coordinate of the player in the world.
+     */
+    PLAYER_Y,
+
+    /**
+     * The Z coordinate of the player in the world.
+     */
+    PLAYER_Z,
+
+    /**
+     * The width of the client's window, in GUI pixels.
+     */
+    GUI_WIDTH,
+
+    /**
+     * The height of the client's window, in GUI pixels.
+     */
+    GUI_HEIGHT
+
+    ;
+
+    /**
+     * Reads this variable from a graphics context.
+     * @param context the graphics context
+     * @return Variable Value
+     */
+    public double get(@NotNull GraphicsContext context) {
+        return switch (this) {
+            case FPS -> context.getFps();
+            case MOUSE_X -> context.getMouseX();
+            case MOUSE_Y -> context.getMouseY();
+            case SCREEN_WIDTH -> context.getScreenWidth();
+            case SCREEN_HEIGHT -> context.getScreenHeight();
+            case PLAYER_X -> context.getPlayerX();
+            case PLAYER_Y -> context.getPlayerY();
+            case PLAYER_Z -> context.getPlayerZ();
+            case GUI_WIDTH -> context.getGuiWidth();
+            case GUI_HEIGHT -> context.getGuiHeight();
+        };
+    }
+
+}
@@ -0,0 +1,231 @@
+package xyz.gmitch215.socketmc.util.render.text;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import xyz.gmitch215.socketmc.network.WireCodec;
+import xyz.gmitch215.socketmc.util.render.GraphicsContext;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Represents {@link Text} with {@link Placeholder}s that the client fills in every time it draws the text, so
+ * timers and counters update without any instructions being sent.</p>
+ * <p>Placeholders are marked in the text with their index in braces, such as {@code "Ends in {0}"}.</p>
+ */
+public final class DynamicText implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6650120427788350214L;
+
+    private static final Pattern MARKER = Pattern.compile("\\{(\\d{1,3})}");
+
+    private final String json;
+    private final int color;
+    private final boolean dropShadow;
+    private final List<Placeholder> placeholders;
+
+    private transient Object[] parts;
+    private transient String last;
+    private transient Object rendered;
+
+    private DynamicText(String json, int color, boolean dropShadow, List<Placeholder> placeholders) {
+        this.json = json;
+        this.color = color;
+        this.dropShadow = dropShadow;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Gets the JSON text, with its placeholder markers.
+     * @return Text JSON
+     */
+    @NotNull
+    public String getJSON() {
+        return json;
+    }
+
+    /**
+     * Gets the color as an ARGB integer.
+     * @return Text Color
+     */
+    public int getColor() {
+        return color;
+    }
+
+    /**
+     * Gets whether this text has a drop shadow.
+     * @return Drop Shadow
+     */
+    public boolean isDropShadow() {
+        return dropShadow;
+    }
+
+    /**
+     * Gets an immutable copy of the placeholders, by index.
+     * @return Text Placeholders
+     */
+    @NotNull
+    @Unmodifiable
+    public List<Placeholder> getPlaceholders() {
+        return List.copyOf(placeholders);
+    }
+
+    /**
+     * Fills in every placeholder in the JSON text.
+     * @param context the graphics context to read variables from
+     * @param now the current time, in milliseconds since the epoch
+     * @return the JSON text to display
+     */
+    @NotNull
+    public String resolve(@NotNull GraphicsContext context, long now) {
+        if (parts == null) parts = split(json, placeholders.size());
+
+        StringBuilder builder = new StringBuilder(json.length());
+        for (Object part : parts)
+            if (part instanceof Placeholder placeholder) escape(builder, placeholder.resolve(context, now));
+            else builder.append((String) part);
+
+        return builder.toString();
+    }
+
+    /**
+     * Fills in every placeholder and parses the result, parsing again only if the text changed since the last frame.
+     * @param context the graphics context to read variables from
+     * @param parser the function to parse the JSON text with
+     * @param <T> the type of parsed text
+     * @return the parsed text to display
+     */
+    @ApiStatus.Internal
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T> T render(@NotNull GraphicsContext context, @NotNull Function<String, T> parser) {
+        String text = resolve(context, System.currentTimeMillis());
+        if (!text.equals(last)) {
+            rendered = parser.apply(text);
+            last = text;
+        }
+
+        return (T) rendered;
+    }
+
+    private Object[] split(String json, int count) {
+        List<Object> parts = new ArrayList<>();
+        Matcher matcher = MARKER.matcher(json);
+
+        int last = 0;
+        while (matcher.find()) {
+            int index = Integer.parseInt(matcher.group(1));
+            if (index >= count) continue;
+
+            if (matcher.start() > last) parts.add(json.substring(last, matcher.start()));
+            parts.add(placeholders.get(index));
+            last = matcher.end();
+        }
+
+        if (last < json.length()) parts.add(json.substring(last));
+        return parts.toArray();
+    }
+
+    private static void escape(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') builder.append('\\');
+            builder.append(c);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DynamicText that)) return false;
+        return color == that.color && dropShadow == that.dropShadow && Objects.equals(json, that.json) && Objects.equals(placeholders, that.placeholders);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(json, color, dropShadow, placeholders);
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicText{" + json + ", " + placeholders + '}';
+    }
+
+    /**
+     * Writes this text to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        WireCodec.writeString(buf, json);
+        buf.writeInt(color);
+        buf.writeBoolean(dropShadow);
+
+        WireCodec.writeVarInt(buf, placeholders.size());
+        for (Placeholder placeholder : placeholders) placeholder.writeTo(buf);
+    }
+
+    /**
+     * Reads a text from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the text read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static DynamicText readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        String json = WireCodec.readString(buf);
+        int color = buf.readInt();
+        boolean dropShadow = buf.readBoolean();
+
+        int size = WireCodec.readVarInt(buf);
+        if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid placeholder count: " + size);
+
+        List<Placeholder> placeholders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) placeholders.add(Placeholder.readFrom(buf));
+
+        return new DynamicText(json, color, dropShadow, List.copyOf(placeholders));
+    }
+
+    // Static Methods
+
+    /**
+     * Creates a new dynamic text.
+     * @param text the text, with placeholders marked by their index in braces, such as {@code "Ends in {0}"}
+     * @param placeholders the placeholders, by index
+     * @return Dynamic Text
+     * @throws IllegalArgumentException if the text or a placeholder is null
+     */
+    @NotNull
+    public static DynamicText of(@NotNull Text text, @NotNull Placeholder... placeholders) throws IllegalArgumentException {
+        if (text == null) throw new IllegalArgumentException("Text cannot be null");
+        if (placeholders == null) throw new IllegalArgumentException("Placeholders cannot be null");
+        for (Placeholder placeholder : placeholders)
+            if (placeholder == null) throw new IllegalArgumentException("Placeholder cannot be null");
+
+        return new DynamicText(text.toJSON(), text.getColor(), text.isDropShadow(), List.of(placeholders));
+    }
+
+    /**
+     * Creates a new dynamic text from plain text.
+     * @param text the text, with placeholders marked by their index in braces, such as {@code "Ends in {0}"}
+     * @param placeholders the placeholders, by index
+     * @return Dynamic Text
+     * @throws IllegalArgumentException if the text or a placeholder is null
+     */
+    @NotNull
+    public static DynamicText of(@NotNull String text, @NotNull Placeholder... placeholders) throws IllegalArgumentException {
+        if (text == null) throw new IllegalArgumentException("Text cannot be null");
+        return of(PlainText.of(text), placeholders);
+    }
+
+}
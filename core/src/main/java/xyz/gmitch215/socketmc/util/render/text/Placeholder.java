@@ -0,0 +1,286 @@
+package xyz.gmitch215.socketmc.util.render.text;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.network.WireCodec;
+import xyz.gmitch215.socketmc.util.render.GraphicsContext;
+import xyz.gmitch215.socketmc.util.render.Variable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.DecimalFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+/**
+ * Represents a part of a {@link DynamicText} that the client fills in every time it draws the text, such as a
+ * countdown or the client's FPS.
+ */
+public final class Placeholder implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -1622094480395201467L;
+
+    private static final int COUNTDOWN = 0;
+    private static final int STOPWATCH = 1;
+    private static final int CLOCK = 2;
+    private static final int VARIABLE = 3;
+
+    private final int type;
+    private final long time;
+    private final int index;
+    private final String pattern;
+
+    private transient Object formatter;
+
+    private Placeholder(int type, long time, int index, String pattern) {
+        this.type = type;
+        this.time = time;
+        this.index = index;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Resolves this placeholder.
+     * @param context the graphics context to read variables from
+     * @param now the current time, in milliseconds since the epoch
+     * @return the text to display
+     */
+    @NotNull
+    public String resolve(@NotNull GraphicsContext context, long now) {
+        return switch (type) {
+            case COUNTDOWN -> DurationFormat.values()[index].format(Math.max(0, time - now));
+            case STOPWATCH -> DurationFormat.values()[index].format(Math.max(0, now - time));
+            case CLOCK -> {
+                if (formatter == null) formatter = DateTimeFormatter.ofPattern(pattern);
+                yield ((DateTimeFormatter) formatter).format(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+            }
+            case VARIABLE -> {
+                if (formatter == null) formatter = new DecimalFormat(pattern);
+                yield ((DecimalFormat) formatter).format(Variable.values()[index].get(context));
+            }
+            default -> "";
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Placeholder that)) return false;
+        return type == that.type && time == that.time && index == that.index && Objects.equals(pattern, that.pattern);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, time, index, pattern);
+    }
+
+    @Override
+    public String toString() {
+        return "Placeholder{type=" + type + ", time=" + time + ", index=" + index + ", pattern=" + pattern + '}';
+    }
+
+    /**
+     * Writes this placeholder to a buffer in the binary wire format.
+     * @param buf the buffer to write to
+     */
+    @ApiStatus.Internal
+    public void writeTo(@NotNull ByteBuf buf) {
+        buf.writeByte(type);
+        switch (type) {
+            case COUNTDOWN, STOPWATCH -> {
+                buf.writeLong(time);
+                buf.writeByte(index);
+            }
+            case CLOCK -> WireCodec.writeString(buf, pattern);
+            case VARIABLE -> {
+                buf.writeByte(index);
+                WireCodec.writeString(buf, pattern);
+            }
+        }
+    }
+
+    /**
+     * Reads a placeholder from a buffer in the binary wire format.
+     * @param buf the buffer to read from
+     * @return the placeholder read
+     * @throws IllegalArgumentException if the buffer is malformed
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static Placeholder readFrom(@NotNull ByteBuf buf) throws IllegalArgumentException {
+        int type = buf.readUnsignedByte();
+        return switch (type) {
+            case COUNTDOWN, STOPWATCH -> {
+                long time = buf.readLong();
+                int format = buf.readUnsignedByte();
+                if (format >= DurationFormat.values().length) throw new IllegalArgumentException("Unknown duration format: " + format);
+
+                yield new Placeholder(type, time, format, null);
+            }
+            case CLOCK -> clock(WireCodec.readString(buf));
+            case VARIABLE -> {
+                int variable = buf.readUnsignedByte();
+                if (variable >= Variable.values().length) throw new IllegalArgumentException("Unknown variable: " + variable);
+
+                yield variable(Variable.values()[variable], WireCodec.readString(buf));
+            }
+            default -> throw new IllegalArgumentException("Unknown placeholder type: " + type);
+        };
+    }
+
+    // Static Methods
+
+    /**
+     * Creates a placeholder counting down to a point in time, as a {@linkplain DurationFormat#CLOCK clock}.
+     * @param epochMillis the time to count down to, in milliseconds since the epoch
+     * @return Countdown Placeholder
+     */
+    @NotNull
+    public static Placeholder countdown(long epochMillis) {
+        return countdown(epochMillis, DurationFormat.CLOCK);
+    }
+
+    /**
+     * Creates a placeholder counting down to a point in time. The countdown stops at zero.
+     * @param epochMillis the time to count down to, in milliseconds since the epoch
+     * @param format how to display the time remaining
+     * @return Countdown Placeholder
+     * @throws IllegalArgumentException if the format is null
+     */
+    @NotNull
+    public static Placeholder countdown(long epochMillis, @NotNull DurationFormat format) throws IllegalArgumentException {
+        if (format == null) throw new IllegalArgumentException("Format cannot be null");
+        return new Placeholder(COUNTDOWN, epochMillis, format.ordinal(), null);
+    }
+
+    /**
+     * Creates a placeholder counting down to a point in time. The countdown stops at zero.
+     * @param instant the time to count down to
+     * @param format how to display the time remaining
+     * @return Countdown Placeholder
+     * @throws IllegalArgumentException if the instant or format is null
+     */
+    @NotNull
+    public static Placeholder countdown(@NotNull Instant instant, @NotNull DurationFormat format) throws IllegalArgumentException {
+        if (instant == null) throw new IllegalArgumentException("Instant cannot be null");
+        return countdown(instant.toEpochMilli(), format);
+    }
+
+    /**
+     * Creates a placeholder counting up from a point in time.
+     * @param epochMillis the time to count up from, in milliseconds since the epoch
+     * @param format how to display the time elapsed
+     * @return Stopwatch Placeholder
+     * @throws IllegalArgumentException if the format is null
+     */
+    @NotNull
+    public static Placeholder stopwatch(long epochMillis, @NotNull DurationFormat format) throws IllegalArgumentException {
+        if (format == null) throw new IllegalArgumentException("Format cannot be null");
+        return new Placeholder(STOPWATCH, epochMillis, format.ordinal(), null);
+    }
+
+    /**
+     * Creates a placeholder for the client's local time.
+     * @param pattern the {@link DateTimeFormatter} pattern, such as {@code "HH:mm"}
+     * @return Clock Placeholder
+     * @throws IllegalArgumentException if the pattern is null or invalid
+     */
+    @NotNull
+    public static Placeholder clock(@NotNull String pattern) throws IllegalArgumentException {
+        if (pattern == null) throw new IllegalArgumentException("Pattern cannot be null");
+        DateTimeFormatter.ofPattern(pattern);
+
+        return new Placeholder(CLOCK, 0, 0, pattern);
+    }
+
+    /**
+     * Creates a placeholder for a {@link Variable}, as a whole number.
+     * @param variable the variable to display
+     * @return Variable Placeholder
+     * @throws IllegalArgumentException if the variable is null
+     */
+    @NotNull
+    public static Placeholder variable(@NotNull Variable variable) throws IllegalArgumentException {
+        return variable(variable, "0");
+    }
+
+    /**
+     * Creates a placeholder for a {@link Variable}.
+     * @param variable the variable to display
+     * @param pattern the {@link DecimalFormat} pattern, such as {@code "#,##0.0"}
+     * @return Variable Placeholder
+     * @throws IllegalArgumentException if the variable or pattern is null, or the pattern is invalid
+     */
+    @NotNull
+    public static Placeholder variable(@NotNull Variable variable, @NotNull String pattern) throws IllegalArgumentException {
+        if (variable == null) throw new IllegalArgumentException("Variable cannot be null");
+        if (pattern == null) throw new IllegalArgumentException("Pattern cannot be null");
+        new DecimalFormat(pattern);
+
+        return new Placeholder(VARIABLE, 0, variable.ordinal(), pattern);
+    }
+
+    /**
+     * Creates a placeholder for the client's frames per second.
+     * @return FPS Placeholder
+     */
+    @NotNull
+    public static Placeholder fps() {
+        return variable(Variable.FPS);
+    }
+
+    /**
+     * Represents how a countdown or stopwatch is displayed.
+     * <br>
+     * Formats are sent by their ordinal, so new formats must only be appended.
+     */
+    public enum DurationFormat {
+
+        /**
+         * Displays as a clock, such as {@code 1:02:03} or {@code 02:03}.
+         */
+        CLOCK,
+
+        /**
+         * Displays the total number of seconds, such as {@code 123}.
+         */
+        SECONDS,
+
+        /**
+         * Displays each non-zero unit, such as {@code 1h 2m 3s}.
+         */
+        UNITS
+
+        ;
+
+        /**
+         * Formats a duration.
+         * @param millis the duration, in milliseconds
+         * @return Formatted Duration
+         */
+        @NotNull
+        public String format(long millis) {
+            // Rounds up, so a countdown shows 0 only once it is over
+            long seconds = (millis + 999) / 1000;
+            long h = seconds / 3600, m = (seconds / 60) % 60, s = seconds % 60;
+
+            return switch (this) {
+                case CLOCK -> h > 0 ? String.format("%d:%02d:%02d", h, m, s) : String.format("%02d:%02d", m, s);
+                case SECONDS -> Long.toString(seconds);
+                case UNITS -> {
+                    StringBuilder builder = new StringBuilder();
+                    if (h > 0) builder.append(h).append("h ");
+                    if (h > 0 || m > 0) builder.append(m).append("m ");
+                    yield builder.append(s).append('s').toString();
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Package containing the SocketMC wire format and its networking utilities.
+ */
+package xyz.gmitch215.socketmc.network;
\ No newline at end of file
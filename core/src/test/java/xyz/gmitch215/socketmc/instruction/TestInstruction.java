@@ -4,6 +4,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.util.Identifier;
+
+import java.awt.*;
+import java.util.Map;
 
 public final class TestInstruction {
 
@@ -22,4 +26,21 @@ public final class TestInstruction {
         }
     }
 
+    @Test
+    @DisplayName("Test Instruction Elements")
+    public void testElements() {
+        Identifier id = Identifier.socketmc("coins");
+        Instruction text = Instruction.drawText(5, 5, "Coins: 0", Color.YELLOW, 1000);
+
+        Assertions.assertEquals(Instruction.ELEMENT, Instruction.upsertElement(id, text).getId());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Instruction.upsertElement(id, Instruction.ping()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Instruction.updateElement(id, Map.of()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Instruction.updateElement(id, Map.of(-1, 0)));
+
+        Instruction updated = text.withParameters(Map.of(2, "Coins: 5"));
+        Assertions.assertEquals("Coins: 5", updated.stringParameter(2));
+        Assertions.assertEquals(text.intParameter(0), updated.intParameter(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> text.withParameters(Map.of(100, 0)));
+    }
+
 }
@@ -0,0 +1,47 @@
+package xyz.gmitch215.socketmc.instruction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.util.render.DrawingContext;
+import xyz.gmitch215.socketmc.util.render.text.PlainText;
+
+import java.util.List;
+import java.util.Map;
+
+public class TestInstructionTemplate {
+
+    @Test
+    @DisplayName("Test InstructionTemplate#apply")
+    public void testApply() {
+        Instruction text = InstructionTemplate.withSlots(Instruction.drawText(5, 5, "Coins: ${1}", 1000), Map.of(1, 0));
+        InstructionTemplate template = new InstructionTemplate(text);
+
+        Assertions.assertEquals(2, template.getSlotCount());
+        Assertions.assertEquals(Instruction.drawText(5, 10, "Coins: 42", 1000), template.apply(List.of(10, 42)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.apply(List.of(10)));
+        Assertions.assertSame(text, template.getInstruction());
+
+        DrawingContext.Command command = DrawingContext.Command.drawString(0, 0, PlainText.of("${0} / ${1}"));
+        DrawingContext context = DrawingContext.of(InstructionTemplate.withSlots(command, Map.of(0, 2)));
+
+        InstructionTemplate drawing = new InstructionTemplate(Instruction.drawContext(context, 1000));
+        Assertions.assertEquals(3, drawing.getSlotCount());
+
+        DrawingContext expected = DrawingContext.of(DrawingContext.Command.drawString(7, 0, PlainText.of("3 / 4")));
+        Assertions.assertEquals(Instruction.drawContext(expected, 1000), drawing.apply(List.of(3, 4, 7)));
+    }
+
+    @Test
+    @DisplayName("Test InstructionTemplate Validation")
+    public void testValidation() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> InstructionTemplate.slot(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new InstructionTemplate(Instruction.applyTemplate(0)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Instruction.registerTemplate(0, Instruction.unregisterTemplate(0)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Instruction.registerTemplate(-1, Instruction.ping()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> InstructionTemplate.withSlots(DrawingContext.Command.disableScissor(), Map.of(0, 0)));
+
+        Assertions.assertEquals(0, new InstructionTemplate(Instruction.ping()).getSlotCount());
+    }
+
+}
@@ -0,0 +1,38 @@
+package xyz.gmitch215.socketmc.log;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Level;
+
+public class TestAuditLog {
+
+    @Test
+    @DisplayName("Test AuditLog#shutdown")
+    public void testShutdown() throws IOException {
+        File folder = Files.createTempDirectory("socketmc-audit").toFile();
+        folder.deleteOnExit();
+
+        AuditLog log = new AuditLog(folder) {};
+
+        for (int i = 0; i < 100; i++) log.logAsync(Level.INFO, "Entry " + i);
+        AuditLog.shutdown();
+
+        // Every queued entry is written before shutdown returns
+        List<String> lines = log.readLog();
+        Assertions.assertEquals(100, lines.size());
+        Assertions.assertTrue(lines.get(99).endsWith("Entry 99"));
+
+        // Logging again restarts the executor
+        log.logAsync(Level.INFO, "Restarted").join();
+        Assertions.assertEquals(101, log.readLog().size());
+        AuditLog.shutdown();
+        log.clean();
+    }
+
+}
@@ -0,0 +1,94 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the per-packet cost of inspecting the ID of non-SocketMC traffic by copying the buffer against peeking it in place.
+ * Excluded from the default test task; run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class BenchmarkFramePeek {
+
+    private static final int PACKETS = 256;
+    private static final int ROUNDS = 2_000;
+
+    private static ByteBuf[] packets(int size) {
+        ByteBuf[] packets = new ByteBuf[PACKETS];
+        byte[] payload = new byte[size];
+
+        for (int i = 0; i < PACKETS; i++) {
+            ThreadLocalRandom.current().nextBytes(payload);
+
+            ByteBuf buf = Unpooled.buffer(size + 1);
+            WireCodec.writeVarInt(buf, i % 0x7F);
+            buf.writeBytes(payload);
+            packets[i] = buf;
+        }
+
+        return packets;
+    }
+
+    private static long copy(ByteBuf[] packets) {
+        long sum = 0;
+        for (ByteBuf buf : packets) {
+            ByteBuf clone = buf.copy();
+            sum += WireCodec.readVarInt(clone);
+            clone.release();
+        }
+
+        return sum;
+    }
+
+    private static long peek(ByteBuf[] packets) {
+        long sum = 0;
+        for (ByteBuf buf : packets)
+            sum += WireCodec.peekVarInt(buf, 0);
+
+        return sum;
+    }
+
+    private static long measure(ByteBuf[] packets, boolean copy) {
+        long sink = 0;
+
+        // Warmup
+        for (int i = 0; i < ROUNDS / 4; i++) sink += copy ? copy(packets) : peek(packets);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += copy ? copy(packets) : peek(packets);
+        long elapsed = System.nanoTime() - start;
+
+        Assertions.assertTrue(sink >= 0);
+        return elapsed;
+    }
+
+    @Test
+    @DisplayName("Benchmark Frame Peek vs Copy")
+    public void benchmark() {
+        for (int size : new int[] { 16, 256, 4096 }) {
+            ByteBuf[] packets = packets(size);
+            for (int i = 0; i < PACKETS; i++) {
+                Assertions.assertEquals(i % 0x7F, WireCodec.peekVarInt(packets[i], 0));
+                Assertions.assertEquals(0, packets[i].readerIndex());
+            }
+
+            long copy = measure(packets, true);
+            long peek = measure(packets, false);
+
+            // Timings depend on the machine, so they are only reported
+            System.out.printf("%d byte packets: peek %dns, copy %dns%n", size, peek, copy);
+
+            for (ByteBuf buf : packets) {
+                Assertions.assertEquals(0, buf.readerIndex());
+                buf.release();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package xyz.gmitch215.socketmc.network;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestBlobStore {
+
+    private static byte[] blob(int seed) {
+        byte[] data = new byte[60];
+        data[0] = (byte) seed;
+        return data;
+    }
+
+    @Test
+    @DisplayName("Test BlobStore Eviction")
+    public void testEviction() {
+        AtomicLong clock = new AtomicLong();
+        BlobStore store = new BlobStore(100, 1000, clock::get);
+
+        BlobReference a = store.put(blob(1));
+        BlobReference b = store.put(blob(2));
+
+        // Both are pinned while a client may still request them
+        Assertions.assertNotNull(store.get(a));
+        Assertions.assertNotNull(store.get(b));
+        Assertions.assertEquals(120, store.getSize());
+
+        clock.set(2000);
+        BlobReference c = store.put(blob(3));
+
+        // Least recently used first, until the store fits again
+        Assertions.assertNull(store.get(a));
+        Assertions.assertNull(store.get(b));
+        Assertions.assertArrayEquals(blob(3), store.get(c));
+        Assertions.assertEquals(60, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Test BlobStore#retain")
+    public void testRetain() {
+        AtomicLong clock = new AtomicLong();
+        BlobStore store = new BlobStore(100, 1000, clock::get);
+
+        BlobReference a = store.put(blob(1));
+        store.retain(a);
+
+        clock.set(5000);
+        store.put(blob(2));
+        Assertions.assertNotNull(store.get(a));
+
+        // Released blobs stay pinned for a while, in case they were just sent
+        store.release(a);
+        store.put(blob(3));
+        Assertions.assertNotNull(store.get(a));
+
+        clock.set(10000);
+        store.put(blob(4));
+        Assertions.assertNull(store.get(a));
+    }
+
+}
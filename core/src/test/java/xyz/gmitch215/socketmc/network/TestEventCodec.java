@@ -0,0 +1,89 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.screen.DefaultScreen;
+import xyz.gmitch215.socketmc.util.input.Key;
+import xyz.gmitch215.socketmc.util.option.GraphicsQuality;
+
+import java.util.Date;
+import java.util.Map;
+
+public class TestEventCodec {
+
+    @Test
+    @DisplayName("Test EventCodec Input Events")
+    public void testInputEvents() {
+        ByteBuf buf = Unpooled.buffer();
+
+        EventCodec.writePressKey(buf, Key.SPACE.getCode(), 1, 2);
+        Assertions.assertEquals(4, buf.readableBytes());
+        Assertions.assertEquals(EventFilter.PRESS_KEY, WireCodec.readVarInt(buf));
+        Assertions.assertEquals(Key.SPACE, Key.fromCode(WireCodec.readVarInt(buf)));
+        Assertions.assertEquals(1, WireCodec.readVarInt(buf));
+        Assertions.assertEquals(2, WireCodec.readVarInt(buf));
+
+        EventCodec.writeEvent(buf, EventFilter.MOVE_MOUSE, Map.of("x", 120.5, "y", 64.0));
+        Assertions.assertEquals(9, buf.readableBytes());
+        Assertions.assertEquals(EventFilter.MOVE_MOUSE, WireCodec.readVarInt(buf));
+        Assertions.assertEquals(120.5F, buf.readFloat());
+        Assertions.assertEquals(64.0F, buf.readFloat());
+
+        buf.release();
+    }
+
+    @Test
+    @DisplayName("Test EventCodec Tagged Events")
+    public void testTaggedEvents() {
+        ByteBuf buf = Unpooled.buffer();
+
+        Map<String, Object> params = Map.of("option", "fov", "old_value", 70, "old_value_string", "70", "new_value", 90, "new_value_string", "90");
+        EventCodec.writeEvent(buf, EventFilter.CHANGE_OPTION, params);
+
+        Assertions.assertEquals(EventFilter.CHANGE_OPTION, WireCodec.readVarInt(buf));
+        Assertions.assertEquals(params, EventCodec.readFields(buf, EventFilter.CHANGE_OPTION));
+        Assertions.assertEquals(0, buf.readableBytes());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCodec.readFields(buf, EventFilter.PRESS_KEY));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCodec.readFields(buf, EventFilter.EVENT_COUNT));
+        buf.release();
+    }
+
+    @Test
+    @DisplayName("Test EventCodec Rejects Serialized Values")
+    public void testRejectsSerialized() {
+        ByteBuf buf = Unpooled.buffer();
+
+        // A client sending a Java-serialized value in an event batch
+        WireCodec.writeVarInt(buf, EventFilter.EDIT_TEXT);
+        WireCodec.writeValue(buf, DefaultScreen.PAUSE);
+        buf.writeByte(127);
+        WireCodec.writeByteArray(buf, WireCodec.serialize(new Date()));
+        WireCodec.writeValue(buf, "text");
+
+        Assertions.assertEquals(EventFilter.EDIT_TEXT, WireCodec.readVarInt(buf));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCodec.readFields(buf, EventFilter.EDIT_TEXT));
+        buf.clear();
+
+        Map<String, Object> params = Map.of("option", "graphicsMode", "old_value", GraphicsQuality.FAST, "old_value_string", "Fast", "new_value", GraphicsQuality.FANCY, "new_value_string", "Fancy");
+        EventCodec.writeEvent(buf, EventFilter.CHANGE_OPTION, params);
+
+        Assertions.assertEquals(EventFilter.CHANGE_OPTION, WireCodec.readVarInt(buf));
+        Assertions.assertEquals(params, EventCodec.readFields(buf, EventFilter.CHANGE_OPTION));
+        buf.release();
+    }
+
+    @Test
+    @DisplayName("Test Key#fromCode")
+    public void testKeyFromCode() {
+        for (Key key : Key.values())
+            Assertions.assertEquals(key.getCode(), Key.fromCode(key.getCode()).getCode());
+
+        Assertions.assertNull(Key.fromCode(-1));
+        Assertions.assertNull(Key.fromCode(Integer.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,73 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.util.input.Key;
+
+import java.time.Duration;
+import java.util.List;
+
+public class TestEventFilter {
+
+    @Test
+    @DisplayName("Test EventFilter#test")
+    public void testFilter() {
+        EventFilter keys = EventFilter.of(EventFilter.PRESS_KEY).withKeys(Key.SPACE, Key.APOSTROPHE);
+        Assertions.assertTrue(keys.testKey(Key.SPACE.getCode()));
+        Assertions.assertFalse(keys.testKey(Key.APOSTROPHE.getCode() + 1));
+        Assertions.assertTrue(EventFilter.of(EventFilter.PRESS_KEY).testKey(-1));
+
+        EventFilter screen = EventFilter.of(EventFilter.CLICK_MOUSE).whileScreen("{\"text\":\"Shop\"}");
+        Assertions.assertTrue(screen.testScreen(() -> "{\"text\":\"Shop\"}"));
+        Assertions.assertFalse(screen.testScreen(() -> "{\"text\":\"Other\"}"));
+        Assertions.assertFalse(screen.testScreen(() -> null));
+
+        EventFilter playing = EventFilter.of(EventFilter.CLICK_MOUSE).whileScreen(EventFilter.ScreenCondition.NO_SCREEN);
+        Assertions.assertTrue(playing.testScreen(() -> null));
+        Assertions.assertFalse(playing.testScreen(() -> "{}"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventFilter.of(EventFilter.EVENT_COUNT));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventFilter.of(EventFilter.MOVE_MOUSE).withKeys(Key.SPACE));
+    }
+
+    @Test
+    @DisplayName("Test EventFilter#union")
+    public void testUnion() {
+        EventFilter a = EventFilter.of(EventFilter.PRESS_KEY).withKeys(Key.SPACE);
+        EventFilter b = EventFilter.of(EventFilter.PRESS_KEY).withKeys(Key.APOSTROPHE).whileScreen(EventFilter.ScreenCondition.NO_SCREEN);
+
+        EventFilter union = a.union(b);
+        Assertions.assertArrayEquals(new int[] { Key.SPACE.getCode(), Key.APOSTROPHE.getCode() }, union.getKeys());
+        Assertions.assertEquals(EventFilter.ScreenCondition.ANY, union.getScreen());
+
+        Assertions.assertEquals(0, a.union(EventFilter.of(EventFilter.PRESS_KEY)).getKeys().length);
+
+        EventFilter slow = EventFilter.of(EventFilter.MOVE_MOUSE).withInterval(Duration.ofMillis(200)).withLimit(5);
+        EventFilter fast = EventFilter.of(EventFilter.MOVE_MOUSE).withInterval(Duration.ofMillis(50)).withLimit(20);
+        Assertions.assertEquals(50, slow.union(fast).getInterval());
+        Assertions.assertEquals(20, slow.union(fast).getLimit());
+        Assertions.assertEquals(0, slow.union(EventFilter.of(EventFilter.MOVE_MOUSE)).getLimit());
+        Assertions.assertEquals(EventFilter.DEFAULT_EDIT_TEXT_INTERVAL, EventFilter.of(EventFilter.EDIT_TEXT).getInterval());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.union(EventFilter.of(EventFilter.MOVE_MOUSE)));
+    }
+
+    @Test
+    @DisplayName("Test EventFilter Round Trip")
+    public void testRoundTrip() {
+        List<EventFilter> filters = List.of(
+                EventFilter.of(EventFilter.PRESS_KEY).withKeys(Key.SPACE),
+                EventFilter.of(EventFilter.MOVE_MOUSE).whileScreen("{\"text\":\"Menu\"}").withInterval(Duration.ofMillis(100)).withLimit(10),
+                EventFilter.of(EventFilter.CHANGE_OPTION)
+        );
+
+        ByteBuf buf = Unpooled.buffer();
+        EventFilter.writeAll(buf, filters);
+        Assertions.assertEquals(filters, EventFilter.readAll(buf));
+        Assertions.assertEquals(0, buf.readableBytes());
+        buf.release();
+    }
+
+}
@@ -0,0 +1,70 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.util.render.text.PlainText;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestFrameCompressor {
+
+    private static ByteBuf frame(List<Instruction> instructions) {
+        ByteBuf buf = Unpooled.buffer();
+        WireCodec.writeVarInt(buf, WireCodec.INSTRUCTION_BATCH_FRAME);
+        WireCodec.writeInstructions(buf, instructions);
+        return buf;
+    }
+
+    @Test
+    @DisplayName("Test FrameCompressor Round Trip")
+    public void testRoundTrip() {
+        FrameCompressor compressor = new FrameCompressor();
+
+        List<Instruction> instructions = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            instructions.add(Instruction.drawText(0, i * 10, new PlainText("Scoreboard Line " + i), 1000));
+
+        ByteBuf frame = frame(instructions);
+        byte[] expected = ByteBufUtil.getBytes(frame);
+
+        ByteBuf compressed = compressor.compress(frame);
+        Assertions.assertTrue(compressed.readableBytes() < expected.length);
+        Assertions.assertEquals(WireCodec.COMPRESSED_FRAME, WireCodec.readVarInt(compressed));
+
+        ByteBuf decompressed = compressor.decompress(compressed);
+        Assertions.assertArrayEquals(expected, ByteBufUtil.getBytes(decompressed));
+
+        Assertions.assertEquals(WireCodec.INSTRUCTION_BATCH_FRAME, WireCodec.readVarInt(decompressed));
+        Assertions.assertEquals(instructions, WireCodec.readInstructions(decompressed));
+
+        compressor.close();
+    }
+
+    @Test
+    @DisplayName("Test FrameCompressor Threshold")
+    public void testThreshold() {
+        FrameCompressor compressor = new FrameCompressor();
+
+        ByteBuf small = frame(List.of(Instruction.ping()));
+        Assertions.assertSame(small, compressor.compress(small));
+
+        byte[] noise = new byte[4096];
+        new Random(0).nextBytes(noise);
+        ByteBuf random = frame(List.of(Instruction.setWindowIcon(noise)));
+        Assertions.assertSame(random, compressor.compress(random));
+
+        compressor.setThreshold(-1);
+        ByteBuf large = frame(List.of(Instruction.logMessage("a".repeat(4096))));
+        Assertions.assertSame(large, compressor.compress(large));
+
+        compressor.close();
+    }
+
+}
@@ -0,0 +1,194 @@
+package xyz.gmitch215.socketmc.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.instruction.InstructionTemplate;
+import xyz.gmitch215.socketmc.instruction.RenderInstruction;
+import xyz.gmitch215.socketmc.screen.Toast;
+import xyz.gmitch215.socketmc.util.Identifier;
+import xyz.gmitch215.socketmc.util.NBTTag;
+import xyz.gmitch215.socketmc.util.render.DrawingContext;
+import xyz.gmitch215.socketmc.util.render.DrawingMode;
+import xyz.gmitch215.socketmc.util.render.RenderBuffer;
+import xyz.gmitch215.socketmc.util.render.Vertex;
+import xyz.gmitch215.socketmc.util.render.text.PlainText;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class TestWireCodec {
+
+    private static Instruction roundTrip(Instruction instruction) {
+        ByteBuf buf = Unpooled.buffer();
+        instruction.writeTo(buf);
+
+        Instruction read = Instruction.readFrom(buf);
+        Assertions.assertEquals(0, buf.readableBytes());
+        buf.release();
+
+        return read;
+    }
+
+    @Test
+    @DisplayName("Test WireCodec Integers")
+    public void testIntegers() {
+        ByteBuf buf = Unpooled.buffer();
+
+        for (int i : new int[] { 0, 1, -1, -2, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+            WireCodec.writeVarInt(buf, i);
+            Assertions.assertEquals(i, WireCodec.readVarInt(buf));
+
+            WireCodec.writeSignedVarInt(buf, i);
+            Assertions.assertEquals(i, WireCodec.readSignedVarInt(buf));
+        }
+
+        for (long l : new long[] { 0L, -1L, 300L, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            WireCodec.writeSignedVarLong(buf, l);
+            Assertions.assertEquals(l, WireCodec.readSignedVarLong(buf));
+        }
+
+        WireCodec.writeSignedVarLong(buf, -1L);
+        Assertions.assertEquals(1, buf.readableBytes());
+
+        buf.release();
+    }
+
+    @Test
+    @DisplayName("Test WireCodec#peekVarInt")
+    public void testPeekVarInt() {
+        ByteBuf buf = Unpooled.buffer();
+        WireCodec.writeVarInt(buf, WireCodec.EVENT_FRAME);
+        buf.writeByte(1);
+
+        Assertions.assertEquals(WireCodec.EVENT_FRAME, WireCodec.peekVarInt(buf, 0));
+        Assertions.assertEquals(0, buf.readerIndex());
+
+        buf.writerIndex(3);
+        Assertions.assertEquals(Integer.MAX_VALUE, WireCodec.peekVarInt(buf, Integer.MAX_VALUE));
+
+        buf.release();
+    }
+
+    @Test
+    @DisplayName("Test Instruction Round Trip")
+    public void testInstructions() {
+        Instruction text = Instruction.drawText(10, 20, new PlainText("Hello, World!"), 5000);
+        Assertions.assertEquals(text, roundTrip(text));
+        Assertions.assertTrue(text.toByteArray().length < 64);
+        Assertions.assertEquals(text, Instruction.fromByteArray(text.toByteArray()));
+
+        Instruction[] instructions = {
+                Instruction.ping(),
+                Instruction.drawRect(0, 0, 50, 50, Color.RED, 1000),
+                Instruction.logMessage("Message"),
+                Instruction.drawTexture(0, 0, 16, 16, Identifier.minecraft("textures/block/stone.png"), 1000),
+                Instruction.drawBeaconBeam(0, 0, 0, 10, Color.BLUE, 1, 0.2F, 0.25F, 1000),
+                Instruction.narrate("Narration", true),
+                Instruction.setWindowTitle("Title"),
+                Instruction.showPlayers(UUID.randomUUID(), UUID.randomUUID()),
+                Instruction.setWindowIcon(new byte[] { 1, 2, 3, 4 }),
+                Instruction.upsertElement(Identifier.socketmc("coins"), text),
+                Instruction.updateElement(Identifier.socketmc("coins"), Map.of(2, "{\"text\":\"Coins: 5\"}")),
+                Instruction.removeElement(Identifier.socketmc("coins")),
+                Instruction.registerTemplate(1, InstructionTemplate.withSlots(text, Map.of(0, 0))),
+                Instruction.applyTemplate(1, 5, "Coins: 5"),
+                Instruction.unregisterTemplate(1)
+        };
+
+        for (Instruction i : instructions) {
+            Instruction read = roundTrip(i);
+            Assertions.assertEquals(i.getId(), read.getId());
+            Assertions.assertEquals(i.getParameters().size(), read.getParameters().size());
+        }
+
+        Instruction element = Instruction.upsertElement(Identifier.socketmc("coins"), text);
+        Assertions.assertEquals(element, roundTrip(element));
+    }
+
+    @Test
+    @DisplayName("Test Instruction Batch Round Trip")
+    public void testInstructionBatch() {
+        List<Instruction> batch = List.of(
+                Instruction.drawText(0, 0, new PlainText("Line 1"), 1000),
+                Instruction.drawText(0, 10, new PlainText("Line 2"), 1000),
+                Instruction.drawRect(0, 0, 50, 20, Color.BLACK, 1000)
+        );
+
+        ByteBuf buf = Unpooled.buffer();
+        WireCodec.writeInstructions(buf, batch);
+        Assertions.assertEquals(batch, WireCodec.readInstructions(buf));
+        Assertions.assertEquals(0, buf.readableBytes());
+
+        buf.release();
+    }
+
+    @Test
+    @DisplayName("Test Payload Round Trip")
+    public void testPayloads() {
+        DrawingContext context = DrawingContext.of(
+                DrawingContext.Command.fill(0, 0, 10, 10, Color.RED),
+                DrawingContext.Command.drawString(5, 5, new PlainText("Hello"), Color.WHITE, true)
+        );
+        Instruction drawContext = roundTrip(Instruction.drawContext(context, 1000));
+        Assertions.assertEquals(context.getCommands(), drawContext.firstParameter(DrawingContext.class).getCommands());
+
+        RenderBuffer buffer = RenderBuffer.builder(DrawingMode.TRIANGLES)
+                .addVertex(new Vertex(0, 0), Color.RED)
+                .addVertex(new Vertex(10, 0, -5), Color.GREEN)
+                .build();
+        RenderBuffer readBuffer = roundTrip(Instruction.drawBuffer(buffer, 1000)).firstParameter(RenderBuffer.class);
+        Assertions.assertEquals(buffer.getMode(), readBuffer.getMode());
+        Assertions.assertEquals(buffer.getVertices(), readBuffer.getVertices());
+
+        Toast toast = Toast.system(Toast.System.WORLD_BACKUP, new PlainText("Title"), new PlainText("Message"));
+        Toast readToast = roundTrip(Instruction.displayToast(toast)).firstParameter(Toast.class);
+        Assertions.assertEquals(toast.getParameters(), readToast.getParameters());
+
+        NBTTag tag = new NBTTag(Map.of("id", "minecraft:diamond", "count", 3, "components", Map.of("damage", 1)));
+        NBTTag readTag = roundTrip(Instruction.drawItemStack(tag, 0, 0, 1000)).firstParameter(NBTTag.class);
+        Assertions.assertEquals(tag.getTag(), readTag.getTag());
+
+        RenderInstruction.DebugRenderer debug = RenderInstruction.debug();
+        debug.renderChunkborder(true);
+        RenderInstruction readDebug = roundTrip(Instruction.renderer(debug)).firstParameter(RenderInstruction.class);
+        Assertions.assertInstanceOf(RenderInstruction.DebugRenderer.class, readDebug);
+        Assertions.assertEquals(debug.getData(), readDebug.getData());
+        Assertions.assertTrue(readDebug.isFilled());
+    }
+
+    @Test
+    @DisplayName("Test BlobReference Round Trip")
+    public void testBlobReference() {
+        byte[] icon = new byte[32 * 1024];
+        Instruction instruction = Instruction.setWindowIcon(icon);
+
+        BlobReference ref = BlobReference.of(icon);
+        Instruction referenced = roundTrip(instruction.mapParameters(p -> p instanceof byte[] ? ref : p));
+        Assertions.assertEquals(List.of(ref), BlobReference.find(referenced));
+        Assertions.assertTrue(ref.matches(icon));
+        Assertions.assertFalse(ref.matches(new byte[16]));
+
+        Instruction resolved = referenced.mapParameters(p -> p instanceof BlobReference ? icon : p);
+        Assertions.assertSame(icon, resolved.firstParameter(byte[].class));
+        Assertions.assertSame(instruction, instruction.mapParameters(p -> p));
+    }
+
+    @Test
+    @DisplayName("Test WireCodec Values")
+    public void testValues() {
+        ByteBuf buf = Unpooled.buffer();
+        List<Object> values = List.of(true, (byte) 1, (short) 2, 3, 4L, 5F, 6D, "7", UUID.randomUUID(), List.of(8, "9"), DrawingContext.Type.OVERLAY);
+
+        WireCodec.writeCollection(buf, values);
+        Assertions.assertEquals(values, WireCodec.readList(buf));
+
+        buf.release();
+    }
+
+}
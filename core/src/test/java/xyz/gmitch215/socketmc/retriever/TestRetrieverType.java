@@ -1,8 +1,19 @@
 package xyz.gmitch215.socketmc.retriever;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.config.ModPermission;
+import xyz.gmitch215.socketmc.network.WireCodec;
+import xyz.gmitch215.socketmc.spigot.SocketPlugin;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public class TestRetrieverType {
 
@@ -32,4 +43,49 @@ public class TestRetrieverType {
         }
     }
 
+    @Test
+    @DisplayName("Test RetrieverType#fromId")
+    public void testFromId() {
+        for (RetrieverType<?> type : RetrieverType.values())
+            Assertions.assertSame(type, RetrieverType.fromId(type.getId()));
+
+        Assertions.assertNull(RetrieverType.fromId("unknown"));
+        Assertions.assertNull(RetrieverType.fromId(null));
+    }
+
+    @Test
+    @DisplayName("Test RetrieverType Wire Format")
+    public void testWireFormat() {
+        ByteBuf buf = Unpooled.buffer();
+
+        Window window = new Window(1, false, -10, 20, 854, 480, 1920, 1080, 427, 240, 2.0, 60, "x11", 144);
+        RetrieverType.CURRENT_WINDOW.writeValue(buf, window);
+        Assertions.assertEquals(window, RetrieverType.CURRENT_WINDOW.readValue(buf));
+
+        RetrieverType.OPERATING_SYSTEM.writeValue(buf, OS.LINUX);
+        Assertions.assertEquals(OS.LINUX, RetrieverType.OPERATING_SYSTEM.readValue(buf));
+
+        UUID[] hidden = { UUID.randomUUID(), UUID.randomUUID() };
+        RetrieverType.HIDDEN_PLAYERS.writeValue(buf, hidden);
+        Assertions.assertArrayEquals(hidden, RetrieverType.HIDDEN_PLAYERS.readValue(buf));
+
+        Map<SocketPlugin, Set<ModPermission>> permissions = Map.of(SocketPlugin.UNKNOWN, EnumSet.of(ModPermission.REQUIRED, ModPermission.USE_GUI));
+        RetrieverType.PLUGIN_PERMISSIONS.writeValue(buf, permissions);
+        Assertions.assertEquals(permissions, RetrieverType.PLUGIN_PERMISSIONS.readValue(buf));
+
+        RetrieverType.FPS.writeValue(buf, null);
+        Assertions.assertNull(RetrieverType.FPS.readValue(buf));
+        Assertions.assertEquals(0, buf.readableBytes());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RetrieverType.FPS.writeValue(buf, "60"));
+
+        // Values are sent by clients, so Java serialization is rejected
+        buf.writeBoolean(true);
+        buf.writeByte(127);
+        WireCodec.writeByteArray(buf, WireCodec.serialize(new Date()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RetrieverType.LAUNCH_VERSION.readValue(buf));
+
+        buf.release();
+    }
+
 }
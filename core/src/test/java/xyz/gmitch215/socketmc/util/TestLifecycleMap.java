@@ -40,6 +40,7 @@ public class TestLifecycleMap {
         }
 
         Assertions.assertEquals(0, map.size());
+        Assertions.assertTrue(map.getIdentifiers().isEmpty());
     }
 
     @Test
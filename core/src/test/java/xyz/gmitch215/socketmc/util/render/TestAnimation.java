@@ -0,0 +1,73 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+
+import java.util.Map;
+
+public class TestAnimation {
+
+    @Test
+    @DisplayName("Test Animation#valueAt")
+    public void testValueAt() {
+        Animation animation = Animation.builder()
+                .keyframe(100, 0)
+                .keyframe(200, 10)
+                .keyframe(400, 0, Easing.EASE_IN_OUT_QUAD)
+                .build();
+
+        Assertions.assertEquals(0, animation.valueAt(0));
+        Assertions.assertEquals(5, animation.valueAt(150), 0.001);
+        Assertions.assertEquals(10, animation.valueAt(200));
+        Assertions.assertEquals(5, animation.valueAt(300), 0.001);
+        Assertions.assertEquals(0, animation.valueAt(1000));
+
+        Animation loop = Animation.builder()
+                .keyframe(0, 0)
+                .keyframe(100, 10)
+                .repeat(Animation.Repeat.LOOP)
+                .build();
+        Assertions.assertEquals(5, loop.valueAt(150), 0.001);
+
+        Animation alternate = Animation.builder()
+                .keyframe(0, 0)
+                .keyframe(100, 10)
+                .repeat(Animation.Repeat.ALTERNATE)
+                .build();
+        Assertions.assertEquals(8, alternate.valueAt(120), 0.001);
+
+        for (Easing easing : Easing.values()) {
+            Assertions.assertEquals(0, easing.apply(0), 0.001, easing.name());
+            Assertions.assertEquals(1, easing.apply(1), 0.001, easing.name());
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Animation.builder().keyframe(100, 0).keyframe(100, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Animation.builder().build());
+    }
+
+    @Test
+    @DisplayName("Test Animation Parameters")
+    public void testParameters() {
+        Animation slide = Animation.between(-100, 5, 500, Easing.EASE_OUT_CUBIC);
+        Instruction text = Animation.animate(Instruction.drawText(0, 5, "Hello", 1000), Map.of(0, slide));
+
+        Assertions.assertEquals(slide, text.parameter(0));
+        Assertions.assertTrue(text.intParameter(0) >= -100 && text.intParameter(0) <= 5);
+        Assertions.assertEquals(5, text.intParameter(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Animation.animate(text, Map.of(2, slide)));
+
+        DrawingContext.Modifier scale = Animation.animate(DrawingContext.Modifier.scale(1, 1, 1), Map.of(0, slide));
+        Assertions.assertEquals(slide, scale.firstParameter());
+        Assertions.assertEquals(1F, scale.lastFloatParameter());
+
+        ByteBuf buf = Unpooled.buffer();
+        slide.writeTo(buf);
+        Assertions.assertEquals(slide, Animation.readFrom(buf));
+        buf.release();
+    }
+
+}
@@ -0,0 +1,81 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class TestContextPatch {
+
+    private static DrawingContext context(int... rows) {
+        List<Function<GraphicsContext, DrawingContext.Command>> commands = new ArrayList<>();
+        for (int row : rows) commands.add(DrawingContext.Command.hLine(0, 100, row));
+
+        return DrawingContext.of(commands);
+    }
+
+    @Test
+    @DisplayName("Test ContextPatch#diff")
+    public void testDiff() {
+        int[][] cases = {
+                { 1, 2, 3, 4 }, { 1, 2, 5, 4 },
+                { 1, 2, 3 }, { 1, 2, 3, 4, 5 },
+                { 1, 2, 3, 4, 5 }, { 1, 5 },
+                { 1, 2, 3 }, { },
+                { }, { 1, 2 }
+        };
+
+        for (int i = 0; i < cases.length; i += 2) {
+            DrawingContext from = context(cases[i]);
+            DrawingContext to = context(cases[i + 1]);
+
+            ContextPatch patch = ContextPatch.diff(from, to);
+            from.patch(patch);
+            Assertions.assertEquals(to, from);
+        }
+
+        Assertions.assertEquals(1, ContextPatch.diff(context(1, 2, 3, 4), context(1, 2, 5, 4)).getOperations().size());
+        Assertions.assertTrue(ContextPatch.diff(context(1, 2), context(1, 2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test ContextPatch Bounds")
+    public void testBounds() {
+        DrawingContext context = context(1, 2);
+        context.lock();
+
+        context.patch(ContextPatch.builder().remove(1).insert(1, DrawingContext.Command.hLine(0, 100, 3)).build());
+        Assertions.assertEquals(context(1, 3), context);
+
+        ContextPatch invalid = ContextPatch.builder().remove(0).replace(1, DrawingContext.Command.hLine(0, 100, 4)).build();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> context.patch(invalid));
+        Assertions.assertEquals(context(1, 3), context);
+    }
+
+    @Test
+    @DisplayName("Test ContextPatch Round Trip")
+    public void testRoundTrip() {
+        ContextPatch patch = ContextPatch.diff(context(1, 2, 3), context(1, 4));
+
+        ByteBuf buf = Unpooled.buffer();
+        patch.writeTo(buf);
+        Assertions.assertEquals(patch, ContextPatch.readFrom(buf));
+        Assertions.assertEquals(0, buf.readableBytes());
+        buf.release();
+
+        DrawingContext context = context(1, 2);
+        context.setId(Identifier.socketmc("dashboard"));
+
+        buf = Unpooled.buffer();
+        context.writeTo(buf);
+        Assertions.assertEquals(Identifier.socketmc("dashboard"), DrawingContext.readFrom(buf).getId());
+        buf.release();
+    }
+
+}
@@ -0,0 +1,40 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+public class TestDrawingContext {
+
+    @Test
+    @DisplayName("Test DrawingContext#addCommand")
+    public void testAddCommand() {
+        DrawingContext.Command line = DrawingContext.Command.hLine(0, 100, 1);
+        DrawingContext.Command fill = DrawingContext.Command.fill(0, 0, 10, 10);
+
+        DrawingContext context = DrawingContext.of();
+        context.addCommand(line);
+        context.addCommand(0, fill);
+
+        // Commands are stored as themselves, not wrapped in a lambda
+        Assertions.assertSame(fill, context.getCommands().get(0));
+        Assertions.assertSame(line, context.getCommands().get(1));
+        Assertions.assertSame(line, line.apply(null));
+
+        ByteBuf buf = Unpooled.buffer();
+        context.writeTo(buf);
+
+        DrawingContext read = DrawingContext.readFrom(buf);
+        Assertions.assertEquals(0, buf.readableBytes());
+
+        for (Function<GraphicsContext, DrawingContext.Command> command : read)
+            Assertions.assertInstanceOf(DrawingContext.Command.class, command);
+
+        Assertions.assertEquals(context.getCommands(), read.getCommands());
+    }
+
+}
@@ -0,0 +1,85 @@
+package xyz.gmitch215.socketmc.util.render;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.gmitch215.socketmc.util.render.text.PlainText;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+public class TestExpression {
+
+    private static GraphicsContext context(int mouseX, int mouseY, int width, int height) {
+        return (GraphicsContext) Proxy.newProxyInstance(GraphicsContext.class.getClassLoader(), new Class<?>[] { GraphicsContext.class }, (proxy, method, args) -> switch (method.getName()) {
+            case "getMouseX" -> mouseX;
+            case "getMouseY" -> mouseY;
+            case "getGuiWidth" -> width;
+            case "getGuiHeight" -> height;
+            default -> 0;
+        });
+    }
+
+    @Test
+    @DisplayName("Test Expression#evaluate")
+    public void testEvaluate() {
+        GraphicsContext context = context(10, 20, 320, 240);
+
+        Assertions.assertEquals(300, Expression.guiWidth().minus(20).evaluate(context));
+        Assertions.assertEquals(15, Expression.mouseX().plus(Expression.mouseY()).div(2).evaluate(context));
+        Assertions.assertEquals(0, Expression.mouseX().div(0).evaluate(context));
+        Assertions.assertEquals(20, Expression.mouseX().max(Expression.mouseY()).evaluate(context));
+
+        Expression hovered = Expression.mouseX().greaterThan(5).and(Expression.mouseY().lessThan(15));
+        Assertions.assertEquals(0, hovered.evaluate(context));
+        Assertions.assertEquals(1, hovered.not().evaluate(context));
+        Assertions.assertEquals(7, Expression.when(hovered, Expression.constant(3), Expression.constant(7)).evaluate(context));
+
+        Assertions.assertTrue(Expression.constant(2).times(3).isConstant());
+        Assertions.assertFalse(Expression.mouseX().times(3).isConstant());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Expression.mouseX().plus(null));
+    }
+
+    @Test
+    @DisplayName("Test Command#resolve")
+    public void testResolve() {
+        DrawingContext.Command fill = DrawingContext.Command.fill(0, 0, 10, 10);
+        Assertions.assertTrue(fill.isStatic());
+        Assertions.assertSame(fill, DrawingContext.resolve(fill, context(0, 0, 0, 0)));
+
+        DrawingContext.Command anchored = Expression.bind(fill, Map.of(2, Expression.guiWidth(), 3, Expression.mouseY()));
+        Assertions.assertFalse(anchored.isStatic());
+
+        DrawingContext.Command resolved = anchored.resolve(context(0, 50, 320, 240));
+        Assertions.assertNotNull(resolved);
+        Assertions.assertEquals(320, resolved.intParameter(2));
+        Assertions.assertEquals(50, resolved.intParameter(3));
+
+        DrawingContext.Command hidden = DrawingContext.Command.drawString(0, 0, PlainText.of("Hover"), java.awt.Color.WHITE, false,
+                List.of(DrawingContext.Modifier.visibleIf(Expression.mouseX().lessThan(100))));
+        Assertions.assertNull(hidden.resolve(context(150, 0, 0, 0)));
+        Assertions.assertNotNull(hidden.resolve(context(50, 0, 0, 0)));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Expression.bind(fill, Map.of(10, Expression.mouseX())));
+    }
+
+    @Test
+    @DisplayName("Test Expression Round Trip")
+    public void testRoundTrip() {
+        Expression expression = Expression.when(Expression.mouseX().greaterThan(Expression.guiWidth().div(2)), Expression.mouseX().minus(40), Expression.mouseX().plus(8));
+
+        ByteBuf buf = Unpooled.buffer();
+        expression.writeTo(buf);
+        Assertions.assertEquals(expression, Expression.readFrom(buf));
+        Assertions.assertEquals(0, buf.readableBytes());
+
+        buf.clear();
+        for (int i = 0; i <= Expression.MAX_DEPTH + 1; i++) buf.writeByte(12);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Expression.readFrom(buf));
+        buf.release();
+    }
+
+}
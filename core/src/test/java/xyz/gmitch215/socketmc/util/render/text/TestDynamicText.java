@@ -0,0 +1,48 @@
+package xyz.gmitch215.socketmc.util.render.text;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestDynamicText {
+
+    @Test
+    @DisplayName("Test Placeholder.DurationFormat")
+    public void testDurationFormat() {
+        Assertions.assertEquals("02:03", Placeholder.DurationFormat.CLOCK.format(123_000));
+        Assertions.assertEquals("1:00:05", Placeholder.DurationFormat.CLOCK.format(3_605_000));
+        Assertions.assertEquals("124", Placeholder.DurationFormat.SECONDS.format(123_001));
+        Assertions.assertEquals("1h 0m 5s", Placeholder.DurationFormat.UNITS.format(3_605_000));
+        Assertions.assertEquals("0s", Placeholder.DurationFormat.UNITS.format(0));
+    }
+
+    @Test
+    @DisplayName("Test DynamicText#resolve")
+    public void testResolve() {
+        DynamicText text = DynamicText.of("Ends in {0} ({1})", Placeholder.countdown(10_000), Placeholder.stopwatch(0, Placeholder.DurationFormat.SECONDS));
+
+        Assertions.assertEquals(PlainText.of("Ends in 00:05 (5)").toJSON(), text.resolve(null, 5_000));
+        Assertions.assertEquals(PlainText.of("Ends in 00:00 (20)").toJSON(), text.resolve(null, 20_000));
+
+        DynamicText unused = DynamicText.of("{0} {5}", Placeholder.countdown(0));
+        Assertions.assertEquals(PlainText.of("00:00 {5}").toJSON(), unused.resolve(null, 0));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Placeholder.clock("qqqqqqq"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DynamicText.of("{0}", (Placeholder) null));
+    }
+
+    @Test
+    @DisplayName("Test DynamicText Round Trip")
+    public void testRoundTrip() {
+        DynamicText text = DynamicText.of("{0} | {1} | {2}", Placeholder.countdown(1000), Placeholder.clock("HH:mm"), Placeholder.fps());
+
+        ByteBuf buf = Unpooled.buffer();
+        text.writeTo(buf);
+        Assertions.assertEquals(text, DynamicText.readFrom(buf));
+        Assertions.assertEquals(0, buf.readableBytes());
+        buf.release();
+    }
+
+}
@@ -1,11 +1,15 @@
 package xyz.gmitch215.socketmc.fabric;
 
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.SocketDecoder;
 import xyz.gmitch215.socketmc.fabric.machines.RenderingMachine;
+import xyz.gmitch215.socketmc.retriever.RetrieverSubscriptions;
 
 public final class FabricEvents {
 
     public void onDisconnect() {
         FabricSocketMC.eventsEnabled = false;
+        SocketDecoder.reset();
     }
 
     public void tick() {
@@ -13,4 +17,9 @@ public final class FabricEvents {
         RenderingMachine.tick();
     }
 
+    public void clientTick() {
+        RetrieverSubscriptions.tick();
+        EventCoalescer.tick();
+    }
+
 }
@@ -1,21 +1,25 @@
 package xyz.gmitch215.socketmc.fabric;
 
-import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelFuture;
+import io.netty.buffer.ByteBuf;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.client.Minecraft;
-import net.minecraft.network.FriendlyByteBuf;
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.EventSubscriptions;
 import xyz.gmitch215.socketmc.SocketMC;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.retriever.ClientProperty;
+import xyz.gmitch215.socketmc.screen.AbstractScreen;
+import xyz.gmitch215.socketmc.fabric.screen.FabricScreenUtil;
 import xyz.gmitch215.socketmc.fabric.machines.*;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +42,7 @@ public final class FabricSocketMC implements SocketMC, ClientModInitializer {
         FabricEvents events = new FabricEvents();
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> events.onDisconnect());
         ServerTickEvents.END_SERVER_TICK.register(client -> events.tick());
+        ClientTickEvents.END_CLIENT_TICK.register(client -> events.clientTick());
 
         // Events - Machines
         HudRenderCallback.EVENT.register((graphics, delta) -> {
@@ -53,28 +58,17 @@ public final class FabricSocketMC implements SocketMC, ClientModInitializer {
         });
     }
 
+    public static boolean canSend(int id, int key) {
+        if (!eventsEnabled) return false;
+        if (minecraft.player == null) return false;
+
+        return EventSubscriptions.shouldSend(id, key);
+    }
+
     public static void sendEvent(int id, Map<String, Object> params) {
-        if (!eventsEnabled) return;
-        if (minecraft.player == null) return;
-
-        try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ObjectOutputStream obj = new ObjectOutputStream(out);
-            obj.writeObject(params);
-            obj.close();
-
-            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-            buf.writeVarInt(-3);
-            buf.writeVarInt(id);
-            buf.writeByteArray(out.toByteArray());
-
-            ChannelFuture future = minecraft.player.connection.getConnection().channel.writeAndFlush(buf);
-            future.await();
-            if (!future.isSuccess())
-                throw new IOException("Failed to send event", future.cause());
-        } catch (IOException | InterruptedException e) {
-            SocketMC.print(e);
-        }
+        if (!canSend(id, id == EventFilter.PRESS_KEY ? (int) params.get("key") : -1)) return;
+
+        EventCoalescer.queue(id, params);
     }
 
     // Implementation
@@ -103,4 +97,42 @@ public final class FabricSocketMC implements SocketMC, ClientModInitializer {
     public Set<UUID> getHiddenPlayers() {
         return minecraft.getPlayerSocialManager().getHiddenPlayers();
     }
+
+    @Override
+    public void execute(Runnable task) {
+        minecraft.execute(task);
+    }
+
+    @Override
+    public Collection<Class<? extends Machine>> getMachines() {
+        return FabricMachineFinder.MACHINES;
+    }
+
+    @Override
+    public Set<ClientProperty<?>> getProperties() {
+        return FabricRetriever.PROPERTIES;
+    }
+
+    @Override
+    public void sendRetrieverResponse(UUID id, Object value) throws Exception {
+        FabricRetriever.response(id, value);
+    }
+
+    @Override
+    public void sendFrame(ByteBuf frame) {
+        if (minecraft.player == null) {
+            frame.release();
+            return;
+        }
+
+        minecraft.player.connection.getConnection().channel.writeAndFlush(frame);
+    }
+
+    @Override
+    public String getScreenTitle() {
+        if (minecraft.screen == null) return null;
+
+        AbstractScreen screen = FabricScreenUtil.fromMinecraft(minecraft.screen);
+        return screen == null ? "" : screen.getTitleJSON();
+    }
 }
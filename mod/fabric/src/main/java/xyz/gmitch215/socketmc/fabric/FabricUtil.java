@@ -7,7 +7,9 @@ import xyz.gmitch215.socketmc.screen.util.Sprite;
 import xyz.gmitch215.socketmc.screen.util.Tooltip;
 import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.NBTTag;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
 import xyz.gmitch215.socketmc.util.render.text.JsonText;
+import xyz.gmitch215.socketmc.fabric.screen.FabricGraphicsContext;
 import net.minecraft.client.gui.components.WidgetSprites;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -23,6 +25,11 @@ public final class FabricUtil {
         return Component.Serializer.fromJson(json, minecraft.level.registryAccess());
     }
 
+    public static Component toComponent(Object text) {
+        if (text instanceof DynamicText dynamic) return dynamic.render(FabricGraphicsContext.INSTANCE, FabricUtil::fromJson);
+        return fromJson((String) text);
+    }
+
     public static String toJson(Component component) {
         if (component == null) return "";
         return Component.Serializer.toJson(component, minecraft.level.registryAccess());
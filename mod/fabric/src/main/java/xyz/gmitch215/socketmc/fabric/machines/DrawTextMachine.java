@@ -3,8 +3,10 @@ package xyz.gmitch215.socketmc.fabric.machines;
 import xyz.gmitch215.socketmc.fabric.FabricUtil;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.LifecycleMap;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.network.chat.Component;
@@ -14,7 +16,7 @@ import xyz.gmitch215.socketmc.fabric.FabricSocketMC;
 import java.util.function.Consumer;
 
 @InstructionId(Instruction.DRAW_TEXT)
-public final class DrawTextMachine implements Machine {
+public final class DrawTextMachine implements AddressableMachine {
 
     public static final DrawTextMachine MACHINE = new DrawTextMachine();
 
@@ -27,16 +29,22 @@ public final class DrawTextMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics));
     }
 
+    @NotNull
     @Override
-    public void onInstruction(@NotNull Instruction instruction) {
-        int x = instruction.intParameter(0);
-        int y = instruction.intParameter(1);
-        Component c = FabricUtil.fromJson(instruction.stringParameter(2, "{}"));
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
+    }
+
+    @Override
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) {
+        Object text = instruction.parameter(2);
+        Component c = text instanceof DynamicText ? null : FabricUtil.fromJson(instruction.stringParameter(2, "{}"));
         int color = instruction.intParameter(3);
         boolean dropShadow = instruction.booleanParameter(4, true);
         long millis = instruction.lastLongParameter();
 
-        lifecycle.store(graphics -> graphics.drawString(FabricSocketMC.minecraft.font, c, x, y, color, dropShadow), millis);
+        // Coordinates and dynamic text are read every frame
+        lifecycle.store(id, graphics -> graphics.drawString(FabricSocketMC.minecraft.font, c == null ? FabricUtil.toComponent(text) : c, instruction.intParameter(0), instruction.intParameter(1), color, dropShadow), millis);
     }
 
 }
@@ -4,6 +4,7 @@ import xyz.gmitch215.socketmc.fabric.screen.FabricOverlay;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
 import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.PatchContextMachine;
 import xyz.gmitch215.socketmc.screen.Overlay;
 
 import static xyz.gmitch215.socketmc.fabric.FabricSocketMC.minecraft;
@@ -21,8 +22,12 @@ public final class SetOverlayMachine implements Machine {
 
         if (overlay == null)
             minecraft.setOverlay(null);
-        else
-            minecraft.setOverlay(new FabricOverlay((Overlay) overlay));
+        else {
+            Overlay o = (Overlay) overlay;
+            PatchContextMachine.register(o.getContext());
+
+            minecraft.setOverlay(new FabricOverlay(o));
+        }
     }
 
 }
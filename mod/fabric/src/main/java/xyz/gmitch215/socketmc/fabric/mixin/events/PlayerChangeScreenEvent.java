@@ -1,5 +1,7 @@
 package xyz.gmitch215.socketmc.fabric.mixin.events;
 
+import xyz.gmitch215.socketmc.EventSubscriptions;
+import xyz.gmitch215.socketmc.network.EventFilter;
 import xyz.gmitch215.socketmc.fabric.FabricSocketMC;
 import xyz.gmitch215.socketmc.fabric.screen.FabricScreenUtil;
 import xyz.gmitch215.socketmc.screen.AbstractScreen;
@@ -18,6 +20,7 @@ public class PlayerChangeScreenEvent {
     @Inject(method = "setScreen", at = @At("HEAD"))
     public void onScreenChange(Screen screen, CallbackInfo ci) {
         if (!FabricSocketMC.eventsEnabled) return;
+        if (!EventSubscriptions.isSubscribed(EventFilter.CHANGE_SCREEN)) return;
 
         AbstractScreen oldScreen = FabricScreenUtil.fromMinecraft(FabricSocketMC.minecraft.screen);
         if (oldScreen == null) return;
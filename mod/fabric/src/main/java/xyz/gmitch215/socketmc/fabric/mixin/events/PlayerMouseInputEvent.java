@@ -1,41 +1,30 @@
 package xyz.gmitch215.socketmc.fabric.mixin.events;
 
 import net.minecraft.client.MouseHandler;
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.network.EventFilter;
 import xyz.gmitch215.socketmc.fabric.FabricSocketMC;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.Map;
-
 @Mixin(MouseHandler.class)
 public class PlayerMouseInputEvent {
 
-    @Unique
-    private int previousX = -1;
-
-    @Unique
-    private int previousY = -1;
-
     @Inject(method = "onMove", at = @At("HEAD"))
     private void onMove(long window, double x, double y, CallbackInfo ci){
-        if (Math.abs(previousX - x) < 10 || Math.abs(previousY - y) < 10) return;
-
-        previousX = (int) x;
-        previousY = (int) y;
-        FabricSocketMC.sendEvent(1, Map.of("x", x, "y", y));
+        if (FabricSocketMC.canSend(EventFilter.MOVE_MOUSE, -1)) EventCoalescer.moveMouse(x, y);
     }
 
     @Inject(method = "onScroll", at = @At("HEAD"))
     private void onScroll(long window, double xOffset, double yOffset, CallbackInfo ci){
-        FabricSocketMC.sendEvent(2, Map.of("x", xOffset, "y", yOffset));
+        if (FabricSocketMC.canSend(EventFilter.SCROLL_MOUSE, -1)) EventCoalescer.scrollMouse(xOffset, yOffset);
     }
 
     @Inject(method = "onPress", at = @At("HEAD"))
     private void onPress(long window, int button, int action, int mods, CallbackInfo ci){
-        FabricSocketMC.sendEvent(3, Map.of("button", button, "action", action, "mods", mods));
+        if (FabricSocketMC.canSend(EventFilter.CLICK_MOUSE, -1)) EventCoalescer.clickMouse(button, action, mods);
     }
 
 }
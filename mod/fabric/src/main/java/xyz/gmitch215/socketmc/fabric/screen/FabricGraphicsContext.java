@@ -30,6 +30,16 @@ public final class FabricGraphicsContext implements GraphicsContext {
         return minecraft.getWindow().getScreenHeight();
     }
 
+    @Override
+    public int getGuiWidth() {
+        return minecraft.getWindow().getGuiScaledWidth();
+    }
+
+    @Override
+    public int getGuiHeight() {
+        return minecraft.getWindow().getGuiScaledHeight();
+    }
+
     @Override
     public int getMouseX() {
         return (int) (getRawMouseX() * minecraft.getWindow().getGuiScaledWidth() / minecraft.getWindow().getScreenWidth());
@@ -77,4 +87,19 @@ public final class FabricGraphicsContext implements GraphicsContext {
         if (key == null) return false;
         return InputConstants.isKeyDown(minecraft.getWindow().getWindow(), key.getCode());
     }
+
+    @Override
+    public double getPlayerX() {
+        return minecraft.player == null ? 0 : minecraft.player.getX();
+    }
+
+    @Override
+    public double getPlayerY() {
+        return minecraft.player == null ? 0 : minecraft.player.getY();
+    }
+
+    @Override
+    public double getPlayerZ() {
+        return minecraft.player == null ? 0 : minecraft.player.getZ();
+    }
 }
@@ -1,6 +1,9 @@
 package xyz.gmitch215.socketmc.forge;
 
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.SocketDecoder;
 import xyz.gmitch215.socketmc.forge.machines.RenderingMachine;
+import xyz.gmitch215.socketmc.retriever.RetrieverSubscriptions;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -10,6 +13,7 @@ public final class ForgeEvents {
     @SubscribeEvent
     public void onDisconnect(PlayerEvent.PlayerLoggedOutEvent event) {
         ForgeSocketMC.eventsEnabled = false;
+        SocketDecoder.reset();
     }
 
     @SubscribeEvent
@@ -20,4 +24,12 @@ public final class ForgeEvents {
         RenderingMachine.tick();
     }
 
+    @SubscribeEvent
+    public void clientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        RetrieverSubscriptions.tick();
+        EventCoalescer.tick();
+    }
+
 }
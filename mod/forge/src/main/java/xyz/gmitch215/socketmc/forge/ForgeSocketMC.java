@@ -1,16 +1,20 @@
 package xyz.gmitch215.socketmc.forge;
 
-import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelFuture;
+import io.netty.buffer.ByteBuf;
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.EventSubscriptions;
 import xyz.gmitch215.socketmc.SocketMC;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.retriever.ClientProperty;
+import xyz.gmitch215.socketmc.screen.AbstractScreen;
+import xyz.gmitch215.socketmc.forge.screen.ForgeScreenUtil;
+import xyz.gmitch215.socketmc.forge.machines.ForgeMachineFinder;
 import net.minecraft.client.Minecraft;
-import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.Mod;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,28 +36,17 @@ public final class ForgeSocketMC implements SocketMC {
         MinecraftForge.EVENT_BUS.register(new ForgeEvents());
     }
 
+    public static boolean canSend(int id, int key) {
+        if (!eventsEnabled) return false;
+        if (minecraft.player == null) return false;
+
+        return EventSubscriptions.shouldSend(id, key);
+    }
+
     public static void sendEvent(int id, Map<String, Object> params) {
-        if (!eventsEnabled) return;
-        if (minecraft.player == null) return;
-
-        try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ObjectOutputStream obj = new ObjectOutputStream(out);
-            obj.writeObject(params);
-            obj.close();
-
-            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-            buf.writeVarInt(-3);
-            buf.writeVarInt(id);
-            buf.writeByteArray(out.toByteArray());
-
-            ChannelFuture future = minecraft.player.connection.getConnection().channel().writeAndFlush(buf);
-            future.await();
-            if (!future.isSuccess())
-                throw new IOException("Failed to send event", future.cause());
-        } catch (IOException | InterruptedException e) {
-            SocketMC.print(e);
-        }
+        if (!canSend(id, id == EventFilter.PRESS_KEY ? (int) params.get("key") : -1)) return;
+
+        EventCoalescer.queue(id, params);
     }
 
     // Implementation
@@ -82,4 +75,42 @@ public final class ForgeSocketMC implements SocketMC {
     public Set<UUID> getHiddenPlayers() {
         return minecraft.getPlayerSocialManager().getHiddenPlayers();
     }
+
+    @Override
+    public void execute(Runnable task) {
+        minecraft.execute(task);
+    }
+
+    @Override
+    public Collection<Class<? extends Machine>> getMachines() {
+        return ForgeMachineFinder.MACHINES;
+    }
+
+    @Override
+    public Set<ClientProperty<?>> getProperties() {
+        return ForgeRetriever.PROPERTIES;
+    }
+
+    @Override
+    public void sendRetrieverResponse(UUID id, Object value) throws Exception {
+        ForgeRetriever.response(id, value);
+    }
+
+    @Override
+    public void sendFrame(ByteBuf frame) {
+        if (minecraft.player == null) {
+            frame.release();
+            return;
+        }
+
+        minecraft.player.connection.getConnection().channel().writeAndFlush(frame);
+    }
+
+    @Override
+    public String getScreenTitle() {
+        if (minecraft.screen == null) return null;
+
+        AbstractScreen screen = ForgeScreenUtil.fromMinecraft(minecraft.screen);
+        return screen == null ? "" : screen.getTitleJSON();
+    }
 }
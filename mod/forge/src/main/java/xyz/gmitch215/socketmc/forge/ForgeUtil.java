@@ -10,7 +10,9 @@ import xyz.gmitch215.socketmc.screen.util.Sprite;
 import xyz.gmitch215.socketmc.screen.util.Tooltip;
 import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.NBTTag;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
 import xyz.gmitch215.socketmc.util.render.text.JsonText;
+import xyz.gmitch215.socketmc.forge.screen.ForgeGraphicsContext;
 
 import static xyz.gmitch215.socketmc.forge.ForgeSocketMC.minecraft;
 
@@ -23,6 +25,11 @@ public final class ForgeUtil {
         return Component.Serializer.fromJson(json, minecraft.level.registryAccess());
     }
 
+    public static Component toComponent(Object text) {
+        if (text instanceof DynamicText dynamic) return dynamic.render(ForgeGraphicsContext.INSTANCE, ForgeUtil::fromJson);
+        return fromJson((String) text);
+    }
+
     public static String toJson(Component component) {
         if (component == null) return "";
         return Component.Serializer.toJson(component, minecraft.level.registryAccess());
@@ -3,7 +3,8 @@ package xyz.gmitch215.socketmc.forge.machines;
 import com.mojang.blaze3d.vertex.*;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.LifecycleMap;
 import xyz.gmitch215.socketmc.util.render.RenderBuffer;
 import xyz.gmitch215.socketmc.util.render.Vertex;
@@ -15,7 +16,7 @@ import org.joml.Matrix4f;
 import java.util.function.Consumer;
 
 @InstructionId(Instruction.DRAW_BUFFER)
-public final class DrawBufferMachine implements Machine {
+public final class DrawBufferMachine implements AddressableMachine {
 
     public static final DrawBufferMachine MACHINE = new DrawBufferMachine();
 
@@ -28,8 +29,14 @@ public final class DrawBufferMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics));
     }
 
+    @NotNull
     @Override
-    public void onInstruction(@NotNull Instruction instruction) {
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
+    }
+
+    @Override
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) {
         RenderBuffer buffer = instruction.parameter(0, RenderBuffer.class);
         long millis = instruction.lastLongParameter();
 
@@ -42,7 +49,7 @@ public final class DrawBufferMachine implements Machine {
             case QUADRILATERALS -> VertexFormat.Mode.QUADS;
         };
 
-        lifecycle.store(graphics -> {
+        lifecycle.store(id, graphics -> {
             Tesselator tesselator = Tesselator.getInstance();
             Matrix4f matrix = graphics.pose().last().pose();
 
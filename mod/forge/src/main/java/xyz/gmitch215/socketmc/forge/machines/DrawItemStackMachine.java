@@ -7,14 +7,15 @@ import org.jetbrains.annotations.NotNull;
 import xyz.gmitch215.socketmc.forge.ForgeUtil;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.LifecycleMap;
 import xyz.gmitch215.socketmc.util.NBTTag;
 
 import java.util.function.BiConsumer;
 
 @InstructionId(Instruction.DRAW_ITEMSTACK)
-public final class DrawItemStackMachine implements Machine {
+public final class DrawItemStackMachine implements AddressableMachine {
 
     public static final DrawItemStackMachine MACHINE = new DrawItemStackMachine();
 
@@ -27,17 +28,22 @@ public final class DrawItemStackMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics, delta));
     }
 
+    @NotNull
     @Override
-    public void onInstruction(@NotNull Instruction instruction) throws Exception {
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
+    }
+
+    @Override
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) throws Exception {
         NBTTag tag = instruction.firstParameter(NBTTag.class);
-        int x = instruction.intParameter(1);
-        int y = instruction.intParameter(2);
         int guiOffset = instruction.intParameter(3);
         int randomSeed = instruction.intParameter(4);
         long millis = instruction.lastLongParameter();
 
         ItemStack item = ForgeUtil.toItem(tag);
 
-        lifecycle.store((graphics, delta) -> graphics.renderItem(item, x, y, guiOffset, randomSeed), millis);
+        // Coordinates are read every frame, so they can be animated
+        lifecycle.store(id, (graphics, delta) -> graphics.renderItem(item, instruction.intParameter(1), instruction.intParameter(2), guiOffset, randomSeed), millis);
     }
 }
@@ -2,7 +2,8 @@ package xyz.gmitch215.socketmc.forge.machines;
 
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.LifecycleMap;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.gui.GuiGraphics;
@@ -11,7 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.function.Consumer;
 
 @InstructionId(Instruction.DRAW_SHAPE)
-public final class DrawShapeMachine implements Machine {
+public final class DrawShapeMachine implements AddressableMachine {
 
     public static final DrawShapeMachine MACHINE = new DrawShapeMachine();
 
@@ -24,53 +25,68 @@ public final class DrawShapeMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics));
     }
 
-    private static void fill(int x, int y, Instruction i) {
-        int width = i.intParameter(3);
-        int height = i.intParameter(4);
+    private static void fill(Identifier id, Instruction i) {
         int color = i.intParameter(5);
         long millis = i.lastLongParameter();
 
-        lifecycle.store(graphics -> graphics.fill(x, y, x + width, y + height, color), millis);
+        lifecycle.store(id, graphics -> {
+            int x = i.intParameter(1);
+            int y = i.intParameter(2);
+
+            graphics.fill(x, y, x + i.intParameter(3), y + i.intParameter(4), color);
+        }, millis);
     }
 
-    private static void gradient(int x, int y, Instruction i) {
-        int width = i.intParameter(3);
-        int height = i.intParameter(4);
+    private static void gradient(Identifier id, Instruction i) {
         int z = i.intParameter(5);
         int color1 = i.intParameter(6);
         int color2 = i.intParameter(7);
         long millis = i.lastLongParameter();
 
-        lifecycle.store(graphics -> graphics.fillGradient(x, y, x + width, y + height, z, color1, color2), millis);
+        lifecycle.store(id, graphics -> {
+            int x = i.intParameter(1);
+            int y = i.intParameter(2);
+
+            graphics.fillGradient(x, y, x + i.intParameter(3), y + i.intParameter(4), z, color1, color2);
+        }, millis);
     }
 
-    private static void vline(int x, int y, Instruction i) {
-        int height = i.intParameter(3);
+    private static void vline(Identifier id, Instruction i) {
         int color = i.intParameter(4);
         long millis = i.lastLongParameter();
 
-        lifecycle.store(graphics -> graphics.vLine(x, y, y + height, color), millis);
+        lifecycle.store(id, graphics -> {
+            int y = i.intParameter(2);
+            graphics.vLine(i.intParameter(1), y, y + i.intParameter(3), color);
+        }, millis);
     }
 
-    private static void hline(int x, int y, Instruction i) {
-        int width = i.intParameter(3);
+    private static void hline(Identifier id, Instruction i) {
         int color = i.intParameter(4);
         long millis = i.lastLongParameter();
 
-        lifecycle.store(graphics -> graphics.hLine(x, x + width, y, color), millis);
+        lifecycle.store(id, graphics -> {
+            int x = i.intParameter(1);
+            graphics.hLine(x, x + i.intParameter(3), i.intParameter(2), color);
+        }, millis);
+    }
+
+    @NotNull
+    @Override
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
     }
 
     @Override
-    public void onInstruction(@NotNull Instruction instruction) {
-        String id = instruction.parameter(0, String.class);
-        int x = instruction.intParameter(1);
-        int y = instruction.intParameter(2);
-
-        switch (id) {
-            case "fill" -> fill(x, y, instruction);
-            case "gradient" -> gradient(x, y, instruction);
-            case "line_v" -> vline(x, y, instruction);
-            case "line_h" -> hline(x, y, instruction);
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) {
+        String type = instruction.parameter(0, String.class);
+
+        // Positions and sizes are read every frame, so they can be animated
+        switch (type) {
+            case "fill" -> fill(id, instruction);
+            case "gradient" -> gradient(id, instruction);
+            case "line_v" -> vline(id, instruction);
+            case "line_h" -> hline(id, instruction);
         }
     }
 }
@@ -1,9 +1,12 @@
 package xyz.gmitch215.socketmc.forge.machines;
 
+import xyz.gmitch215.socketmc.forge.ForgeUtil;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.LifecycleMap;
+import xyz.gmitch215.socketmc.util.render.text.DynamicText;
 import net.minecraft.client.DeltaTracker;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.network.chat.Component;
@@ -14,7 +17,7 @@ import java.util.function.Consumer;
 import static xyz.gmitch215.socketmc.forge.ForgeSocketMC.minecraft;
 
 @InstructionId(Instruction.DRAW_TEXT)
-public final class DrawTextMachine implements Machine {
+public final class DrawTextMachine implements AddressableMachine {
 
     public static final DrawTextMachine MACHINE = new DrawTextMachine();
 
@@ -27,16 +30,22 @@ public final class DrawTextMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics));
     }
 
+    @NotNull
     @Override
-    public void onInstruction(@NotNull Instruction instruction) {
-        int x = instruction.intParameter(0);
-        int y = instruction.intParameter(1);
-        Component c = Component.Serializer.fromJson(instruction.parameter(2, String.class), minecraft.level.registryAccess());
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
+    }
+
+    @Override
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) {
+        Object text = instruction.parameter(2);
+        Component c = text instanceof DynamicText ? null : Component.Serializer.fromJson(instruction.parameter(2, String.class), minecraft.level.registryAccess());
         int color = instruction.intParameter(3);
         boolean dropShadow = instruction.parameter(4, Boolean.class);
         long millis = instruction.parameter(5, Long.class);
 
-        lifecycle.store(graphics -> graphics.drawString(minecraft.font, c, x, y, color, dropShadow), millis);
+        // Coordinates and dynamic text are read every frame
+        lifecycle.store(id, graphics -> graphics.drawString(minecraft.font, c == null ? ForgeUtil.toComponent(text) : c, instruction.intParameter(0), instruction.intParameter(1), color, dropShadow), millis);
     }
 
 }
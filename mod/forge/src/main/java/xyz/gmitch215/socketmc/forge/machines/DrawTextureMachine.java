@@ -3,7 +3,8 @@ package xyz.gmitch215.socketmc.forge.machines;
 import xyz.gmitch215.socketmc.forge.ForgeUtil;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import org.jetbrains.annotations.NotNull;
 import xyz.gmitch215.socketmc.util.Identifier;
 import xyz.gmitch215.socketmc.util.LifecycleMap;
 import net.minecraft.client.DeltaTracker;
@@ -13,7 +14,7 @@ import net.minecraft.resources.ResourceLocation;
 import java.util.function.Consumer;
 
 @InstructionId(Instruction.DRAW_TEXTURE)
-public final class DrawTextureMachine implements Machine {
+public final class DrawTextureMachine implements AddressableMachine {
 
     public static final DrawTextureMachine MACHINE = new DrawTextureMachine();
 
@@ -26,10 +27,14 @@ public final class DrawTextureMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics));
     }
 
+    @NotNull
     @Override
-    public void onInstruction(Instruction instruction) {
-        int x = instruction.intParameter(0);
-        int y = instruction.intParameter(1);
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
+    }
+
+    @Override
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) {
         int width = instruction.intParameter(2);
         int height = instruction.intParameter(3);
         Identifier texture = instruction.parameter(4, Identifier.class);
@@ -45,7 +50,8 @@ public final class DrawTextureMachine implements Machine {
         int rw = regionWidth == -1 ? width : regionWidth;
         int rh = regionHeight == -1 ? height : regionHeight;
 
-        lifecycle.store(graphics -> graphics.blit(l, x, y, width, height, u, v, rw, rh, 256, 256), millis);
+        // Coordinates are read every frame, so they can be animated
+        lifecycle.store(id, graphics -> graphics.blit(l, instruction.intParameter(0), instruction.intParameter(1), width, height, u, v, rw, rh, 256, 256), millis);
     }
 
 }
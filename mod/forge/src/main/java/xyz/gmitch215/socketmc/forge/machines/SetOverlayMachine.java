@@ -4,6 +4,7 @@ import xyz.gmitch215.socketmc.forge.screen.ForgeOverlay;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
 import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.PatchContextMachine;
 import xyz.gmitch215.socketmc.screen.Overlay;
 
 import static xyz.gmitch215.socketmc.forge.ForgeSocketMC.minecraft;
@@ -21,8 +22,12 @@ public final class SetOverlayMachine implements Machine {
 
         if (overlay == null)
             minecraft.setOverlay(null);
-        else
-            minecraft.setOverlay(new ForgeOverlay((Overlay) overlay));
+        else {
+            Overlay o = (Overlay) overlay;
+            PatchContextMachine.register(o.getContext());
+
+            minecraft.setOverlay(new ForgeOverlay(o));
+        }
     }
 
 }
@@ -1,5 +1,7 @@
 package xyz.gmitch215.socketmc.forge.mixin.events;
 
+import xyz.gmitch215.socketmc.EventSubscriptions;
+import xyz.gmitch215.socketmc.network.EventFilter;
 import xyz.gmitch215.socketmc.forge.ForgeSocketMC;
 import xyz.gmitch215.socketmc.forge.screen.ForgeScreenUtil;
 import xyz.gmitch215.socketmc.screen.AbstractScreen;
@@ -20,6 +22,7 @@ public class PlayerChangeScreenEvent {
     @Inject(method = "setScreen", at = @At("HEAD"))
     public void onScreenChange(Screen screen, CallbackInfo ci) {
         if (!ForgeSocketMC.eventsEnabled) return;
+        if (!EventSubscriptions.isSubscribed(EventFilter.CHANGE_SCREEN)) return;
 
         AbstractScreen oldScreen = ForgeScreenUtil.fromMinecraft(minecraft.screen);
         AbstractScreen newScreen = ForgeScreenUtil.fromMinecraft(screen);
@@ -1,21 +1,28 @@
 package xyz.gmitch215.socketmc.neoforge;
 
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.SocketDecoder;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import xyz.gmitch215.socketmc.neoforge.machines.RenderingMachine;
+import xyz.gmitch215.socketmc.retriever.RetrieverSubscriptions;
 
 public final class NeoForgeEvents {
 
     @SubscribeEvent
     public void onDisconnect(PlayerEvent.PlayerLoggedOutEvent event) {
         NeoForgeSocketMC.eventsEnabled = false;
+        SocketDecoder.reset();
     }
 
     @SubscribeEvent
     public void tick(ClientTickEvent.Post event) {
         // Machines
         RenderingMachine.tick();
+
+        RetrieverSubscriptions.tick();
+        EventCoalescer.tick();
     }
 
 }
@@ -1,15 +1,19 @@
 package xyz.gmitch215.socketmc.neoforge;
 
-import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelFuture;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.client.Minecraft;
-import net.minecraft.network.FriendlyByteBuf;
 import net.neoforged.fml.common.Mod;
+import xyz.gmitch215.socketmc.EventCoalescer;
+import xyz.gmitch215.socketmc.EventSubscriptions;
 import xyz.gmitch215.socketmc.SocketMC;
-
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.retriever.ClientProperty;
+import xyz.gmitch215.socketmc.screen.AbstractScreen;
+import xyz.gmitch215.socketmc.neoforge.screen.NeoForgeScreenUtil;
+import xyz.gmitch215.socketmc.neoforge.machines.NeoForgeMachineFinder;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,28 +32,17 @@ public final class NeoForgeSocketMC implements SocketMC {
         INSTANCE.set(this);
     }
 
+    public static boolean canSend(int id, int key) {
+        if (!eventsEnabled) return false;
+        if (minecraft.player == null) return false;
+
+        return EventSubscriptions.shouldSend(id, key);
+    }
+
     public static void sendEvent(int id, Map<String, Object> params) {
-        if (!eventsEnabled) return;
-        if (minecraft.player == null) return;
-
-        try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ObjectOutputStream obj = new ObjectOutputStream(out);
-            obj.writeObject(params);
-            obj.close();
-
-            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-            buf.writeVarInt(-3);
-            buf.writeVarInt(id);
-            buf.writeByteArray(out.toByteArray());
-
-            ChannelFuture future = minecraft.player.connection.getConnection().channel().writeAndFlush(buf);
-            future.await();
-            if (!future.isSuccess())
-                throw new IOException("Failed to send event", future.cause());
-        } catch (IOException | InterruptedException e) {
-            SocketMC.print(e);
-        }
+        if (!canSend(id, id == EventFilter.PRESS_KEY ? (int) params.get("key") : -1)) return;
+
+        EventCoalescer.queue(id, params);
     }
 
     // Implementation
@@ -78,4 +71,42 @@ public final class NeoForgeSocketMC implements SocketMC {
     public Set<UUID> getHiddenPlayers() {
         return minecraft.getPlayerSocialManager().getHiddenPlayers();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void execute(Runnable task) {
+        minecraft.execute(task);
+    }
+
+    @Override
+    public Collection<Class<? extends Machine>> getMachines() {
+        return NeoForgeMachineFinder.MACHINES;
+    }
+
+    @Override
+    public Set<ClientProperty<?>> getProperties() {
+        return NeoForgeRetriever.PROPERTIES;
+    }
+
+    @Override
+    public void sendRetrieverResponse(UUID id, Object value) throws Exception {
+        NeoForgeRetriever.response(id, value);
+    }
+
+    @Override
+    public void sendFrame(ByteBuf frame) {
+        if (minecraft.player == null) {
+            frame.release();
+            return;
+        }
+
+        minecraft.player.connection.getConnection().channel().writeAndFlush(frame);
+    }
+
+    @Override
+    public String getScreenTitle() {
+        if (minecraft.screen == null) return null;
+
+        AbstractScreen screen = NeoForgeScreenUtil.fromMinecraft(minecraft.screen);
+        return screen == null ? "" : screen.getTitleJSON();
+    }
+}
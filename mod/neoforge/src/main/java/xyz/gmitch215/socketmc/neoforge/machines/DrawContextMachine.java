@@ -15,7 +15,8 @@ import org.joml.Matrix4f;
 import org.joml.Quaternionf;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
-import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.AddressableMachine;
+import xyz.gmitch215.socketmc.machines.PatchContextMachine;
 import xyz.gmitch215.socketmc.neoforge.NeoForgeUtil;
 import xyz.gmitch215.socketmc.neoforge.screen.NeoForgeGraphicsContext;
 import xyz.gmitch215.socketmc.util.Identifier;
@@ -35,7 +36,7 @@ import static xyz.gmitch215.socketmc.neoforge.NeoForgeSocketMC.minecraft;
 
 @InstructionId(Instruction.DRAW_CONTEXT)
 @SuppressWarnings("unchecked")
-public final class DrawContextMachine implements Machine {
+public final class DrawContextMachine implements AddressableMachine {
 
     public static final DrawContextMachine MACHINE = new DrawContextMachine();
 
@@ -48,17 +49,24 @@ public final class DrawContextMachine implements Machine {
         lifecycle.forEach(c -> c.accept(graphics));
     }
 
+    @NotNull
     @Override
-    public void onInstruction(@NotNull Instruction instruction) throws Exception {
-        DrawingContext context = instruction.firstParameter(DrawingContext.class);
+    public LifecycleMap<?> getLifecycle() {
+        return lifecycle;
+    }
+
+    @Override
+    public void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) throws Exception {
+        DrawingContext context = PatchContextMachine.register(instruction.firstParameter(DrawingContext.class));
         long millis = instruction.lastLongParameter();
         
-        lifecycle.store(graphics -> draw(graphics, context), millis);
+        lifecycle.store(id, graphics -> draw(graphics, context), millis);
     }
 
     public static void draw(GuiGraphics graphics, DrawingContext context) {
         for (Function<GraphicsContext, DrawingContext.Command> func : context) {
-            DrawingContext.Command cmd = func.apply(NeoForgeGraphicsContext.INSTANCE);
+            DrawingContext.Command cmd = DrawingContext.resolve(func, NeoForgeGraphicsContext.INSTANCE);
+            if (cmd == null) continue;
 
             RenderType type = switch (cmd.getType()) {
                 case DEFAULT -> RenderType.gui();
@@ -127,19 +135,19 @@ public final class DrawContextMachine implements Machine {
                 case DrawingContext.DRAW_CENTERED_STRING -> {
                     int x = cmd.firstIntParameter();
                     int y = cmd.intParameter(1);
-                    String text = cmd.stringParameter(2);
+                    Object text = cmd.parameter(2);
                     int rgb = cmd.lastIntParameter();
                     
-                    graphics.drawCenteredString(minecraft.font, NeoForgeUtil.fromJson(text), x, y, rgb);
+                    graphics.drawCenteredString(minecraft.font, NeoForgeUtil.toComponent(text), x, y, rgb);
                 }
                 case DrawingContext.DRAW_STRING -> {
                     int x = cmd.firstIntParameter();
                     int y = cmd.intParameter(1);
-                    String text = cmd.stringParameter(2);
+                    Object text = cmd.parameter(2);
                     int rgb = cmd.intParameter(3);
                     boolean dropShadow = cmd.lastBooleanParameter();
                     
-                    graphics.drawString(minecraft.font, NeoForgeUtil.fromJson(text), x, y, rgb, dropShadow);
+                    graphics.drawString(minecraft.font, NeoForgeUtil.toComponent(text), x, y, rgb, dropShadow);
                 }
                 case DrawingContext.DRAW_WORD_WRAP -> {
                     int x = cmd.firstIntParameter();
@@ -148,7 +156,7 @@ public final class DrawContextMachine implements Machine {
                     String text = cmd.stringParameter(3);
                     int rgb = cmd.intParameter(4);
                     
-                    graphics.drawWordWrap(minecraft.font, NeoForgeUtil.fromJson(text), x, y, width, rgb);
+                    graphics.drawWordWrap(minecraft.font, NeoForgeUtil.toComponent(text), x, y, width, rgb);
                 }
                 case DrawingContext.OUTLINE -> {
                     int minX = cmd.firstIntParameter();
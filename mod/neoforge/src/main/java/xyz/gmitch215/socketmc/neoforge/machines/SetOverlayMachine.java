@@ -3,6 +3,7 @@ package xyz.gmitch215.socketmc.neoforge.machines;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
 import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.machines.PatchContextMachine;
 import xyz.gmitch215.socketmc.neoforge.screen.NeoForgeOverlay;
 import xyz.gmitch215.socketmc.screen.Overlay;
 
@@ -21,8 +22,12 @@ public final class SetOverlayMachine implements Machine {
 
         if (overlay == null)
             minecraft.setOverlay(null);
-        else
-            minecraft.setOverlay(new NeoForgeOverlay((Overlay) overlay));
+        else {
+            Overlay o = (Overlay) overlay;
+            PatchContextMachine.register(o.getContext());
+
+            minecraft.setOverlay(new NeoForgeOverlay(o));
+        }
     }
 
 }
@@ -1,5 +1,7 @@
 package xyz.gmitch215.socketmc.neoforge.mixin.events;
 
+import xyz.gmitch215.socketmc.EventSubscriptions;
+import xyz.gmitch215.socketmc.network.EventFilter;
 import net.minecraft.client.NarratorStatus;
 import net.minecraft.client.*;
 import net.minecraft.network.chat.Component;
@@ -37,6 +39,7 @@ public class PlayerChangeOptionEvent {
     @Inject(method = "set", at = @At("HEAD"))
     public void onOptionChange(Object newValue, CallbackInfo ci) {
         if (!NeoForgeSocketMC.eventsEnabled) return;
+        if (!EventSubscriptions.isSubscribed(EventFilter.CHANGE_OPTION)) return;
 
         String oldValueS = toString.apply(value).getString();
         String newValueS = toString.apply(newValue).getString();
@@ -1,5 +1,7 @@
 package xyz.gmitch215.socketmc.neoforge.mixin.events;
 
+import xyz.gmitch215.socketmc.EventSubscriptions;
+import xyz.gmitch215.socketmc.network.EventFilter;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 import org.spongepowered.asm.mixin.Mixin;
@@ -20,6 +22,7 @@ public class PlayerChangeScreenEvent {
     @Inject(method = "setScreen", at = @At("HEAD"))
     public void onScreenChange(Screen screen, CallbackInfo ci) {
         if (!NeoForgeSocketMC.eventsEnabled) return;
+        if (!EventSubscriptions.isSubscribed(EventFilter.CHANGE_SCREEN)) return;
 
         AbstractScreen oldScreen = NeoForgeScreenUtil.fromMinecraft(minecraft.screen);
         AbstractScreen newScreen = NeoForgeScreenUtil.fromMinecraft(screen);
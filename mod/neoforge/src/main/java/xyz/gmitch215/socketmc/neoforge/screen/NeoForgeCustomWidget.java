@@ -6,6 +6,7 @@ import net.minecraft.client.gui.narration.NarratedElementType;
 import net.minecraft.client.gui.narration.NarrationElementOutput;
 import xyz.gmitch215.socketmc.neoforge.NeoForgeUtil;
 import xyz.gmitch215.socketmc.neoforge.machines.DrawContextMachine;
+import xyz.gmitch215.socketmc.machines.PatchContextMachine;
 import xyz.gmitch215.socketmc.screen.ui.CustomWidget;
 
 public final class NeoForgeCustomWidget extends AbstractWidget {
@@ -16,6 +17,7 @@ public final class NeoForgeCustomWidget extends AbstractWidget {
         super(handle.getX(), handle.getY(), handle.getWidth(), handle.getHeight(), NeoForgeUtil.fromJson(handle.getMessageJSON()));
 
         this.handle = handle;
+        PatchContextMachine.register(handle.getContext());
     }
 
     @Override
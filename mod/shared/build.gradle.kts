@@ -6,6 +6,7 @@ dependencies {
     // Minecraft Client
     compileOnly("org.slf4j:slf4j-api:2.0.9")
     compileOnly("com.google.code.gson:gson:2.10.1")
+    compileOnly("io.netty:netty-buffer:4.1.97.Final")
     compileOnly("com.mojang:text2speech:1.17.9")
 
     compileOnly("org.lwjgl:lwjgl-tinyfd:3.3.3")
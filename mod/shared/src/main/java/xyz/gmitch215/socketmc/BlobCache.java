@@ -0,0 +1,304 @@
+package xyz.gmitch215.socketmc;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.network.BlobReference;
+import xyz.gmitch215.socketmc.network.StreamReference;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * On-disk, size-bounded cache of blobs received by {@link BlobReference}, with a smaller in-memory layer in front of it.
+ * Blobs are evicted least recently used first. Disk reads, writes and hashing run on a dedicated thread, never on the
+ * network thread.
+ */
+public final class BlobCache {
+
+    public static final String BLOB_PATH = "config/socketmc/blobs";
+
+    // Configuration Keys
+    public static final String MAX_SIZE = "blob_cache_size";
+    public static final String MAX_MEMORY_SIZE = "blob_memory_cache_size";
+
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+    public static final long DEFAULT_MAX_MEMORY_SIZE = 16L * 1024 * 1024;
+
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "SocketMC Blob Cache");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public static final BlobCache INSTANCE = new BlobCache();
+
+    private final File folder;
+    private final Map<String, Long> index = new LinkedHashMap<>(16, 0.75F, true);
+    private final Map<String, byte[]> memory = new LinkedHashMap<>(16, 0.75F, true);
+    private long memorySize = 0;
+    private final Map<BlobReference, List<Consumer<IncomingStream>>> waiting = new HashMap<>();
+    private long size = 0;
+
+    private BlobCache() {
+        this.folder = new File(SocketMC.GAME_DIRECTORY.get(), BLOB_PATH);
+        if (!folder.exists()) folder.mkdirs();
+
+        File[] files = folder.listFiles(File::isFile);
+        if (files == null) return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            index.put(file.getName(), file.length());
+            size += file.length();
+        }
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * Gets a blob from the cache, reading it from disk if it is not in memory. This blocks on disk I/O, so it must not
+     * be called on the network thread.
+     * @param ref the blob reference
+     * @return the blob contents, or null if the blob is not cached
+     */
+    public synchronized byte[] get(BlobReference ref) {
+        String name = ref.getHashString();
+
+        byte[] cached = getMemory(name);
+        if (cached != null) return cached;
+        if (!index.containsKey(name)) return null;
+
+        File file = new File(folder, name);
+        try {
+            byte[] data = Files.readAllBytes(file.toPath());
+            if (!ref.matches(data)) {
+                remove(name);
+                return null;
+            }
+
+            file.setLastModified(System.currentTimeMillis());
+            putMemory(name, data);
+            return data;
+        } catch (IOException e) {
+            remove(name);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a blob in the cache, writing it to disk. This blocks on disk I/O, so it must not be called on the network
+     * thread.
+     * @param ref the blob reference
+     * @param data the blob contents
+     * @throws IOException if the blob could not be written
+     * @throws IllegalArgumentException if the contents do not match the reference
+     */
+    public synchronized void put(BlobReference ref, byte[] data) throws IOException {
+        if (!ref.matches(data)) throw new IllegalArgumentException("Blob does not match " + ref);
+
+        String name = ref.getHashString();
+        putMemory(name, data);
+        if (index.containsKey(name)) return;
+
+        Files.write(new File(folder, name).toPath(), data);
+        index.put(name, (long) data.length);
+        size += data.length;
+
+        long max = SocketMC.config(MAX_SIZE, Long.class, DEFAULT_MAX_SIZE);
+        Iterator<String> it = index.keySet().iterator();
+        while (size > max && it.hasNext()) {
+            String eldest = it.next();
+            if (eldest.equals(name)) continue;
+
+            size -= index.get(eldest);
+            new File(folder, eldest).delete();
+            it.remove();
+        }
+    }
+
+    private void remove(String name) {
+        Long length = index.remove(name);
+        if (length != null) size -= length;
+
+        synchronized (memory) {
+            byte[] data = memory.remove(name);
+            if (data != null) memorySize -= data.length;
+        }
+
+        new File(folder, name).delete();
+    }
+
+    // Only holds blobs that matched their reference, so they are not hashed again
+
+    private byte[] getMemory(String name) {
+        synchronized (memory) {
+            return memory.get(name);
+        }
+    }
+
+    private void putMemory(String name, byte[] data) {
+        long max = SocketMC.config(MAX_MEMORY_SIZE, Long.class, DEFAULT_MAX_MEMORY_SIZE);
+        if (data.length > max) return;
+
+        synchronized (memory) {
+            byte[] old = memory.put(name, data);
+            memorySize += data.length - (old == null ? 0 : old.length);
+
+            Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+            while (memorySize > max && it.hasNext()) {
+                Map.Entry<String, byte[]> eldest = it.next();
+                if (eldest.getKey().equals(name)) continue;
+
+                memorySize -= eldest.getValue().length;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Replaces every {@link BlobReference} in the instructions with its contents, requesting any missing blobs from
+     * the server. Instructions that accept streamed parameters receive an {@link java.io.InputStream} as soon as the
+     * blob starts arriving; all others wait until it has been fully received. The callback is not run if a blob is
+     * unavailable.
+     * <p>If every blob is in memory, the callback runs immediately on the calling thread. Otherwise, the blobs are read
+     * from disk on the cache's own thread.</p>
+     * @param instructions the instructions to resolve
+     * @param then the callback to run with the resolved instructions, possibly on another thread
+     */
+    public void resolve(List<Instruction> instructions, Consumer<List<Instruction>> then) {
+        Map<BlobReference, IncomingStream> loaded = new HashMap<>();
+        Set<BlobReference> uncached = new LinkedHashSet<>();
+
+        for (Instruction i : instructions)
+            for (BlobReference ref : BlobReference.find(i)) {
+                if (loaded.containsKey(ref)) continue;
+
+                byte[] data = getMemory(ref.getHashString());
+                if (data == null) uncached.add(ref);
+                else loaded.put(ref, IncomingStream.completed(data));
+            }
+
+        if (uncached.isEmpty()) {
+            substitute(instructions, loaded, then);
+            return;
+        }
+
+        IO.execute(() -> {
+            Set<BlobReference> missing = new LinkedHashSet<>();
+            for (BlobReference ref : uncached) {
+                byte[] data = get(ref);
+                if (data == null) missing.add(ref);
+                else loaded.put(ref, IncomingStream.completed(data));
+            }
+
+            request(instructions, loaded, missing, then);
+        });
+    }
+
+    private void request(List<Instruction> instructions, Map<BlobReference, IncomingStream> loaded, Set<BlobReference> missing, Consumer<List<Instruction>> then) {
+        if (missing.isEmpty()) {
+            substitute(instructions, loaded, then);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(missing.size());
+        for (BlobReference ref : missing)
+            request(ref, stream -> {
+                synchronized (loaded) { loaded.put(ref, stream); }
+                if (remaining.decrementAndGet() == 0) substitute(instructions, loaded, then);
+            });
+    }
+
+    private void request(BlobReference ref, Consumer<IncomingStream> callback) {
+        boolean first;
+        synchronized (waiting) {
+            List<Consumer<IncomingStream>> callbacks = waiting.computeIfAbsent(ref, k -> new ArrayList<>());
+            first = callbacks.isEmpty();
+            callbacks.add(callback);
+        }
+
+        if (!first) return;
+
+        ByteBuf buf = Unpooled.buffer();
+        WireCodec.writeVarInt(buf, WireCodec.BLOB_REQUEST_FRAME);
+        ref.writeTo(buf);
+        SocketMC.INSTANCE.get().sendFrame(buf);
+    }
+
+    /**
+     * Called when the server starts sending the contents of a requested blob.
+     * @param ref the blob reference
+     * @param stream the blob contents, or null if the server no longer has it
+     */
+    public void receive(BlobReference ref, IncomingStream stream) {
+        List<Consumer<IncomingStream>> callbacks;
+        synchronized (waiting) {
+            callbacks = waiting.remove(ref);
+        }
+
+        if (stream == null) {
+            SocketMC.LOGGER.warn("Server could not provide {}, dropping {} instruction(s)", ref, callbacks == null ? 0 : callbacks.size());
+            return;
+        }
+
+        stream.whenComplete(data -> IO.execute(() -> {
+            try {
+                put(ref, data);
+            } catch (IOException | IllegalArgumentException e) {
+                SocketMC.print(e);
+            }
+        }));
+
+        if (callbacks != null)
+            for (Consumer<IncomingStream> callback : callbacks) callback.accept(stream);
+    }
+
+    private static void substitute(List<Instruction> instructions, Map<BlobReference, IncomingStream> blobs, Consumer<List<Instruction>> then) {
+        List<IncomingStream> pending = new ArrayList<>();
+        for (Instruction i : instructions) {
+            if (StreamReference.STREAMABLE_INSTRUCTIONS.contains(i.getId())) continue;
+
+            for (BlobReference ref : BlobReference.find(i)) {
+                IncomingStream stream = blobs.get(ref);
+                if (!stream.isComplete()) pending.add(stream);
+            }
+        }
+
+        Runnable done = () -> {
+            List<Instruction> resolved = new ArrayList<>(instructions.size());
+            for (Instruction i : instructions) {
+                boolean streamable = StreamReference.STREAMABLE_INSTRUCTIONS.contains(i.getId());
+                resolved.add(i.mapParameters(p -> {
+                    if (!(p instanceof BlobReference ref)) return p;
+
+                    IncomingStream stream = blobs.get(ref);
+                    return streamable ? stream.open() : stream.getData();
+                }));
+            }
+
+            then.accept(resolved);
+        };
+
+        if (pending.isEmpty()) {
+            done.run();
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(pending.size());
+        for (IncomingStream stream : pending)
+            stream.whenComplete(data -> {
+                if (remaining.decrementAndGet() == 0) done.run();
+            });
+    }
+
+}
@@ -0,0 +1,262 @@
+package xyz.gmitch215.socketmc;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import xyz.gmitch215.socketmc.network.EventCodec;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collects the events sent during a client tick and sends them to the server in a single
+ * {@link WireCodec#EVENT_BATCH_FRAME}. Mouse moves and scrolls are collapsed, text edits are debounced, and every event
+ * is rate limited, according to the {@link EventFilter} the server set for it. Events are encoded with
+ * {@link EventCodec} as soon as they are due.
+ */
+public final class EventCoalescer {
+
+    private static ByteBuf batch = Unpooled.buffer();
+    private static int count;
+
+    // Mouse moves, scrolls and text edits waiting to be sent, with the order they were last queued in
+    private static long sequence;
+
+    private static boolean moveHeld;
+    private static double moveX, moveY;
+    private static long moveSeq;
+
+    private static boolean scrollHeld;
+    private static double scrollX, scrollY;
+    private static long scrollSeq;
+
+    private static Map<String, Object> editHeld;
+    private static long editSince, editSeq;
+
+    private static final long[] lastSent = new long[EventFilter.EVENT_COUNT];
+    private static final long[] windowStart = new long[EventFilter.EVENT_COUNT];
+    private static final int[] windowCount = new int[EventFilter.EVENT_COUNT];
+
+    private EventCoalescer() {}
+
+    /**
+     * Queues a key press.
+     * @param key the key code
+     * @param action the action
+     * @param mods the modifier flags
+     */
+    public static synchronized void pressKey(int key, int action, int mods) {
+        long now = System.currentTimeMillis();
+        if (!allow(EventFilter.PRESS_KEY, now)) return;
+
+        release(now, true);
+        EventCodec.writePressKey(batch, key, action, mods);
+        count++;
+    }
+
+    /**
+     * Queues a mouse movement, replacing any movement that has not been sent yet.
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    public static synchronized void moveMouse(double x, double y) {
+        moveHeld = true;
+        moveX = x;
+        moveY = y;
+        moveSeq = ++sequence;
+    }
+
+    /**
+     * Queues a mouse scroll, adding to any scroll that has not been sent yet.
+     * @param x the scroll offset along the x-axis
+     * @param y the scroll offset along the y-axis
+     */
+    public static synchronized void scrollMouse(double x, double y) {
+        if (scrollHeld) {
+            scrollX += x;
+            scrollY += y;
+        } else {
+            scrollHeld = true;
+            scrollX = x;
+            scrollY = y;
+        }
+
+        scrollSeq = ++sequence;
+    }
+
+    /**
+     * Queues a mouse click.
+     * @param button the mouse button code
+     * @param action the action
+     * @param mods the modifier flags
+     */
+    public static synchronized void clickMouse(int button, int action, int mods) {
+        long now = System.currentTimeMillis();
+        if (!allow(EventFilter.CLICK_MOUSE, now)) return;
+
+        release(now, true);
+        EventCodec.writeClickMouse(batch, button, action, mods);
+        count++;
+    }
+
+    /**
+     * Queues an event from its parameters by name.
+     * @param id the ID of the event
+     * @param params the parameters of the event
+     */
+    public static synchronized void queue(int id, Map<String, Object> params) {
+        switch (id) {
+            case EventFilter.PRESS_KEY -> pressKey((int) params.get("key"), (int) params.get("action"), (int) params.get("flags"));
+            case EventFilter.MOVE_MOUSE -> moveMouse((double) params.get("x"), (double) params.get("y"));
+            case EventFilter.SCROLL_MOUSE -> scrollMouse((double) params.get("x"), (double) params.get("y"));
+            case EventFilter.CLICK_MOUSE -> clickMouse((int) params.get("button"), (int) params.get("action"), (int) params.get("mods"));
+            case EventFilter.EDIT_TEXT -> {
+                long now = System.currentTimeMillis();
+
+                // The edit to the previous widget is final, and is dropped if it cannot be sent within the limits
+                if (editHeld != null && !Objects.equals(editHeld.get("widget"), params.get("widget"))) release(now, true);
+
+                editHeld = params;
+                editSince = now;
+                editSeq = ++sequence;
+            }
+            default -> {
+                if (id < 0 || id >= EventFilter.EVENT_COUNT) return;
+
+                long now = System.currentTimeMillis();
+                if (!allow(id, now)) return;
+
+                // Keep the order the player sees: anything held happened before this event
+                release(now, true);
+                write(id, params);
+            }
+        }
+    }
+
+    /**
+     * Sends every event that is due in a single frame, on the client thread.
+     */
+    public static void tick() {
+        ByteBuf frame;
+
+        synchronized (EventCoalescer.class) {
+            release(System.currentTimeMillis(), false);
+            if (count == 0) return;
+
+            frame = Unpooled.buffer(batch.readableBytes() + 10);
+            WireCodec.writeVarInt(frame, WireCodec.EVENT_BATCH_FRAME);
+            WireCodec.writeVarInt(frame, count);
+            frame.writeBytes(batch);
+
+            batch.clear();
+            count = 0;
+        }
+
+        SocketMC.INSTANCE.get().sendFrame(frame);
+    }
+
+    /**
+     * Discards every queued event, such as when disconnecting from the server.
+     */
+    public static synchronized void clear() {
+        batch.release();
+        batch = Unpooled.buffer();
+        count = 0;
+
+        moveHeld = false;
+        scrollHeld = false;
+        editHeld = null;
+
+        for (int i = 0; i < EventFilter.EVENT_COUNT; i++) {
+            lastSent[i] = 0;
+            windowStart[i] = 0;
+            windowCount[i] = 0;
+        }
+    }
+
+    // Called while synchronized
+
+    private static void write(int id, Map<String, Object> params) {
+        int start = batch.writerIndex();
+
+        try {
+            EventCodec.writeEvent(batch, id, params);
+            count++;
+        } catch (IllegalArgumentException e) {
+            // Discard the partially written event
+            batch.writerIndex(start);
+            SocketMC.print(e);
+        }
+    }
+
+    // Writes the held events in the order they were queued, stopping at the first one that is not due or over the
+    // limit. Forcing ignores the intervals, so held events are written before an event that happened after them.
+    private static void release(long now, boolean force) {
+        while (true) {
+            int next = -1;
+            long seq = Long.MAX_VALUE;
+
+            if (moveHeld && moveSeq < seq) {
+                next = EventFilter.MOVE_MOUSE;
+                seq = moveSeq;
+            }
+
+            if (scrollHeld && scrollSeq < seq) {
+                next = EventFilter.SCROLL_MOUSE;
+                seq = scrollSeq;
+            }
+
+            if (editHeld != null && editSeq < seq) next = EventFilter.EDIT_TEXT;
+
+            if (next == -1 || !send(next, now, force)) return;
+        }
+    }
+
+    private static boolean send(int id, long now, boolean force) {
+        long since = id == EventFilter.EDIT_TEXT ? editSince : lastSent[id];
+        if ((!force && now - since < interval(id)) || !allow(id, now)) return false;
+
+        lastSent[id] = now;
+        switch (id) {
+            case EventFilter.MOVE_MOUSE -> {
+                EventCodec.writeMoveMouse(batch, moveX, moveY);
+                count++;
+                moveHeld = false;
+            }
+            case EventFilter.SCROLL_MOUSE -> {
+                EventCodec.writeScrollMouse(batch, scrollX, scrollY);
+                count++;
+                scrollHeld = false;
+            }
+            default -> {
+                write(id, editHeld);
+                editHeld = null;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean allow(int id, long now) {
+        EventFilter filter = EventSubscriptions.getFilter(id);
+        int limit = filter == null ? 0 : filter.getLimit();
+        if (limit == 0) return true;
+
+        if (now - windowStart[id] >= 1000) {
+            windowStart[id] = now;
+            windowCount[id] = 0;
+        }
+
+        if (windowCount[id] >= limit) return false;
+
+        windowCount[id]++;
+        return true;
+    }
+
+    private static long interval(int id) {
+        EventFilter filter = EventSubscriptions.getFilter(id);
+        return filter == null ? EventFilter.getDefaultInterval(id) : filter.getInterval();
+    }
+
+}
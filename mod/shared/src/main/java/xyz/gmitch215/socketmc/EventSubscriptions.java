@@ -0,0 +1,73 @@
+package xyz.gmitch215.socketmc;
+
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.util.List;
+
+/**
+ * Holds the events the server asked the client to send in its latest {@link WireCodec#EVENT_SUBSCRIBE_FRAME}. Until
+ * the server has sent one, every event is sent.
+ */
+public final class EventSubscriptions {
+
+    private static volatile EventFilter[] filters;
+
+    private EventSubscriptions() {}
+
+    /**
+     * Replaces the events to send.
+     * @param subscriptions the filters of the events to send
+     */
+    public static void set(List<EventFilter> subscriptions) {
+        EventFilter[] filters = new EventFilter[EventFilter.EVENT_COUNT];
+        for (EventFilter filter : subscriptions) filters[filter.getEventId()] = filter;
+
+        EventSubscriptions.filters = filters;
+    }
+
+    /**
+     * Forgets the events to send, such as when disconnecting from the server.
+     */
+    public static void clear() {
+        filters = null;
+    }
+
+    /**
+     * Gets the filter the server set for an event.
+     * @param id the ID of the event
+     * @return the filter, or null if the server has not sent any filters or the event is not sent
+     */
+    public static EventFilter getFilter(int id) {
+        EventFilter[] filters = EventSubscriptions.filters;
+        return filters == null || id < 0 || id >= filters.length ? null : filters[id];
+    }
+
+    /**
+     * Checks whether the server wants an event at all, before any of its parameters are collected.
+     * @param id the ID of the event
+     * @return true if the event may be sent
+     */
+    public static boolean isSubscribed(int id) {
+        EventFilter[] filters = EventSubscriptions.filters;
+        return filters == null || (id >= 0 && id < filters.length && filters[id] != null);
+    }
+
+    /**
+     * Checks whether an event passes the filter the server set for it.
+     * @param id the ID of the event
+     * @param key the key code, for {@link EventFilter#PRESS_KEY} events
+     * @return true if the event should be sent
+     */
+    public static boolean shouldSend(int id, int key) {
+        EventFilter[] filters = EventSubscriptions.filters;
+        if (filters == null) return true;
+        if (id < 0 || id >= filters.length || filters[id] == null) return false;
+
+        EventFilter filter = filters[id];
+        if (id == EventFilter.PRESS_KEY && !filter.testKey(key)) return false;
+
+        return filter.testScreen(SocketMC.INSTANCE.get()::getScreenTitle);
+    }
+
+}
@@ -0,0 +1,210 @@
+package xyz.gmitch215.socketmc;
+
+import xyz.gmitch215.socketmc.network.StreamReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A payload being received as a sequence of stream chunks. Chunks are copied into place as they arrive, and readers
+ * opened with {@link #open()} block only until the bytes they need have been received. Streams that are neither
+ * claimed nor appended to for a minute are discarded.
+ */
+public final class IncomingStream {
+
+    // Time after the last claim or chunk before a stream is discarded, in milliseconds
+    private static final long EXPIRY = 60_000;
+
+    private static final Map<Integer, IncomingStream> streams = new ConcurrentHashMap<>();
+
+    private final int id;
+    private final byte[] data;
+    private final List<Consumer<byte[]>> callbacks = new ArrayList<>();
+    private int received = 0;
+    private boolean claimed = false;
+    private boolean aborted = false;
+    private long lastActive = System.currentTimeMillis();
+
+    private IncomingStream(int id, byte[] data) {
+        this.id = id;
+        this.data = data;
+    }
+
+    private static IncomingStream get(StreamReference ref) {
+        IncomingStream stream = streams.get(ref.getId());
+        if (stream != null) return stream;
+
+        // Only checked when a new stream starts, so idle connections do not need a timer
+        expire(System.currentTimeMillis());
+        return streams.computeIfAbsent(ref.getId(), k -> new IncomingStream(k, new byte[ref.getLength()]));
+    }
+
+    private static void expire(long now) {
+        for (IncomingStream stream : streams.values())
+            synchronized (stream) {
+                if (now - stream.lastActive < EXPIRY) continue;
+
+                stream.aborted = true;
+                stream.notifyAll();
+                streams.remove(stream.id, stream);
+            }
+    }
+
+    /**
+     * Claims the stream for a reference, creating it if no chunk has arrived yet.
+     * @param ref the stream reference
+     * @return the stream
+     */
+    public static IncomingStream claim(StreamReference ref) {
+        IncomingStream stream = get(ref);
+        synchronized (stream) {
+            stream.claimed = true;
+            stream.lastActive = System.currentTimeMillis();
+            if (stream.isComplete()) streams.remove(stream.id);
+        }
+
+        return stream;
+    }
+
+    /**
+     * Creates a stream that has already been fully received.
+     * @param data the payload
+     * @return the stream
+     */
+    public static IncomingStream completed(byte[] data) {
+        IncomingStream stream = new IncomingStream(-1, data);
+        stream.received = data.length;
+        stream.claimed = true;
+        return stream;
+    }
+
+    /**
+     * Appends a chunk to a stream.
+     * @param ref the stream reference
+     * @param chunk the chunk
+     */
+    public static void append(StreamReference ref, byte[] chunk) {
+        get(ref).append(chunk);
+    }
+
+    /**
+     * Discards every stream that has not been fully received, such as when disconnecting.
+     */
+    public static void clear() {
+        for (IncomingStream stream : streams.values())
+            synchronized (stream) {
+                stream.aborted = true;
+                stream.notifyAll();
+            }
+
+        streams.clear();
+    }
+
+    private void append(byte[] chunk) {
+        List<Consumer<byte[]>> complete;
+        synchronized (this) {
+            if (chunk.length > data.length - received) throw new IllegalStateException("Stream " + id + " overflowed");
+
+            System.arraycopy(chunk, 0, data, received, chunk.length);
+            received += chunk.length;
+            lastActive = System.currentTimeMillis();
+            notifyAll();
+
+            if (!isComplete()) return;
+            if (claimed) streams.remove(id);
+
+            complete = List.copyOf(callbacks);
+            callbacks.clear();
+        }
+
+        for (Consumer<byte[]> callback : complete) callback.accept(data);
+    }
+
+    /**
+     * Gets the full payload. Only valid once the stream {@linkplain #isComplete() is complete}.
+     * @return the payload
+     * @throws IllegalStateException if the stream is not complete
+     */
+    public byte[] getData() throws IllegalStateException {
+        if (!isComplete()) throw new IllegalStateException("Stream " + id + " is not complete");
+        return data;
+    }
+
+    public synchronized boolean isComplete() {
+        return received == data.length;
+    }
+
+    /**
+     * Runs a callback with the full payload once it has been received, or immediately if it already has.
+     * @param callback the callback
+     */
+    public void whenComplete(Consumer<byte[]> callback) {
+        synchronized (this) {
+            if (!isComplete()) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+
+        callback.accept(data);
+    }
+
+    /**
+     * Opens a new reader over the payload. Reads block until the requested bytes have been received.
+     * @return the reader
+     */
+    public InputStream open() {
+        return new InputStream() {
+            int position = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (!await()) return -1;
+                return data[position++] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) return 0;
+                if (!await()) return -1;
+
+                int available;
+                synchronized (IncomingStream.this) { available = received - position; }
+
+                int read = Math.min(len, available);
+                System.arraycopy(data, position, b, off, read);
+                position += read;
+                return read;
+            }
+
+            @Override
+            public int available() {
+                synchronized (IncomingStream.this) { return received - position; }
+            }
+
+            private boolean await() throws IOException {
+                synchronized (IncomingStream.this) {
+                    while (position >= received) {
+                        if (position >= data.length) return false;
+                        if (aborted) throw new IOException("Stream " + id + " was aborted");
+
+                        try {
+                            IncomingStream.this.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException("Interrupted while waiting for stream " + id, e);
+                        }
+                    }
+
+                    return true;
+                }
+            }
+        };
+    }
+
+}
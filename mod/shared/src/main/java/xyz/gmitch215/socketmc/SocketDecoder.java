@@ -0,0 +1,383 @@
+package xyz.gmitch215.socketmc;
+
+import io.netty.buffer.ByteBuf;
+import xyz.gmitch215.socketmc.config.ModPermission;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.machines.ElementMachine;
+import xyz.gmitch215.socketmc.machines.MachineFinder;
+import xyz.gmitch215.socketmc.machines.PatchContextMachine;
+import xyz.gmitch215.socketmc.machines.TemplateMachine;
+import xyz.gmitch215.socketmc.network.BlobReference;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.network.FrameCompressor;
+import xyz.gmitch215.socketmc.network.StreamReference;
+import xyz.gmitch215.socketmc.network.WireCodec;
+import xyz.gmitch215.socketmc.retriever.Retriever;
+import xyz.gmitch215.socketmc.retriever.RetrieverSubscriptions;
+import xyz.gmitch215.socketmc.retriever.RetrieverType;
+import xyz.gmitch215.socketmc.spigot.SocketPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes the SocketMC frames sent by the server, such as instructions, retriever requests and blobs, out of the
+ * clientbound packet stream. Frames are decoded on the network thread, and any per-server state is kept until
+ * {@link #reset()} is called on disconnect.
+ */
+public final class SocketDecoder {
+
+    private static final FrameCompressor COMPRESSOR = new FrameCompressor();
+
+    private static final int BLOB_INLINE = 1;
+    private static final int BLOB_STREAMED = 2;
+
+    private static final Map<Integer, SocketPlugin> PLUGINS = new ConcurrentHashMap<>();
+
+    private SocketDecoder() {}
+
+    /**
+     * Resets the state of the current session, such as when disconnecting.
+     */
+    public static void reset() {
+        PLUGINS.clear();
+        IncomingStream.clear();
+        ElementMachine.clear();
+        PatchContextMachine.clear();
+        TemplateMachine.clear();
+        RetrieverSubscriptions.clear();
+        EventSubscriptions.clear();
+        EventCoalescer.clear();
+    }
+
+    /**
+     * Decodes a clientbound packet if it is a SocketMC frame. The packet ID is peeked in place, so other packets are
+     * left untouched and never copied.
+     * @param buf the inbound packet
+     * @return true if the packet was a SocketMC frame and has been consumed
+     */
+    public static boolean decode(ByteBuf buf) {
+        if (!buf.isReadable()) return false;
+
+        switch (WireCodec.peekVarInt(buf, 0)) {
+            case WireCodec.INSTRUCTION_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    decodeInstruction(buf);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.INSTRUCTION_BATCH_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    decodeInstructionBatch(buf);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.COMPRESSED_FRAME -> {
+                ByteBuf frame = null;
+                try {
+                    WireCodec.readVarInt(buf);
+                    frame = COMPRESSOR.decompress(buf);
+                    if (!decode(frame)) SocketMC.LOGGER.warn("Received unknown compressed frame {}", WireCodec.peekVarInt(frame, 0));
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    if (frame != null) frame.release();
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.BLOB_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    BlobReference ref = BlobReference.readFrom(buf);
+                    IncomingStream stream = switch (WireCodec.readVarInt(buf)) {
+                        case BLOB_INLINE -> IncomingStream.completed(WireCodec.readByteArray(buf));
+                        case BLOB_STREAMED -> IncomingStream.claim(StreamReference.readFrom(buf));
+                        default -> null;
+                    };
+
+                    BlobCache.INSTANCE.receive(ref, stream);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.STREAM_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    StreamReference ref = StreamReference.readFrom(buf);
+
+                    byte[] chunk = new byte[WireCodec.readVarInt(buf)];
+                    buf.readBytes(chunk);
+
+                    IncomingStream.append(ref, chunk);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.RETRIEVER_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    decodeRetriever(buf);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.MULTI_RETRIEVER_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    decodeMultiRetriever(buf);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.RETRIEVER_SUBSCRIBE_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    decodeSubscription(buf);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            case WireCodec.EVENT_SUBSCRIBE_FRAME -> {
+                try {
+                    WireCodec.readVarInt(buf);
+                    EventSubscriptions.set(EventFilter.readAll(buf));
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                } finally {
+                    buf.clear();
+                }
+
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private static void decodeInstruction(ByteBuf buf) {
+        SocketMC mod = SocketMC.INSTANCE.get();
+
+        int start = buf.readerIndex();
+        Instruction i = claimStreams(Instruction.readFrom(buf));
+        int size = buf.readerIndex() - start;
+
+        SocketPlugin p = readPlugin(buf);
+
+        BlobCache.INSTANCE.resolve(List.of(i), resolved -> mod.execute(() -> {
+            try {
+                apply(mod, resolved.getFirst(), p, size);
+            } catch (Exception e) {
+                SocketMC.print(e);
+            }
+        }));
+    }
+
+    private static void decodeInstructionBatch(ByteBuf buf) {
+        SocketMC mod = SocketMC.INSTANCE.get();
+
+        int start = buf.readerIndex();
+        List<Instruction> batch = WireCodec.readInstructions(buf);
+        batch.replaceAll(SocketDecoder::claimStreams);
+        int size = (buf.readerIndex() - start) / Math.max(batch.size(), 1);
+
+        SocketPlugin p = readPlugin(buf);
+
+        // Whole batch is applied in one task, so a HUD is never drawn half updated
+        BlobCache.INSTANCE.resolve(batch, resolved -> mod.execute(() -> {
+            for (Instruction i : resolved)
+                try {
+                    apply(mod, i, p, size);
+                } catch (Exception e) {
+                    SocketMC.print(e);
+                }
+        }));
+    }
+
+    private static SocketPlugin readPlugin(ByteBuf buf) {
+        return PLUGINS.get(readPluginId(buf));
+    }
+
+    private static int readPluginId(ByteBuf buf) {
+        int ref = WireCodec.readVarInt(buf);
+        int id = ref >>> 1;
+
+        if ((ref & 1) == 1) {
+            PLUGINS.put(id, SocketPlugin.fromByteArray(WireCodec.readByteArray(buf)));
+            return id;
+        }
+
+        if (!PLUGINS.containsKey(id)) throw new IllegalArgumentException("Unknown plugin id: " + id);
+        return id;
+    }
+
+    private static Instruction claimStreams(Instruction i) {
+        return i.mapParameters(p -> p instanceof StreamReference ref ? IncomingStream.claim(ref).open() : p);
+    }
+
+    private static void apply(SocketMC mod, Instruction i, SocketPlugin p, int size) throws Exception {
+        i = TemplateMachine.expand(i, p);
+        if (i == null) return;
+
+        boolean template = i.getId().equals(Instruction.TEMPLATE);
+        ModPermission perm = template ? TemplateMachine.getPermission(i) : i.getPermission();
+        if (SocketMC.isPermissionEnabled(p, perm)) {
+            if (template) TemplateMachine.MACHINE.onInstruction(i, p);
+            else MachineFinder.getMachine(mod.getMachines(), i.getId()).onInstruction(i);
+        } else {
+            SocketMC.LOGGER.warn("Plugin {} tried to execute instruction {} without permission", p.getPluginName(), i.getId());
+            ModAuditLog.INSTANCE.log("Plugin " + p.getPluginName() + " tried to execute instruction '" + i.getId() + "' without permission");
+        }
+
+        SocketMC.LOGGER.info(ModAuditLog.CLIENT_RECEIVED_MESSAGE, i, size);
+        SocketMC.addPlugin(p);
+        ModAuditLog.INSTANCE.logReceived(i, p);
+    }
+
+    private static void decodeRetriever(ByteBuf buf) {
+        SocketMC mod = SocketMC.INSTANCE.get();
+
+        UUID retriever = WireCodec.readUUID(buf);
+
+        byte[] r0 = WireCodec.readByteArray(buf);
+        RetrieverType<?> r = RetrieverType.fromByteArray(r0);
+
+        SocketPlugin p = readPlugin(buf);
+
+        Object value = Retriever.value(r, mod.getProperties());
+
+        mod.execute(() -> {
+            try {
+                ModPermission perm = r.getPermission();
+                if (SocketMC.isPermissionEnabled(p, perm)) {
+                    mod.sendRetrieverResponse(retriever, value);
+                } else {
+                    SocketMC.LOGGER.warn("Plugin {} tried to retrieve {} without permission", p.getPluginName(), r.getId());
+                    ModAuditLog.INSTANCE.log("Plugin " + p.getPluginName() + " tried to retrieve '" + r.getId() + "' without permission");
+                }
+
+                SocketMC.LOGGER.info(ModAuditLog.CLIENT_RECEIVED_MESSAGE, r, r0.length);
+                SocketMC.addPlugin(p);
+                ModAuditLog.INSTANCE.logReceived(r, p, value);
+            } catch (Exception e) {
+                SocketMC.print(e);
+            }
+        });
+    }
+
+    private static void decodeMultiRetriever(ByteBuf buf) {
+        SocketMC mod = SocketMC.INSTANCE.get();
+
+        int start = buf.readerIndex();
+        UUID retriever = WireCodec.readUUID(buf);
+
+        int count = WireCodec.readVarInt(buf);
+        if (count < 0 || count > buf.readableBytes()) throw new IllegalArgumentException("Invalid retriever count: " + count);
+
+        List<RetrieverType<?>> types = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RetrieverType<?> r = RetrieverType.fromId(WireCodec.readString(buf));
+            if (r != null) types.add(r);
+        }
+        int size = buf.readerIndex() - start;
+
+        SocketPlugin p = readPlugin(buf);
+
+        // Every value is sampled in the same task, so they all describe the same frame
+        mod.execute(() -> {
+            try {
+                Map<String, Object> values = new HashMap<>();
+                for (RetrieverType<?> r : types) {
+                    if (!SocketMC.isPermissionEnabled(p, r.getPermission())) {
+                        SocketMC.LOGGER.warn("Plugin {} tried to retrieve {} without permission", p.getPluginName(), r.getId());
+                        ModAuditLog.INSTANCE.log("Plugin " + p.getPluginName() + " tried to retrieve '" + r.getId() + "' without permission");
+                        continue;
+                    }
+
+                    Object value = Retriever.value(r, mod.getProperties());
+                    values.put(r.getId(), value);
+
+                    SocketMC.LOGGER.info(ModAuditLog.CLIENT_RECEIVED_MESSAGE, r, size);
+                    ModAuditLog.INSTANCE.logReceived(r, p, value);
+                }
+
+                mod.sendRetrieverResponse(retriever, values);
+                SocketMC.addPlugin(p);
+            } catch (Exception e) {
+                SocketMC.print(e);
+            }
+        });
+    }
+
+    private static void decodeSubscription(ByteBuf buf) {
+        SocketMC mod = SocketMC.INSTANCE.get();
+
+        RetrieverType<?> r = RetrieverType.fromId(WireCodec.readString(buf));
+        boolean subscribe = buf.readBoolean();
+        long interval = subscribe ? WireCodec.readVarLong(buf) : 0;
+        double threshold = subscribe ? buf.readDouble() : 0;
+
+        int id = readPluginId(buf);
+        SocketPlugin p = PLUGINS.get(id);
+        if (r == null) return;
+
+        mod.execute(() -> {
+            try {
+                if (!subscribe) {
+                    RetrieverSubscriptions.unsubscribe(r);
+                    return;
+                }
+
+                if (SocketMC.isPermissionEnabled(p, r.getPermission())) {
+                    RetrieverSubscriptions.subscribe(r, id, interval, threshold);
+                } else {
+                    SocketMC.LOGGER.warn("Plugin {} tried to subscribe to {} without permission", p.getPluginName(), r.getId());
+                    ModAuditLog.INSTANCE.log("Plugin " + p.getPluginName() + " tried to subscribe to '" + r.getId() + "' without permission");
+                }
+
+                SocketMC.addPlugin(p);
+            } catch (Exception e) {
+                SocketMC.print(e);
+            }
+        });
+    }
+
+}
@@ -3,7 +3,10 @@ package xyz.gmitch215.socketmc;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import io.netty.buffer.ByteBuf;
 import xyz.gmitch215.socketmc.config.ModPermission;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.retriever.ClientProperty;
 import xyz.gmitch215.socketmc.spigot.SocketPlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +39,18 @@ public interface SocketMC {
 
     Set<UUID> getHiddenPlayers();
 
+    void execute(Runnable task);
+
+    Collection<Class<? extends Machine>> getMachines();
+
+    Set<ClientProperty<?>> getProperties();
+
+    void sendRetrieverResponse(UUID id, Object value) throws Exception;
+
+    void sendFrame(ByteBuf frame);
+
+    String getScreenTitle();
+
     // Static Util
 
     static void print(Throwable t) {
@@ -0,0 +1,35 @@
+package xyz.gmitch215.socketmc.machines;
+
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.util.Identifier;
+import xyz.gmitch215.socketmc.util.LifecycleMap;
+
+/**
+ * Represents a machine whose drawn contents are stored under an {@link Identifier}, so they can be replaced or
+ * removed by an {@link Instruction#ELEMENT} instruction.
+ */
+public interface AddressableMachine extends Machine {
+
+    /**
+     * Gets the map holding the contents drawn by this machine.
+     * @return Lifecycle Map
+     */
+    @NotNull
+    LifecycleMap<?> getLifecycle();
+
+    /**
+     * Called when the mod receives an instruction to draw under a specific identifier.
+     * @param id The identifier to draw under.
+     * @param instruction The instruction received.
+     * @throws Exception If an error occurs while processing the instruction.
+     */
+    void onInstruction(@NotNull Identifier id, @NotNull Instruction instruction) throws Exception;
+
+    @Override
+    default void onInstruction(@NotNull Instruction instruction) throws Exception {
+        onInstruction(Identifier.random(), instruction);
+    }
+
+}
@@ -0,0 +1,81 @@
+package xyz.gmitch215.socketmc.machines;
+
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.SocketMC;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.instruction.InstructionId;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.util.Identifier;
+import xyz.gmitch215.socketmc.util.LifecycleMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@InstructionId(Instruction.ELEMENT)
+@SuppressWarnings("unchecked")
+public final class ElementMachine implements Machine {
+
+    public static final ElementMachine MACHINE = new ElementMachine();
+
+    private ElementMachine() {}
+
+    private static final Map<Identifier, Instruction> elements = new HashMap<>();
+
+    @Override
+    public void onInstruction(@NotNull Instruction instruction) throws Exception {
+        String action = instruction.firstStringParameter();
+        Identifier id = instruction.parameter(1, Identifier.class);
+
+        switch (action) {
+            case "upsert" -> upsert(id, instruction.lastParameter(Instruction.class));
+            case "update" -> {
+                Instruction content = elements.get(id);
+                if (content == null) return;
+
+                // Content may have expired since it was drawn
+                AddressableMachine machine = find(content);
+                if (machine == null || !machine.getLifecycle().containsIdentifier(id)) {
+                    elements.remove(id);
+                    return;
+                }
+
+                upsert(id, content.withParameters(instruction.lastParameter(Map.class)));
+            }
+            case "remove" -> remove(id);
+        }
+    }
+
+    private static void upsert(Identifier id, Instruction content) throws Exception {
+        remove(id);
+
+        AddressableMachine machine = find(content);
+        if (machine == null) {
+            SocketMC.LOGGER.warn("Instruction {} cannot be drawn as an element", content.getId());
+            return;
+        }
+
+        machine.onInstruction(id, content);
+        elements.put(id, content);
+    }
+
+    private static void remove(Identifier id) {
+        elements.remove(id);
+
+        for (String type : Instruction.ELEMENT_INSTRUCTIONS)
+            if (MachineFinder.getMachine(SocketMC.INSTANCE.get().getMachines(), type) instanceof AddressableMachine machine)
+                machine.getLifecycle().remove(id);
+    }
+
+    private static AddressableMachine find(Instruction content) {
+        if (!Instruction.ELEMENT_INSTRUCTIONS.contains(content.getId())) return null;
+        return MachineFinder.getMachine(SocketMC.INSTANCE.get().getMachines(), content.getId()) instanceof AddressableMachine machine ? machine : null;
+    }
+
+    /**
+     * Forgets every element, such as when disconnecting.
+     */
+    public static void clear() {
+        elements.clear();
+    }
+
+}
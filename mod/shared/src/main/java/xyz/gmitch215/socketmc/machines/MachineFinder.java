@@ -25,7 +25,9 @@ public final class MachineFinder {
             ExternalMessageMachine.class,
             SetWindowTitleMachine.class,
             ShowPlayersMachine.class,
-            HidePlayersMachine.class
+            HidePlayersMachine.class,
+            ElementMachine.class,
+            PatchContextMachine.class, TemplateMachine.class
     );
 
     public static Machine getMachine(@NotNull Collection<Class<? extends Machine>> machines, @NotNull String id) {
@@ -0,0 +1,59 @@
+package xyz.gmitch215.socketmc.machines;
+
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.SocketMC;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.instruction.InstructionId;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.util.Identifier;
+import xyz.gmitch215.socketmc.util.render.ContextPatch;
+import xyz.gmitch215.socketmc.util.render.DrawingContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@InstructionId(Instruction.PATCH_CONTEXT)
+public final class PatchContextMachine implements Machine {
+
+    public static final PatchContextMachine MACHINE = new PatchContextMachine();
+
+    private PatchContextMachine() {}
+
+    private static final Map<Identifier, DrawingContext> contexts = new HashMap<>();
+
+    /**
+     * Keeps a drawing context that is about to be rendered, so it can be patched later. Only the most recently
+     * rendered context is kept for each identifier.
+     * @param context the context, which is ignored if it has no identifier
+     * @return the context
+     */
+    public static DrawingContext register(DrawingContext context) {
+        if (context != null && context.getId() != null)
+            contexts.put(context.getId(), context);
+
+        return context;
+    }
+
+    /**
+     * Forgets every drawing context, such as when disconnecting.
+     */
+    public static void clear() {
+        contexts.clear();
+    }
+
+    @Override
+    public void onInstruction(@NotNull Instruction instruction) {
+        Identifier id = instruction.firstParameter(Identifier.class);
+        ContextPatch patch = instruction.lastParameter(ContextPatch.class);
+
+        DrawingContext context = contexts.get(id);
+        if (context == null) {
+            SocketMC.LOGGER.warn("Received patch for unknown drawing context {}", id);
+            return;
+        }
+
+        // Patched in place, so only the changed commands are replaced in what is being rendered
+        context.patch(patch);
+    }
+
+}
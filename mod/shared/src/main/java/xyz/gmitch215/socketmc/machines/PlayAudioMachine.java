@@ -1,12 +1,15 @@
 package xyz.gmitch215.socketmc.machines;
 
+import xyz.gmitch215.socketmc.SocketMC;
 import xyz.gmitch215.socketmc.instruction.Instruction;
 import xyz.gmitch215.socketmc.instruction.InstructionId;
 import xyz.gmitch215.socketmc.instruction.Machine;
 import org.jetbrains.annotations.NotNull;
 
 import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 @InstructionId(Instruction.PLAY_AUDIO)
 public final class PlayAudioMachine implements Machine {
@@ -17,6 +20,14 @@ public final class PlayAudioMachine implements Machine {
 
     @Override
     public void onInstruction(@NotNull Instruction instruction) throws Exception {
+        // Streamed audio is played while it is still being received
+        if (instruction.getParameters().getFirst() instanceof InputStream stream) {
+            Thread thread = new Thread(() -> play(stream), "SocketMC Audio");
+            thread.setDaemon(true);
+            thread.start();
+            return;
+        }
+
         byte[] data = instruction.parameter(0, byte[].class);
 
         ByteArrayInputStream in = new ByteArrayInputStream(data);
@@ -32,4 +43,21 @@ public final class PlayAudioMachine implements Machine {
         audio.close();
     }
 
+    private static void play(InputStream stream) {
+        try (AudioInputStream audio = AudioSystem.getAudioInputStream(new BufferedInputStream(stream))) {
+            AudioFormat format = audio.getFormat();
+            SourceDataLine line = AudioSystem.getSourceDataLine(format);
+            line.open(format);
+            line.start();
+
+            byte[] buffer = new byte[Math.max(format.getFrameSize(), 1) * 4096];
+            for (int read; (read = audio.read(buffer)) != -1;) line.write(buffer, 0, read);
+
+            line.drain();
+            line.close();
+        } catch (Exception e) {
+            SocketMC.print(e);
+        }
+    }
+
 }
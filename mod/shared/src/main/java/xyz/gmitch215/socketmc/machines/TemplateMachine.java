@@ -0,0 +1,92 @@
+package xyz.gmitch215.socketmc.machines;
+
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.SocketMC;
+import xyz.gmitch215.socketmc.config.ModPermission;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.instruction.InstructionId;
+import xyz.gmitch215.socketmc.instruction.InstructionTemplate;
+import xyz.gmitch215.socketmc.instruction.Machine;
+import xyz.gmitch215.socketmc.spigot.SocketPlugin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@InstructionId(Instruction.TEMPLATE)
+public final class TemplateMachine implements Machine {
+
+    public static final TemplateMachine MACHINE = new TemplateMachine();
+
+    private TemplateMachine() {}
+
+    // Template IDs are chosen by each plugin, so they are only unique per plugin
+    private static final Map<Key, InstructionTemplate> templates = new HashMap<>();
+
+    /**
+     * Fills in the template an instruction applies, so it is checked and run as the instruction it expands to.
+     * @param instruction the instruction received
+     * @param plugin the plugin that sent the instruction, and registered the template
+     * @return the expanded instruction, the same instruction if it does not apply a template, or null if the template is unknown
+     */
+    public static Instruction expand(Instruction instruction, SocketPlugin plugin) {
+        if (!instruction.getId().equals(Instruction.TEMPLATE) || !"apply".equals(instruction.firstStringParameter()))
+            return instruction;
+
+        int id = instruction.intParameter(1);
+        InstructionTemplate template = templates.get(new Key(plugin, id));
+        if (template == null) {
+            SocketMC.LOGGER.warn("Plugin {} sent arguments for unknown template {}", plugin.getPluginName(), id);
+            return null;
+        }
+
+        return template.apply(instruction.lastParameter(List.class));
+    }
+
+    /**
+     * Gets the permission needed to run a template instruction. Registering a template needs the permission of the
+     * instruction it is registered for, so a plugin cannot store an instruction it could not run.
+     * @param instruction the template instruction
+     * @return the permission
+     */
+    public static ModPermission getPermission(Instruction instruction) {
+        if ("register".equals(instruction.firstStringParameter()))
+            return instruction.lastParameter(Instruction.class).getPermission();
+
+        return instruction.getPermission();
+    }
+
+    /**
+     * Forgets every template, such as when disconnecting.
+     */
+    public static void clear() {
+        templates.clear();
+    }
+
+    @Override
+    public void onInstruction(@NotNull Instruction instruction) {
+        // Templates are registered per plugin, so there is nothing to do without the plugin that sent it
+        SocketMC.LOGGER.warn("Ignoring template instruction sent without a plugin");
+    }
+
+    /**
+     * Registers or unregisters a template for the plugin that sent the instruction.
+     * @param instruction the template instruction
+     * @param plugin the plugin that sent the instruction
+     * @throws IllegalArgumentException if the action is unknown
+     */
+    public void onInstruction(@NotNull Instruction instruction, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        String action = instruction.firstStringParameter();
+        Key key = new Key(plugin, instruction.intParameter(1));
+
+        switch (action) {
+            // Parsed once here, so each application only fills in the slots
+            case "register" -> templates.put(key, new InstructionTemplate(instruction.lastParameter(Instruction.class)));
+            case "unregister" -> templates.remove(key);
+            default -> throw new IllegalArgumentException("Unknown template action: " + action);
+        }
+    }
+
+    private record Key(SocketPlugin plugin, int id) {}
+
+}
@@ -0,0 +1,133 @@
+package xyz.gmitch215.socketmc.retriever;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import xyz.gmitch215.socketmc.SocketMC;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Samples the retriever types the server subscribed to on every client tick, and sends the values that changed since
+ * they were last sent in a single {@link WireCodec#RETRIEVER_UPDATE_FRAME}. Each value is sent with the IDs of the
+ * plugins allowed to subscribe to it, so the server only gives it to those plugins.
+ */
+public final class RetrieverSubscriptions {
+
+    private static final Map<RetrieverType<?>, Subscription> SUBSCRIPTIONS = new ConcurrentHashMap<>();
+
+    private RetrieverSubscriptions() {}
+
+    /**
+     * Subscribes a plugin to a retriever type, replacing the sampling interval and threshold of the type. The current
+     * value is sent again on the next sample, so the new plugin receives it.
+     * @param type the retriever type
+     * @param plugin the ID of the plugin subscribing, which must have permission for the type
+     * @param interval the minimum time between samples, in milliseconds
+     * @param threshold the minimum change of a numeric value before it is sent again, or {@code 0} to send any change
+     */
+    public static void subscribe(RetrieverType<?> type, int plugin, long interval, double threshold) {
+        Subscription sub = SUBSCRIPTIONS.computeIfAbsent(type, k -> new Subscription());
+        sub.interval = Math.max(0, interval);
+        sub.threshold = Math.max(0, threshold);
+        sub.plugins.add(plugin);
+        sub.sent = false;
+    }
+
+    /**
+     * Stops sampling a retriever type. The server only sends this once no plugin is subscribed to the type.
+     * @param type the retriever type
+     */
+    public static void unsubscribe(RetrieverType<?> type) {
+        SUBSCRIPTIONS.remove(type);
+    }
+
+    /**
+     * Removes every subscription, such as when disconnecting from the server.
+     */
+    public static void clear() {
+        SUBSCRIPTIONS.clear();
+    }
+
+    /**
+     * Samples every subscription that is due, on the client thread.
+     */
+    public static void tick() {
+        if (SUBSCRIPTIONS.isEmpty()) return;
+
+        SocketMC mod = SocketMC.INSTANCE.get();
+        long now = System.currentTimeMillis();
+        List<RetrieverType<?>> types = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<List<Integer>> plugins = new ArrayList<>();
+
+        for (Map.Entry<RetrieverType<?>, Subscription> entry : SUBSCRIPTIONS.entrySet()) {
+            Subscription sub = entry.getValue();
+            if (now - sub.lastSample < sub.interval) continue;
+            sub.lastSample = now;
+
+            Object value = Retriever.value(entry.getKey(), mod.getProperties());
+            if (sub.sent && !sub.changed(value)) continue;
+
+            sub.sent = true;
+            sub.last = value;
+            types.add(entry.getKey());
+            values.add(value);
+            plugins.add(List.copyOf(sub.plugins));
+        }
+
+        if (types.isEmpty()) return;
+
+        ByteBuf buf = Unpooled.buffer();
+        WireCodec.writeVarInt(buf, WireCodec.RETRIEVER_UPDATE_FRAME);
+        WireCodec.writeVarInt(buf, types.size());
+        ByteBuf value = Unpooled.buffer();
+        for (int i = 0; i < types.size(); i++) {
+            WireCodec.writeString(buf, types.get(i).getId());
+
+            // Length prefixed, so servers can skip types they do not know
+            value.clear();
+            try {
+                types.get(i).writeValue(value, values.get(i));
+            } catch (IllegalArgumentException e) {
+                SocketMC.print(e);
+                value.clear();
+                types.get(i).writeValue(value, null);
+            }
+
+            WireCodec.writeVarInt(buf, value.readableBytes());
+            buf.writeBytes(value);
+
+            WireCodec.writeVarInt(buf, plugins.get(i).size());
+            for (int plugin : plugins.get(i)) WireCodec.writeVarInt(buf, plugin);
+        }
+        value.release();
+
+        mod.sendFrame(buf);
+    }
+
+    // Only accessed on the client thread
+    private static final class Subscription {
+        final Set<Integer> plugins = new HashSet<>();
+        long interval;
+        double threshold;
+
+        long lastSample = Long.MIN_VALUE / 2;
+        boolean sent;
+        Object last;
+
+        boolean changed(Object value) {
+            if (threshold > 0 && value instanceof Number n && last instanceof Number l)
+                return Math.abs(n.doubleValue() - l.doubleValue()) >= threshold;
+
+            return !Objects.deepEquals(value, last);
+        }
+    }
+
+}
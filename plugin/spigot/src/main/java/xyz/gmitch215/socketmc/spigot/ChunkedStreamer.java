@@ -0,0 +1,108 @@
+package xyz.gmitch215.socketmc.spigot;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import xyz.gmitch215.socketmc.network.StreamReference;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends large payloads to a player as a sequence of {@link WireCodec#STREAM_FRAME}s. One chunk is written per event
+ * loop task so other traffic is interleaved between chunks, and writing pauses while the channel is not writable.
+ * There is one streamer per channel, so stream IDs are never reused on a connection.
+ */
+final class ChunkedStreamer {
+
+    private static final AttributeKey<ChunkedStreamer> KEY = AttributeKey.valueOf("socketmc:streamer");
+
+    private final Channel channel;
+    private final Queue<Outgoing> streams = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ids = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private ChunkedStreamer(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the streamer for a channel, creating it if needed.
+     * @param channel The channel to stream to.
+     * @return The streamer
+     */
+    static ChunkedStreamer of(Channel channel) {
+        Attribute<ChunkedStreamer> attr = channel.attr(KEY);
+        ChunkedStreamer streamer = attr.get();
+        if (streamer != null) return streamer;
+
+        ChunkedStreamer created = new ChunkedStreamer(channel);
+        ChunkedStreamer existing = attr.setIfAbsent(created);
+        return existing == null ? created : existing;
+    }
+
+    /**
+     * Starts streaming a payload to the player.
+     * @param data The payload to stream.
+     * @return The reference to send in place of the payload
+     */
+    StreamReference stream(byte[] data) {
+        StreamReference ref = new StreamReference(ids.incrementAndGet(), data.length);
+        streams.offer(new Outgoing(ref, data));
+        schedule();
+
+        return ref;
+    }
+
+    /**
+     * Schedules the next chunk to be written. Called again when the channel becomes writable.
+     */
+    void schedule() {
+        if (scheduled.compareAndSet(false, true))
+            channel.eventLoop().execute(this::pump);
+    }
+
+    private void pump() {
+        scheduled.set(false);
+
+        if (!channel.isActive()) {
+            streams.clear();
+            return;
+        }
+
+        Outgoing next = streams.peek();
+        if (next == null || !channel.isWritable()) return;
+
+        int length = Math.min(StreamReference.CHUNK_SIZE, next.data.length - next.offset);
+
+        ByteBuf buf = Unpooled.buffer(length + 16);
+        WireCodec.writeVarInt(buf, WireCodec.STREAM_FRAME);
+        next.ref.writeTo(buf);
+        WireCodec.writeVarInt(buf, length);
+        buf.writeBytes(next.data, next.offset, length);
+        channel.writeAndFlush(buf);
+
+        next.offset += length;
+        if (next.offset >= next.data.length) streams.poll();
+
+        // Yield to other queued writes before the next chunk
+        if (!streams.isEmpty()) schedule();
+    }
+
+    private static final class Outgoing {
+        final StreamReference ref;
+        final byte[] data;
+        int offset = 0;
+
+        Outgoing(StreamReference ref, byte[] data) {
+            this.ref = ref;
+            this.data = data;
+        }
+    }
+
+}
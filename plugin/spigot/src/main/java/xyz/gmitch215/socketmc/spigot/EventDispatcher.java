@@ -0,0 +1,410 @@
+package xyz.gmitch215.socketmc.spigot;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.events.SocketEvent;
+import xyz.gmitch215.socketmc.events.input.AsyncPlayerMoveMouseEvent;
+import xyz.gmitch215.socketmc.events.input.AsyncPlayerScrollMouseEvent;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * <p>Calls the events sent by SocketMC clients.</p>
+ * <p>Events from the same player are called one at a time, in the order they were received, while events from different
+ * players are called in parallel on a bounded executor. Each player can have at most
+ * {@linkplain #getMaxQueued() a limited number} of events waiting to be called; when a player sends events faster than
+ * listeners handle them, consecutive mouse moves are merged into the latest one, consecutive scrolls are merged into
+ * their sum, and further high-frequency events are dropped before any other event is.</p>
+ * <p>Threads are started when the first event is received, and stopped by {@link EventSubscriptions#stop()} when the
+ * plugin is disabled.</p>
+ */
+public final class EventDispatcher {
+
+    /**
+     * The default maximum number of events that can be waiting to be called for a player.
+     */
+    public static final int DEFAULT_MAX_QUEUED = 256;
+
+    /**
+     * The default number of threads calling events.
+     */
+    public static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    // The maximum number of events called for a player before yielding the thread to other players
+    private static final int BATCH_SIZE = 32;
+
+    private static final Map<UUID, PlayerQueue> queues = new ConcurrentHashMap<>();
+
+    private static Supplier<ExecutorService> factory = () -> newPool(DEFAULT_THREADS);
+    private static volatile ExecutorService executor;
+    private static volatile boolean shutdown;
+    private static volatile int maxQueued = DEFAULT_MAX_QUEUED;
+    private static volatile boolean merging = true;
+
+    private static final LongAdder queued = new LongAdder();
+    private static final LongAdder dispatched = new LongAdder();
+    private static final LongAdder merged = new LongAdder();
+    private static final LongAdder dropped = new LongAdder();
+    private static final LongAdder latency = new LongAdder();
+    private static final AtomicLong maxLatency = new AtomicLong();
+    private static final AtomicInteger maxDepth = new AtomicInteger();
+
+    private EventDispatcher() {}
+
+    private static ExecutorService newPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "SocketMC Event Dispatcher #" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Configuration
+
+    /**
+     * Calls events on a fixed number of platform threads. This is the default, using {@link #DEFAULT_THREADS} threads.
+     * @param threads the number of threads
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public static void setThreads(int threads) throws IllegalArgumentException {
+        if (threads <= 0) throw new IllegalArgumentException("Threads must be positive");
+        replaceExecutor(() -> newPool(threads));
+    }
+
+    /**
+     * Calls events on virtual threads, one per player with pending events. Events from the same player are still called
+     * in order.
+     */
+    public static void useVirtualThreads() {
+        replaceExecutor(() -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SocketMC Event Dispatcher #", 1).factory()));
+    }
+
+    private static synchronized void replaceExecutor(Supplier<ExecutorService> newFactory) {
+        factory = newFactory;
+
+        ExecutorService old = executor;
+        if (old == null) return;
+
+        executor = newFactory.get();
+        old.shutdown();
+    }
+
+    // Lifecycle
+
+    static synchronized void start() {
+        shutdown = false;
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null && !shutdown) executor = factory.get();
+        return executor;
+    }
+
+    static synchronized void shutdown() {
+        shutdown = true;
+
+        ExecutorService old = executor;
+        executor = null;
+        if (old != null) old.shutdown();
+
+        for (PlayerQueue queue : queues.values()) queue.discard();
+        queues.clear();
+    }
+
+    /**
+     * Gets the maximum number of events that can be waiting to be called for a player. Defaults to {@value #DEFAULT_MAX_QUEUED}.
+     * @return the maximum queued events
+     */
+    public static int getMaxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * Sets the maximum number of events that can be waiting to be called for a player. When a player's queue is full,
+     * the oldest queued mouse move or scroll is dropped to make room for the new event; if there is none, or the new
+     * event is itself a mouse move or scroll, the new event is dropped.
+     * @param maxQueued the maximum queued events
+     * @throws IllegalArgumentException if the maximum is not positive
+     */
+    public static void setMaxQueued(int maxQueued) throws IllegalArgumentException {
+        if (maxQueued <= 0) throw new IllegalArgumentException("Maximum queued events must be positive");
+        EventDispatcher.maxQueued = maxQueued;
+    }
+
+    /**
+     * Checks whether consecutive mouse moves and scrolls waiting to be called are merged. Defaults to true.
+     * @return true if events are merged
+     */
+    public static boolean isMerging() {
+        return merging;
+    }
+
+    /**
+     * Sets whether consecutive mouse moves and scrolls waiting to be called are merged. When disabled, every event the
+     * client sends is called, as long as the player's queue is not full.
+     * @param merging true to merge events
+     */
+    public static void setMerging(boolean merging) {
+        EventDispatcher.merging = merging;
+    }
+
+    // Metrics
+
+    /**
+     * Gets the number of events currently waiting to be called, across all players.
+     * @return the queued events
+     */
+    public static long getQueuedEvents() {
+        return queued.sum();
+    }
+
+    /**
+     * Gets the number of events currently waiting to be called for a player.
+     * @param player the player
+     * @return the queued events
+     * @throws IllegalArgumentException if the player is null
+     */
+    public static int getQueuedEvents(@NotNull SocketPlayer player) throws IllegalArgumentException {
+        if (player == null) throw new IllegalArgumentException("Player cannot be null");
+
+        PlayerQueue queue = queues.get(player.getPlayer().getUniqueId());
+        if (queue == null) return 0;
+
+        synchronized (queue) {
+            return queue.events.size();
+        }
+    }
+
+    /**
+     * Gets the largest number of events that have been waiting to be called for a single player.
+     * @return the maximum queue depth
+     */
+    public static int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * Gets the number of events that have been called.
+     * @return the dispatched events
+     */
+    public static long getDispatchedEvents() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Gets the number of events that have been merged into another queued event instead of being called.
+     * @return the merged events
+     */
+    public static long getMergedEvents() {
+        return merged.sum();
+    }
+
+    /**
+     * Gets the number of events that have been dropped because a player's queue was full or the player disconnected.
+     * @return the dropped events
+     */
+    public static long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the average time between an event being received and being called.
+     * @param unit the unit of the returned time
+     * @return the average dispatch latency, or {@code 0} if no events have been called
+     * @throws IllegalArgumentException if the unit is null
+     */
+    public static long getAverageLatency(@NotNull TimeUnit unit) throws IllegalArgumentException {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+
+        long count = dispatched.sum();
+        return count == 0 ? 0 : unit.convert(latency.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the longest time between an event being received and being called.
+     * @param unit the unit of the returned time
+     * @return the maximum dispatch latency
+     * @throws IllegalArgumentException if the unit is null
+     */
+    public static long getMaxLatency(@NotNull TimeUnit unit) throws IllegalArgumentException {
+        if (unit == null) throw new IllegalArgumentException("Unit cannot be null");
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resets the dispatched, merged and dropped counts, as well as the maximum queue depth and dispatch latencies.
+     */
+    public static void resetMetrics() {
+        dispatched.reset();
+        merged.reset();
+        dropped.reset();
+        latency.reset();
+        maxLatency.set(0);
+        maxDepth.set(0);
+    }
+
+    // Dispatching
+
+    static void dispatch(SocketPlayer player, SocketEvent event) {
+        if (shutdown) {
+            dropped.increment();
+            return;
+        }
+
+        PlayerQueue queue = queues.computeIfAbsent(player.getPlayer().getUniqueId(), k -> new PlayerQueue());
+        Queued entry = new Queued(event, System.nanoTime());
+
+        boolean schedule;
+        synchronized (queue) {
+            if (!queue.offer(entry)) return;
+
+            schedule = !queue.scheduled;
+            queue.scheduled = true;
+        }
+
+        if (schedule) schedule(queue);
+    }
+
+    static void remove(SocketPlayer player) {
+        PlayerQueue queue = queues.remove(player.getPlayer().getUniqueId());
+        if (queue != null) queue.discard();
+    }
+
+    private static void schedule(PlayerQueue queue) {
+        ExecutorService executor = EventDispatcher.executor;
+        if (executor == null) executor = executor();
+
+        try {
+            if (executor != null) executor.execute(queue::drain);
+            else queue.discard();
+        } catch (RejectedExecutionException e) {
+            // Executor was replaced or shut down while scheduling
+            executor = executor();
+            if (executor != null) executor.execute(queue::drain);
+            else queue.discard();
+        }
+    }
+
+    private static boolean isHighFrequency(SocketEvent event) {
+        return event instanceof AsyncPlayerMoveMouseEvent || event instanceof AsyncPlayerScrollMouseEvent;
+    }
+
+    private static SocketEvent merge(SocketEvent last, SocketEvent next) {
+        if (last instanceof AsyncPlayerMoveMouseEvent && next instanceof AsyncPlayerMoveMouseEvent)
+            return next;
+
+        if (last instanceof AsyncPlayerScrollMouseEvent a && next instanceof AsyncPlayerScrollMouseEvent b)
+            return new AsyncPlayerScrollMouseEvent(b.getSocketPlayer(), a.getXOffset() + b.getXOffset(), a.getYOffset() + b.getYOffset());
+
+        return null;
+    }
+
+    private record Queued(SocketEvent event, long received) {}
+
+    private static final class PlayerQueue {
+        final ArrayDeque<Queued> events = new ArrayDeque<>();
+        boolean scheduled;
+
+        // Called while synchronized
+        boolean offer(Queued entry) {
+            if (merging && !events.isEmpty()) {
+                Queued last = events.peekLast();
+                SocketEvent merged = merge(last.event, entry.event);
+
+                if (merged != null) {
+                    events.pollLast();
+                    events.offerLast(new Queued(merged, last.received));
+                    EventDispatcher.merged.increment();
+                    return false;
+                }
+            }
+
+            if (events.size() >= maxQueued) {
+                if (isHighFrequency(entry.event) || !evictHighFrequency()) {
+                    dropped.increment();
+                    return false;
+                }
+            }
+
+            events.offerLast(entry);
+            queued.increment();
+            maxDepth.accumulateAndGet(events.size(), Math::max);
+            return true;
+        }
+
+        synchronized void discard() {
+            int size = events.size();
+            dropped.add(size);
+            queued.add(-size);
+            events.clear();
+            scheduled = false;
+        }
+
+        boolean evictHighFrequency() {
+            Iterator<Queued> it = events.iterator();
+            while (it.hasNext())
+                if (isHighFrequency(it.next().event)) {
+                    it.remove();
+                    queued.decrement();
+                    dropped.increment();
+                    return true;
+                }
+
+            return false;
+        }
+
+        void drain() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Queued next;
+                synchronized (this) {
+                    next = events.pollFirst();
+                    if (next == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+
+                queued.decrement();
+                long elapsed = System.nanoTime() - next.received;
+                latency.add(elapsed);
+                maxLatency.accumulateAndGet(elapsed, Math::max);
+
+                try {
+                    Bukkit.getPluginManager().callEvent(next.event);
+                } catch (Throwable t) {
+                    Bukkit.getLogger().log(Level.SEVERE, "Failed to call " + next.event.getEventName(), t);
+                }
+
+                dispatched.increment();
+            }
+
+            synchronized (this) {
+                if (events.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+            }
+
+            schedule(this);
+        }
+    }
+
+}
@@ -1,9 +1,13 @@
 package xyz.gmitch215.socketmc.spigot;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelPipeline;
 import xyz.gmitch215.socketmc.events.SocketEvent;
 import xyz.gmitch215.socketmc.events.input.*;
 import xyz.gmitch215.socketmc.events.system.AsyncPlayerChangeOptionEvent;
+import xyz.gmitch215.socketmc.network.EventCodec;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import xyz.gmitch215.socketmc.screen.AbstractScreen;
 import xyz.gmitch215.socketmc.screen.ui.AbstractButton;
 import xyz.gmitch215.socketmc.screen.ui.CheckboxButton;
@@ -13,11 +17,9 @@ import xyz.gmitch215.socketmc.events.screen.*;
 import xyz.gmitch215.socketmc.util.input.Action;
 import xyz.gmitch215.socketmc.util.input.Key;
 import xyz.gmitch215.socketmc.util.input.MouseButton;
-import org.bukkit.Bukkit;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 
 @SuppressWarnings("unchecked")
@@ -33,14 +35,32 @@ final class EventFactory {
         ChannelPipeline pipeline = p.getChannel().pipeline();
         PacketReceiver old = (PacketReceiver) pipeline.get(SocketPlayer.PACKET_INJECTOR_ID);
 
-        if (old != null)
+        if (old != null) {
+            old.player.retriever.transferTo(p.retriever);
             old.player = p;
-        else
+        } else
             pipeline.addBefore("decoder", SocketPlayer.PACKET_INJECTOR_ID, new PacketReceiver(p));
     }
 
     // Event Factory
 
+    static final List<Class<? extends SocketEvent>> EVENTS = List.of(
+            AsyncPlayerPressKeyEvent.class,
+            AsyncPlayerMoveMouseEvent.class,
+            AsyncPlayerScrollMouseEvent.class,
+            AsyncPlayerClickMouseEvent.class,
+            AsyncPlayerChangeScreenEvent.class,
+            AsyncPlayerClickButtonEvent.class,
+            AsyncPlayerToggleCheckboxEvent.class,
+            AsyncPlayerEditTextEvent.class,
+            AsyncPlayerCycleButtonEvent.class,
+            AsyncPlayerClickExternalMessageBoxEvent.class,
+            AsyncPlayerChangeOptionEvent.class
+    );
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final MouseButton[] BUTTONS = MouseButton.values();
+
     private static final List<BiFunction<SocketPlayer, Map<String, Object>, SocketEvent>> factory = List.of(
             // PlayerPressKeyEvent - 0
             (p, params) -> {
@@ -48,7 +68,7 @@ final class EventFactory {
                 int flags = (int) params.get("flags");
                 int action = (int) params.get("action");
 
-                return new AsyncPlayerPressKeyEvent(p, Key.fromCode(key), Action.values()[action], flags);
+                return new AsyncPlayerPressKeyEvent(p, Key.fromCode(key), ACTIONS[action], flags);
             },
             // PlayerMoveMouseEvent - 1
             (p, params) -> {
@@ -70,7 +90,7 @@ final class EventFactory {
                 int action = (int) params.get("action");
                 int flags = (int) params.get("mods");
 
-                return new AsyncPlayerClickMouseEvent(p, MouseButton.values()[button], Action.values()[action], flags);
+                return new AsyncPlayerClickMouseEvent(p, BUTTONS[button], ACTIONS[action], flags);
             },
             // PlayerChangeScreenEvent - 4
             (p, params) -> {
@@ -128,8 +148,35 @@ final class EventFactory {
             }
     );
 
-    static void call(SocketPlayer player, int id, Map<String, Object> params) {
-        SocketEvent e = factory.get(id).apply(player, params);
-        CompletableFuture.runAsync(() -> Bukkit.getPluginManager().callEvent(e));
+    /**
+     * Reads an event from a {@link WireCodec#EVENT_BATCH_FRAME} and dispatches it.
+     * @throws IllegalArgumentException if the event is malformed, in which case the rest of the batch cannot be read
+     */
+    static void call(SocketPlayer player, ByteBuf buf) throws IllegalArgumentException {
+        int id = WireCodec.readVarInt(buf);
+        if (id < 0 || id >= EventFilter.EVENT_COUNT) throw new IllegalArgumentException("Unknown event ID: " + id);
+
+        SocketEvent e = switch (id) {
+            case EventFilter.PRESS_KEY -> new AsyncPlayerPressKeyEvent(player, Key.fromCode(WireCodec.readVarInt(buf)), get(ACTIONS, WireCodec.readVarInt(buf)), WireCodec.readVarInt(buf));
+            case EventFilter.MOVE_MOUSE -> new AsyncPlayerMoveMouseEvent(player, buf.readFloat(), buf.readFloat());
+            case EventFilter.SCROLL_MOUSE -> new AsyncPlayerScrollMouseEvent(player, buf.readFloat(), buf.readFloat());
+            case EventFilter.CLICK_MOUSE -> new AsyncPlayerClickMouseEvent(player, get(BUTTONS, WireCodec.readVarInt(buf)), get(ACTIONS, WireCodec.readVarInt(buf)), WireCodec.readVarInt(buf));
+            default -> {
+                Map<String, Object> params = EventCodec.readFields(buf, id);
+
+                try {
+                    yield factory.get(id).apply(player, params);
+                } catch (ClassCastException | NullPointerException ex) {
+                    throw new IllegalArgumentException("Invalid parameters for event " + id, ex);
+                }
+            }
+        };
+
+        EventDispatcher.dispatch(player, e);
+    }
+
+    private static <T extends Enum<T>> T get(T[] values, int ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) throw new IllegalArgumentException("Unknown " + values.getClass().getComponentType().getSimpleName() + " ordinal: " + ordinal);
+        return values[ordinal];
     }
 }
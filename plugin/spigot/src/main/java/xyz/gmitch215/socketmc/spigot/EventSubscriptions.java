@@ -0,0 +1,187 @@
+package xyz.gmitch215.socketmc.spigot;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import xyz.gmitch215.socketmc.events.SocketEvent;
+import xyz.gmitch215.socketmc.network.EventFilter;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Tells SocketMC clients which events to send.</p>
+ * <p>The events sent are worked out from the listeners registered for {@link SocketEvent}s: clients only send the
+ * events at least one listener handles, so events no plugin listens to never leave the client. Plugins can further
+ * limit the events sent for their listeners with an {@link EventFilter}, such as to specific keys or while a screen is
+ * open.</p>
+ * <p>Changes to the registered listeners are picked up once {@link #start(Plugin)} has been called, usually when the
+ * plugin is enabled. Until then, they are only picked up when a player joins.</p>
+ */
+public final class EventSubscriptions {
+
+    // How often the registered listeners are checked for changes, in ticks
+    private static final long CHECK_INTERVAL = 20;
+
+    private static final Map<Plugin, Map<Integer, EventFilter>> filters = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Set<Class<?>>> listenedTypes = new ConcurrentHashMap<>();
+
+    private static volatile RegisteredListener[] lastListeners;
+    private static volatile List<EventFilter> subscriptions = List.of();
+
+    private static BukkitTask checker;
+
+    private EventSubscriptions() {}
+
+    /**
+     * Starts picking up changes to the registered listeners, and calling events on the {@link EventDispatcher}. This
+     * should be called when the plugin is enabled. Both stop when the plugin SocketMC is shaded into is disabled, or
+     * when {@link #stop()} is called.
+     * @param plugin the plugin to check the listeners with
+     * @throws IllegalArgumentException if the plugin is null
+     */
+    public static synchronized void start(@NotNull Plugin plugin) throws IllegalArgumentException {
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        stop();
+        EventDispatcher.start();
+
+        checker = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, EventSubscriptions::check, CHECK_INTERVAL, CHECK_INTERVAL);
+        Lifecycle.register();
+    }
+
+    /**
+     * Stops picking up changes to the registered listeners, and shuts down the {@link EventDispatcher}. This is called
+     * automatically when the plugin SocketMC is shaded into is disabled.
+     */
+    public static synchronized void stop() {
+        EventDispatcher.shutdown();
+
+        if (checker == null) return;
+        checker.cancel();
+        checker = null;
+    }
+
+    /**
+     * Limits the events sent for a plugin's listeners, replacing any previous filter the plugin set for the same event.
+     * Events sent for other plugins' listeners are not affected.
+     * @param filter the filter
+     * @param plugin the plugin listening to the event
+     * @throws IllegalArgumentException if any of the arguments are null
+     */
+    public static void setFilter(@NotNull EventFilter filter, @NotNull Plugin plugin) throws IllegalArgumentException {
+        if (filter == null) throw new IllegalArgumentException("Filter cannot be null");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        filters.computeIfAbsent(plugin, k -> new ConcurrentHashMap<>()).put(filter.getEventId(), filter);
+        refresh();
+    }
+
+    /**
+     * Removes the filter a plugin set for an event, so every occurrence of the event is sent for its listeners.
+     * @param eventId the ID of the event
+     * @param plugin the plugin listening to the event
+     * @throws IllegalArgumentException if the plugin is null
+     */
+    public static void removeFilter(int eventId, @NotNull Plugin plugin) throws IllegalArgumentException {
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        Map<Integer, EventFilter> map = filters.get(plugin);
+        if (map == null || map.remove(eventId) == null) return;
+
+        refresh();
+    }
+
+    /**
+     * Gets the events clients are currently told to send.
+     * @return an immutable list of filters, one per event sent
+     */
+    @NotNull
+    @Unmodifiable
+    public static List<EventFilter> getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * Works out the events to send from the registered listeners, and sends them to every player if they changed.
+     * This is called automatically when listeners are registered or unregistered.
+     */
+    public static synchronized void refresh() {
+        List<EventFilter> updated = compute();
+        if (updated.equals(subscriptions)) return;
+
+        subscriptions = updated;
+        for (SocketPlayer player : SocketPlayerRegistry.values())
+            if (player.getChannel().isActive()) send(player);
+    }
+
+    static void send(SocketPlayer player) {
+        check();
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(WireCodec.EVENT_SUBSCRIBE_FRAME);
+        EventFilter.writeAll(buf, subscriptions);
+
+        player.channel.writeAndFlush(buf);
+    }
+
+    private static void check() {
+        if (SocketEvent.getHandlerList().getRegisteredListeners() != lastListeners) refresh();
+    }
+
+    private static List<EventFilter> compute() {
+        RegisteredListener[] listeners = SocketEvent.getHandlerList().getRegisteredListeners();
+        lastListeners = listeners;
+
+        EventFilter[] result = new EventFilter[EventFilter.EVENT_COUNT];
+        for (RegisteredListener listener : listeners) {
+            Set<Class<?>> types = listenedTypes.computeIfAbsent(listener.getListener().getClass(), EventSubscriptions::findListenedTypes);
+            Map<Integer, EventFilter> pluginFilters = filters.getOrDefault(listener.getPlugin(), Map.of());
+
+            for (int id = 0; id < result.length; id++) {
+                Class<? extends SocketEvent> event = EventFactory.EVENTS.get(id);
+                if (types.stream().noneMatch(type -> type.isAssignableFrom(event))) continue;
+
+                EventFilter filter = pluginFilters.getOrDefault(id, EventFilter.of(id));
+                result[id] = result[id] == null ? filter : result[id].union(filter);
+            }
+        }
+
+        List<EventFilter> list = new ArrayList<>();
+        for (EventFilter filter : result)
+            if (filter != null) list.add(filter);
+
+        return List.copyOf(list);
+    }
+
+    private static Set<Class<?>> findListenedTypes(Class<?> listener) {
+        Set<Method> methods = new HashSet<>(List.of(listener.getMethods()));
+        methods.addAll(List.of(listener.getDeclaredMethods()));
+
+        Set<Class<?>> types = new HashSet<>();
+        for (Method m : methods) {
+            if (!m.isAnnotationPresent(EventHandler.class) || m.getParameterCount() != 1) continue;
+
+            Class<?> type = m.getParameterTypes()[0];
+            if (SocketEvent.class.isAssignableFrom(type)) types.add(type);
+        }
+
+        // Registered without annotated handlers, so assume it listens to everything
+        if (types.isEmpty()) types.add(SocketEvent.class);
+
+        return types;
+    }
+
+}
@@ -0,0 +1,54 @@
+package xyz.gmitch215.socketmc.spigot;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import xyz.gmitch215.socketmc.log.AuditLog;
+
+/**
+ * Releases the resources SocketMC holds when plugins are disabled. It is registered once, with the plugin SocketMC is
+ * shaded into, and stops every background thread when that plugin is disabled, such as on {@code /reload}.
+ */
+final class Lifecycle implements Listener {
+
+    private static Plugin registered;
+
+    private final Plugin plugin;
+
+    private Lifecycle(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    static synchronized void register() {
+        if (registered != null) return;
+
+        Plugin plugin;
+        try {
+            plugin = JavaPlugin.getProvidingPlugin(Lifecycle.class);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Not loaded by a plugin, so there is nothing to be disabled with
+            return;
+        }
+
+        Bukkit.getPluginManager().registerEvents(new Lifecycle(plugin), plugin);
+        registered = plugin;
+    }
+
+    @EventHandler
+    public void onDisable(PluginDisableEvent event) {
+        SocketPlayer.forget(event.getPlugin());
+        if (event.getPlugin() != plugin) return;
+
+        EventSubscriptions.stop();
+        SocketRetriever.shutdown();
+        AuditLog.shutdown();
+
+        synchronized (Lifecycle.class) {
+            registered = null;
+        }
+    }
+
+}
@@ -4,11 +4,17 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import net.minecraft.network.FriendlyByteBuf;
+import org.bukkit.Bukkit;
+import xyz.gmitch215.socketmc.network.BlobReference;
+import xyz.gmitch215.socketmc.network.WireCodec;
+import xyz.gmitch215.socketmc.retriever.RetrieverType;
 
 import java.io.ByteArrayInputStream;
 import java.io.ObjectInputStream;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.logging.Level;
 
 @SuppressWarnings("unchecked")
 final class PacketReceiver extends ChannelDuplexHandler {
@@ -21,41 +27,109 @@ final class PacketReceiver extends ChannelDuplexHandler {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
-        if (msg instanceof ByteBuf buf) {
-            FriendlyByteBuf clone = new FriendlyByteBuf(buf.copy());
-            switch (clone.readVarInt()) {
-                // Client Event
-                case -3: {
+        // Peek the packet ID in place; only SocketMC frames are materialized
+        if (msg instanceof ByteBuf buf)
+            switch (WireCodec.peekVarInt(buf, 0)) {
+                // Legacy Client Event, which is no longer deserialized
+                case WireCodec.EVENT_FRAME: {
                     buf.clear();
+                    break;
+                }
+                // Client Event Batch
+                case WireCodec.EVENT_BATCH_FRAME: {
+                    try {
+                        WireCodec.readVarInt(buf);
+
+                        int count = WireCodec.readVarInt(buf);
+                        for (int i = 0; i < count; i++)
+                            try {
+                                EventFactory.call(player, buf);
+                            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                                // Events are not length prefixed, so nothing after a malformed event can be read
+                                Bukkit.getLogger().log(Level.WARNING, "Discarding " + (count - i) + " malformed events from " + player.getPlayer().getName(), e);
+                                break;
+                            }
+                    } finally {
+                        buf.clear();
+                    }
+                    break;
+                }
+                // Retriever Response
+                case WireCodec.RETRIEVER_RESPONSE_FRAME: {
+                    try {
+                        FriendlyByteBuf in = new FriendlyByteBuf(buf);
+                        in.readVarInt();
 
-                    int id = clone.readVarInt();
-                    byte[] params = clone.readByteArray();
+                        UUID id = in.readUUID();
+                        byte[] value0 = in.readByteArray();
 
-                    ByteArrayInputStream bis = new ByteArrayInputStream(params);
-                    ObjectInputStream ois = new ObjectInputStream(bis);
-                    Map<String, Object> parameters = (Map<String, Object>) ois.readObject();
+                        ByteArrayInputStream bis = new ByteArrayInputStream(value0);
+                        ObjectInputStream ois = new ObjectInputStream(bis);
+                        Object value = ois.readObject();
 
-                    EventFactory.call(player, id, parameters);
+                        player.retriever.complete(id, value);
+                    } finally {
+                        buf.clear();
+                    }
                     break;
                 }
-                // Retriever Response
-                case -5: {
-                    buf.clear();
+                // Retriever Subscription Update
+                case WireCodec.RETRIEVER_UPDATE_FRAME: {
+                    try {
+                        WireCodec.readVarInt(buf);
+
+                        int count = WireCodec.readVarInt(buf);
+                        for (int i = 0; i < count; i++) {
+                            RetrieverType<?> type = RetrieverType.fromId(WireCodec.readString(buf));
+
+                            int length = WireCodec.readVarInt(buf);
+                            if (length < 0 || length > buf.readableBytes()) throw new IllegalArgumentException("Invalid value length: " + length);
+                            ByteBuf value = buf.readSlice(length);
 
-                    UUID id = clone.readUUID();
-                    byte[] value0 = clone.readByteArray();
+                            int size = WireCodec.readVarInt(buf);
+                            if (size < 0 || size > buf.readableBytes()) throw new IllegalArgumentException("Invalid plugin count: " + size);
 
-                    ByteArrayInputStream bis = new ByteArrayInputStream(value0);
-                    ObjectInputStream ois = new ObjectInputStream(bis);
-                    Object value = ois.readObject();
+                            List<SocketPlugin> plugins = new ArrayList<>(size);
+                            for (int j = 0; j < size; j++) {
+                                SocketPlugin plugin = player.pluginTable.get(WireCodec.readVarInt(buf));
+                                if (plugin != null) plugins.add(plugin);
+                            }
 
-                    player.retriever.getBus0().remove(id).accept(value);
+                            if (type != null) player.retriever.update(type, type.readValue(value), plugins);
+                        }
+                    } finally {
+                        buf.clear();
+                    }
+                    break;
+                }
+                // Blob Request
+                case WireCodec.BLOB_REQUEST_FRAME: {
+                    try {
+                        WireCodec.readVarInt(buf);
+                        player.sendBlob(BlobReference.readFrom(buf));
+                    } finally {
+                        buf.clear();
+                    }
                     break;
                 }
             }
-        }
 
         super.channelRead(ctx, msg);
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        player.retriever.cancelAll();
+        EventDispatcher.remove(player);
+
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) player.streamer.schedule();
+
+        super.channelWritabilityChanged(ctx);
+    }
+
 }
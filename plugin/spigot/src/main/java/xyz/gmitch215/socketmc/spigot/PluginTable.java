@@ -0,0 +1,75 @@
+package xyz.gmitch215.socketmc.spigot;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The plugins interned on a connection. Each plugin is given an ID the first time it sends a frame, and is only
+ * serialized until a frame defining it has been written. There is one table per channel, so IDs are never reused on a
+ * connection, even if its {@link SocketPlayer} is created again.
+ */
+final class PluginTable {
+
+    private static final AttributeKey<PluginTable> KEY = AttributeKey.valueOf("socketmc:plugins");
+
+    private final Map<SocketPlugin, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, SocketPlugin> plugins = new ConcurrentHashMap<>();
+    private final Set<SocketPlugin> defined = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private PluginTable() {}
+
+    /**
+     * Gets the plugin table for a channel, creating it if needed.
+     * @param channel The channel the plugins are sent on.
+     * @return The plugin table
+     */
+    static PluginTable of(Channel channel) {
+        Attribute<PluginTable> attr = channel.attr(KEY);
+        PluginTable table = attr.get();
+        if (table != null) return table;
+
+        PluginTable created = new PluginTable();
+        PluginTable existing = attr.setIfAbsent(created);
+        return existing == null ? created : existing;
+    }
+
+    /**
+     * Writes a reference to a plugin, defining it inline until a frame containing the definition has been written.
+     * @param buf The buffer to write to.
+     * @param plugin The plugin to write.
+     * @return A task marking the plugin as defined, to run once the frame has been written
+     */
+    Runnable write(ByteBuf buf, SocketPlugin plugin) {
+        int id = ids.computeIfAbsent(plugin, k -> {
+            int next = nextId.incrementAndGet();
+            plugins.put(next, k);
+            return next;
+        });
+        if (defined.contains(plugin)) {
+            WireCodec.writePluginReference(buf, id, null);
+            return () -> {};
+        }
+
+        WireCodec.writePluginReference(buf, id, plugin);
+        return () -> defined.add(plugin);
+    }
+
+    /**
+     * Gets the plugin interned under an ID.
+     * @param id The ID of the plugin.
+     * @return The plugin, or null if no plugin has the ID
+     */
+    SocketPlugin get(int id) {
+        return plugins.get(id);
+    }
+
+}
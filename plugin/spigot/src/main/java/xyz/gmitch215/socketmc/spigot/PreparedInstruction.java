@@ -0,0 +1,219 @@
+package xyz.gmitch215.socketmc.spigot;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.network.BlobReference;
+import xyz.gmitch215.socketmc.network.WireCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Represents an instruction that has been encoded once, ready to be sent to any number of players.</p>
+ * <p>The encoded instruction is held in a reference-counted buffer, and each player is sent a retained duplicate of
+ * it, so broadcasting to many players does not serialize the instruction again. Prepared instructions should be
+ * {@linkplain #close() closed} once they are no longer needed.</p>
+ * <p>Binary parameters at or above {@value BlobReference#DEFAULT_THRESHOLD} bytes are always sent by reference, and
+ * prepared instructions are neither compressed, streamed, nor queued.</p>
+ */
+public final class PreparedInstruction implements AutoCloseable {
+
+    private final Instruction instruction;
+    private final SocketPlugin plugin;
+    private final ByteBuf encoded;
+    private final List<BlobReference> blobs;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private PreparedInstruction(Instruction instruction, SocketPlugin plugin) {
+        this.instruction = instruction;
+        this.plugin = plugin;
+
+        Instruction externalized = SocketPlayer.BLOBS.externalize(instruction, BlobReference.DEFAULT_THRESHOLD);
+
+        // Clients can request the blobs for as long as this can be sent
+        this.blobs = BlobReference.find(externalized);
+        for (BlobReference ref : blobs) SocketPlayer.BLOBS.retain(ref);
+
+        ByteBuf buf = Unpooled.buffer();
+        WireCodec.writeVarInt(buf, WireCodec.INSTRUCTION_FRAME);
+        externalized.writeTo(buf);
+        this.encoded = buf;
+    }
+
+    /**
+     * Prepares an instruction to be sent to many players.
+     * @param i The instruction to prepare.
+     * @param plugin The plugin sending the instruction.
+     * @return The prepared instruction
+     * @throws IllegalArgumentException if the instruction or plugin is null
+     */
+    @NotNull
+    public static PreparedInstruction prepare(@NotNull Instruction i, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return prepare(i, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Prepares an instruction to be sent to many players.
+     * @param i The instruction to prepare.
+     * @param plugin The plugin sending the instruction.
+     * @return The prepared instruction
+     * @throws IllegalArgumentException if the instruction or plugin is null
+     * @see SocketPlugin
+     */
+    @NotNull
+    public static PreparedInstruction prepare(@NotNull Instruction i, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        if (i == null) throw new IllegalArgumentException("Instruction cannot be null");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        return new PreparedInstruction(i, plugin);
+    }
+
+    /**
+     * Gets the instruction that was prepared.
+     * @return Instruction
+     */
+    @NotNull
+    public Instruction getInstruction() {
+        return instruction;
+    }
+
+    /**
+     * Gets the plugin sending the instruction.
+     * @return Socket Plugin
+     */
+    @NotNull
+    public SocketPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Gets the size of the encoded instruction.
+     * @return Encoded Size, in bytes
+     */
+    public int getSize() {
+        return encoded.readableBytes();
+    }
+
+    /**
+     * Checks whether this prepared instruction has been closed.
+     * @return true if the encoded instruction has been released
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Gets a retained duplicate of the encoded instruction, to be released by the channel once written.
+     * @return The encoded instruction
+     * @throws IllegalStateException if this prepared instruction has been closed
+     */
+    ByteBuf retainedFrame() throws IllegalStateException {
+        if (closed.get()) throw new IllegalStateException("Prepared instruction has been closed");
+        return encoded.retainedDuplicate();
+    }
+
+    // Broadcasting
+
+    /**
+     * Sends this instruction to every online player.
+     * @return A future completing once the instruction has been written to every player, or exceptionally if it failed
+     * to send to any of them
+     * @throws IllegalStateException if this prepared instruction has been closed
+     */
+    @NotNull
+    public CompletableFuture<Void> broadcast() throws IllegalStateException {
+        return broadcast(Bukkit.getOnlinePlayers());
+    }
+
+    /**
+     * Sends this instruction to every player in a world.
+     * @param world The world to broadcast to.
+     * @return A future completing once the instruction has been written to every player, or exceptionally if it failed
+     * to send to any of them
+     * @throws IllegalArgumentException if the world is null
+     * @throws IllegalStateException if this prepared instruction has been closed
+     */
+    @NotNull
+    public CompletableFuture<Void> broadcast(@NotNull World world) throws IllegalArgumentException, IllegalStateException {
+        if (world == null) throw new IllegalArgumentException("World cannot be null");
+        return broadcast(world.getPlayers());
+    }
+
+    /**
+     * Sends this instruction to every player within a radius of a location.
+     * @param center The center of the radius.
+     * @param radius The radius, in blocks.
+     * @return A future completing once the instruction has been written to every player, or exceptionally if it failed
+     * to send to any of them
+     * @throws IllegalArgumentException if the center or its world is null, or the radius is negative
+     * @throws IllegalStateException if this prepared instruction has been closed
+     */
+    @NotNull
+    public CompletableFuture<Void> broadcast(@NotNull Location center, double radius) throws IllegalArgumentException, IllegalStateException {
+        if (center == null) throw new IllegalArgumentException("Center cannot be null");
+        if (center.getWorld() == null) throw new IllegalArgumentException("Center must have a world");
+        if (radius < 0) throw new IllegalArgumentException("Radius cannot be negative");
+
+        double radiusSquared = radius * radius;
+        List<Player> players = new ArrayList<>();
+        for (Player p : center.getWorld().getPlayers())
+            if (p.getLocation().distanceSquared(center) <= radiusSquared) players.add(p);
+
+        return broadcast(players);
+    }
+
+    /**
+     * Sends this instruction to a collection of players.
+     * @param players The players to broadcast to.
+     * @return A future completing once the instruction has been written to every player, or exceptionally if it failed
+     * to send to any of them
+     * @throws IllegalArgumentException if the players are null
+     * @throws IllegalStateException if this prepared instruction has been closed
+     */
+    @NotNull
+    public CompletableFuture<Void> broadcast(@NotNull Collection<? extends Player> players) throws IllegalArgumentException, IllegalStateException {
+        if (players == null) throw new IllegalArgumentException("Players cannot be null");
+        if (closed.get()) throw new IllegalStateException("Prepared instruction has been closed");
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(players.size());
+        for (Player p : players) {
+            if (p == null) continue;
+
+            try {
+                futures.add(SocketPlayerRegistry.createIfAbsent(p).sendInstructionAsync(this));
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Releases the encoded instruction, and unpins its blobs once clients have had time to request them. Frames that
+     * have already been handed to a player's channel are unaffected.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        encoded.release();
+        for (BlobReference ref : blobs) SocketPlayer.BLOBS.release(ref);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedInstruction(" + instruction.getId() + ", " + plugin.getPluginName() + ", " + getSize() + " bytes)";
+    }
+
+}
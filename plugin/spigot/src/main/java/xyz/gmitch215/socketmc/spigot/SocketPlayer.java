@@ -1,22 +1,36 @@
 package xyz.gmitch215.socketmc.spigot;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.handler.codec.DecoderException;
+import io.netty.util.concurrent.BlockingOperationException;
 import xyz.gmitch215.socketmc.SocketMCNotInstalledException;
 import xyz.gmitch215.socketmc.instruction.FailedInstructionException;
 import xyz.gmitch215.socketmc.instruction.Instruction;
+import xyz.gmitch215.socketmc.network.BlobReference;
+import xyz.gmitch215.socketmc.network.BlobStore;
+import xyz.gmitch215.socketmc.network.FrameCompressor;
+import xyz.gmitch215.socketmc.network.StreamReference;
+import xyz.gmitch215.socketmc.network.WireCodec;
 import net.minecraft.network.Connection;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.network.ServerCommonPacketListenerImpl;
+import org.bukkit.Bukkit;
 import org.bukkit.craftbukkit.v1_21_R1.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
 import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Represents a player connected to the server with SocketMC installed.
@@ -31,6 +45,15 @@ public final class SocketPlayer {
     final Player player;
     final Channel channel;
     final SocketRetriever retriever = new SocketRetriever(this);
+    final FrameCompressor compressor = new FrameCompressor();
+    final ChunkedStreamer streamer;
+    final PluginTable pluginTable;
+
+    private volatile int blobThreshold = BlobReference.DEFAULT_THRESHOLD;
+    private volatile int streamThreshold = StreamReference.DEFAULT_THRESHOLD;
+
+    private final Queue<Queued> queue = new ConcurrentLinkedQueue<>();
+    private volatile BukkitTask flusher;
 
     /**
      * Creates a new SocketPlayer instance.
@@ -48,8 +71,14 @@ public final class SocketPlayer {
             throw new IllegalArgumentException("Failed to get connection field", e);
         }
 
+        this.streamer = ChunkedStreamer.of(channel);
+        this.pluginTable = PluginTable.of(channel);
+
+        Lifecycle.register();
         EventFactory.addPacketInjector(this);
+        EventSubscriptions.send(this);
         ping();
+        retriever.warm();
     }
 
     /**
@@ -78,64 +107,452 @@ public final class SocketPlayer {
     }
 
     /**
-     * Sends an instruction to the player.
+     * Sends an instruction to the player, blocking until it has been written to the network. If the player is
+     * {@linkplain #isQueued() queued}, the instruction is queued for the next flush and this method returns immediately.
      * @param i The instruction to send.
      * @param plugin The plugin sending the instruction.
      * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
+     * @throws FailedInstructionException if the instruction fails to send
+     * @throws BlockingOperationException if called on the player's network thread
+     * @see #sendInstructionAsync(Instruction, Plugin)
      */
-    public void sendInstruction(@NotNull Instruction i, @NotNull Plugin plugin) throws SocketMCNotInstalledException {
-        try {
-            SocketPlugin sp = new SocketPlugin(
-                    plugin.getDescription().getMain(),
-                    plugin.getName(),
-                    plugin.getDescription().getVersion(),
-                    plugin.getDescription().getWebsite(),
-                    plugin.getClass()
-                            .getProtectionDomain()
-                            .getCodeSource()
-                            .getLocation()
-                            .toURI()
-                            .getPath()
-            );
-
-            sendInstruction(i, sp);
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException("Failed to get plugin jar file path", e);
-        }
+    public void sendInstruction(@NotNull Instruction i, @NotNull Plugin plugin) throws SocketMCNotInstalledException, FailedInstructionException {
+        sendInstruction(i, toSocketPlugin(plugin));
     }
 
     /**
-     * Sends an instruction to the player.
+     * Sends an instruction to the player, blocking until it has been written to the network. If the player is
+     * {@linkplain #isQueued() queued}, the instruction is queued for the next flush and this method returns immediately.
      * @param i The instruction to send.
      * @param plugin The plugin sending the instruction.
      * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
      * @throws FailedInstructionException if the instruction fails to send
+     * @throws BlockingOperationException if called on the player's network thread
      * @see SocketPlugin
+     * @see #sendInstructionAsync(Instruction, SocketPlugin)
      */
     public void sendInstruction(@NotNull Instruction i, @NotNull SocketPlugin plugin) throws SocketMCNotInstalledException, FailedInstructionException {
+        CompletableFuture<Void> future = sendInstructionAsync(i, plugin);
+        if (!isQueued()) await(channel, future, "Failed to send instruction");
+    }
+
+    /**
+     * Sends an instruction to the player without blocking the calling thread.
+     * @param i The instruction to send.
+     * @param plugin The plugin sending the instruction.
+     * @return A future completing once the instruction has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if the instruction or plugin is null
+     */
+    @NotNull
+    public CompletableFuture<Void> sendInstructionAsync(@NotNull Instruction i, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return sendInstructionAsync(i, toSocketPlugin(plugin));
+    }
+
+    /**
+     * Sends an instruction to the player without blocking the calling thread.
+     * @param i The instruction to send.
+     * @param plugin The plugin sending the instruction.
+     * @return A future completing once the instruction has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if the instruction or plugin is null
+     * @see SocketPlugin
+     */
+    @NotNull
+    public CompletableFuture<Void> sendInstructionAsync(@NotNull Instruction i, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
         if (i == null) throw new IllegalArgumentException("Instruction cannot be null");
         if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
 
+        if (isQueued()) return enqueue(List.of(i), plugin);
+
         FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-        buf.writeVarInt(-2);
-        buf.writeByteArray(i.toByteArray());
-        buf.writeByteArray(plugin.toByteArray());
+        buf.writeVarInt(WireCodec.INSTRUCTION_FRAME);
+        externalize(i).writeTo(buf);
+        Runnable defined = writePlugin(buf, plugin);
 
-        try {
-            ChannelFuture future = channel.writeAndFlush(buf);
-            future.await();
-            if (!future.isSuccess()) {
-                if (future.cause() instanceof DecoderException)
-                    throw new SocketMCNotInstalledException("Player does not have SocketMC installed", future.cause());
-                else
-                    throw new FailedInstructionException("Failed to send instruction", future.cause());
-            } else {
-                // Successful Instruction Send
-                ServerAuditLog.INSTANCE.logSent(i, plugin);
+        return write(buf, () -> {
+            defined.run();
+            ServerAuditLog.INSTANCE.logSentAsync(i, plugin);
+        }, "Failed to send instruction");
+    }
+
+    /**
+     * Sends a prepared instruction to the player, blocking until it has been written to the network. Prepared
+     * instructions are written immediately, even if the player is {@linkplain #isQueued() queued}.
+     * @param prepared The prepared instruction to send.
+     * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
+     * @throws FailedInstructionException if the instruction fails to send
+     * @throws BlockingOperationException if called on the player's network thread
+     * @see #sendInstructionAsync(PreparedInstruction)
+     */
+    public void sendInstruction(@NotNull PreparedInstruction prepared) throws SocketMCNotInstalledException, FailedInstructionException {
+        await(channel, sendInstructionAsync(prepared), "Failed to send instruction");
+    }
+
+    /**
+     * Sends a prepared instruction to the player without blocking the calling thread. The encoded instruction is
+     * shared with every other player it is sent to, and is not serialized again.
+     * @param prepared The prepared instruction to send.
+     * @return A future completing once the instruction has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if the prepared instruction is null
+     * @throws IllegalStateException if the prepared instruction has been closed
+     * @see PreparedInstruction#broadcast(Collection)
+     */
+    @NotNull
+    public CompletableFuture<Void> sendInstructionAsync(@NotNull PreparedInstruction prepared) throws IllegalArgumentException, IllegalStateException {
+        if (prepared == null) throw new IllegalArgumentException("Prepared instruction cannot be null");
+
+        SocketPlugin plugin = prepared.getPlugin();
+        ByteBuf trailer = Unpooled.buffer();
+        Runnable defined = writePlugin(trailer, plugin);
+
+        ByteBuf frame = Unpooled.wrappedBuffer(prepared.retainedFrame(), trailer);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        send(frame, () -> {
+            defined.run();
+            ServerAuditLog.INSTANCE.logSentAsync(prepared.getInstruction(), plugin);
+        }, "Failed to send instruction", result, true);
+
+        return result;
+    }
+
+    /**
+     * Sends a batch of instructions to the player in a single frame, blocking until it has been written to the network.
+     * The client applies every instruction in the batch during the same tick, in iteration order. If the player is
+     * {@linkplain #isQueued() queued}, the batch is queued for the next flush and this method returns immediately.
+     * @param instructions The instructions to send.
+     * @param plugin The plugin sending the instructions.
+     * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
+     * @throws FailedInstructionException if the instructions fail to send
+     * @throws BlockingOperationException if called on the player's network thread
+     * @see #sendInstructionsAsync(Collection, Plugin)
+     */
+    public void sendInstructions(@NotNull Collection<Instruction> instructions, @NotNull Plugin plugin) throws SocketMCNotInstalledException, FailedInstructionException {
+        sendInstructions(instructions, toSocketPlugin(plugin));
+    }
+
+    /**
+     * Sends a batch of instructions to the player in a single frame, blocking until it has been written to the network.
+     * The client applies every instruction in the batch during the same tick, in iteration order. If the player is
+     * {@linkplain #isQueued() queued}, the batch is queued for the next flush and this method returns immediately.
+     * @param instructions The instructions to send.
+     * @param plugin The plugin sending the instructions.
+     * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
+     * @throws FailedInstructionException if the instructions fail to send
+     * @throws BlockingOperationException if called on the player's network thread
+     * @see SocketPlugin
+     * @see #sendInstructionsAsync(Collection, SocketPlugin)
+     */
+    public void sendInstructions(@NotNull Collection<Instruction> instructions, @NotNull SocketPlugin plugin) throws SocketMCNotInstalledException, FailedInstructionException {
+        CompletableFuture<Void> future = sendInstructionsAsync(instructions, plugin);
+        if (!isQueued()) await(channel, future, "Failed to send instructions");
+    }
+
+    /**
+     * Sends a batch of instructions to the player in a single frame without blocking the calling thread.
+     * The client applies every instruction in the batch during the same tick, in iteration order.
+     * @param instructions The instructions to send.
+     * @param plugin The plugin sending the instructions.
+     * @return A future completing once the batch has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if the instructions or plugin are null, or the batch contains a null instruction
+     */
+    @NotNull
+    public CompletableFuture<Void> sendInstructionsAsync(@NotNull Collection<Instruction> instructions, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return sendInstructionsAsync(instructions, toSocketPlugin(plugin));
+    }
+
+    /**
+     * Sends a batch of instructions to the player in a single frame without blocking the calling thread.
+     * The client applies every instruction in the batch during the same tick, in iteration order.
+     * @param instructions The instructions to send.
+     * @param plugin The plugin sending the instructions.
+     * @return A future completing once the batch has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if the instructions or plugin are null, or the batch contains a null instruction
+     * @see SocketPlugin
+     */
+    @NotNull
+    public CompletableFuture<Void> sendInstructionsAsync(@NotNull Collection<Instruction> instructions, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        if (instructions == null) throw new IllegalArgumentException("Instructions cannot be null");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        for (Instruction i : instructions)
+            if (i == null) throw new IllegalArgumentException("Instructions cannot contain null");
+
+        List<Instruction> batch = List.copyOf(instructions);
+        if (batch.isEmpty()) return CompletableFuture.completedFuture(null);
+        if (isQueued()) return enqueue(batch, plugin);
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(WireCodec.INSTRUCTION_BATCH_FRAME);
+        WireCodec.writeInstructions(buf, externalize(batch));
+        Runnable defined = writePlugin(buf, plugin);
+
+        return write(buf, () -> {
+            defined.run();
+            for (Instruction i : batch) ServerAuditLog.INSTANCE.logSentAsync(i, plugin);
+        }, "Failed to send instructions");
+    }
+
+    /**
+     * Writes a reference to a plugin interned for this connection, defining it inline until a frame containing the
+     * definition has been written.
+     * @return A task marking the plugin as defined, to run once the frame has been written
+     */
+    Runnable writePlugin(ByteBuf buf, SocketPlugin plugin) {
+        return pluginTable.write(buf, plugin);
+    }
+
+    private List<Instruction> externalize(List<Instruction> instructions) {
+        List<Instruction> externalized = new ArrayList<>(instructions.size());
+        for (Instruction i : instructions) externalized.add(externalize(i));
+
+        return externalized;
+    }
+
+    private Instruction externalize(Instruction i) {
+        Instruction externalized = BLOBS.externalize(i, blobThreshold);
+
+        int threshold = streamThreshold;
+        if (threshold < 0 || !StreamReference.STREAMABLE_INSTRUCTIONS.contains(i.getId())) return externalized;
+
+        return externalized.mapParameters(p -> {
+            if (!(p instanceof byte[] data) || data.length < threshold) return p;
+            return streamer.stream(data);
+        });
+    }
+
+    private static final int BLOB_MISSING = 0;
+    private static final int BLOB_INLINE = 1;
+    private static final int BLOB_STREAMED = 2;
+
+    void sendBlob(BlobReference ref) {
+        byte[] data = BLOBS.get(ref);
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(WireCodec.BLOB_FRAME);
+        ref.writeTo(buf);
+
+        int threshold = streamThreshold;
+        if (data == null)
+            buf.writeVarInt(BLOB_MISSING);
+        else if (threshold >= 0 && data.length >= threshold) {
+            buf.writeVarInt(BLOB_STREAMED);
+            streamer.stream(data).writeTo(buf);
+        } else {
+            buf.writeVarInt(BLOB_INLINE);
+            buf.writeByteArray(data);
+        }
+
+        channel.writeAndFlush(compressor.compress(buf));
+    }
+
+    private CompletableFuture<Void> write(ByteBuf buf, Runnable onSuccess, String message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        write(buf, onSuccess, message, result, true);
+        return result;
+    }
+
+    private void write(ByteBuf buf, Runnable onSuccess, String message, CompletableFuture<Void> result, boolean flush) {
+        send(compressor.compress(buf), onSuccess, message, result, flush);
+    }
+
+    private void send(ByteBuf frame, Runnable onSuccess, String message, CompletableFuture<Void> result, boolean flush) {
+        ChannelFuture future = flush ? channel.writeAndFlush(frame) : channel.write(frame);
+        future.addListener(f -> {
+            if (f.isSuccess()) {
+                onSuccess.run();
+                result.complete(null);
+            } else
+                result.completeExceptionally(failure(f.cause(), message));
+        });
+    }
+
+    // Queued Mode
+
+    /**
+     * <p>Enables queued mode for this player. Instead of being written immediately, instructions sent to this player are
+     * placed in a lock-free queue and written together, with a single flush, once every server tick.</p>
+     * <p>Instructions that replace each other's effect, such as {@link Instruction#SET_WINDOW_TITLE}, are collapsed so
+     * that only the last one queued during a tick is sent.</p>
+     * @param plugin The plugin to schedule the flush task with.
+     * @throws IllegalArgumentException if the plugin is null
+     */
+    public void enableQueue(@NotNull Plugin plugin) throws IllegalArgumentException {
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+        if (isQueued()) return;
+
+        flusher = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            if (!player.isOnline()) disableQueue();
+            else flush();
+        }, 1L, 1L);
+    }
+
+    /**
+     * Disables queued mode for this player, flushing any instructions that are still queued.
+     */
+    public void disableQueue() {
+        BukkitTask task = flusher;
+        if (task == null) return;
+
+        flusher = null;
+        task.cancel();
+        flush();
+    }
+
+    /**
+     * Checks whether this player is in queued mode.
+     * @return true if instructions are queued and flushed once per tick
+     * @see #enableQueue(Plugin)
+     */
+    public boolean isQueued() {
+        return flusher != null;
+    }
+
+    /**
+     * Writes every queued instruction to the network with a single flush. This is called automatically every tick while
+     * the player is {@linkplain #isQueued() queued}, and does nothing if the queue is empty.
+     */
+    public void flush() {
+        if (queue.isEmpty()) return;
+
+        List<Queued> drained = new ArrayList<>();
+        Queued next;
+        while ((next = queue.poll()) != null) drained.add(next);
+
+        // Only the last instruction of each collapsible type is kept
+        Map<String, Queued> latest = new HashMap<>();
+        for (Queued q : drained)
+            if (q.instructions.size() == 1 && COLLAPSIBLE.contains(q.instructions.getFirst().getId()))
+                latest.put(q.instructions.getFirst().getId(), q);
+
+        List<Queued> pending = new ArrayList<>();
+        for (Queued q : drained) {
+            Queued survivor = q.instructions.size() == 1 ? latest.getOrDefault(q.instructions.getFirst().getId(), q) : q;
+            if (survivor == q) {
+                pending.add(q);
+                continue;
             }
-        } catch (InterruptedException e) {
-            throw new FailedInstructionException("Failed to send instruction", e);
+
+            survivor.future.whenComplete((v, ex) -> {
+                if (ex == null) q.future.complete(null);
+                else q.future.completeExceptionally(ex);
+            });
         }
+
+        // Consecutive instructions from the same plugin share one frame
+        int start = 0;
+        while (start < pending.size()) {
+            SocketPlugin plugin = pending.get(start).plugin;
+            int end = start + 1;
+            while (end < pending.size() && pending.get(end).plugin.equals(plugin)) end++;
+
+            writeQueued(pending.subList(start, end), plugin);
+            start = end;
+        }
+
+        channel.flush();
+    }
+
+    private void writeQueued(List<Queued> group, SocketPlugin plugin) {
+        List<Instruction> instructions = new ArrayList<>();
+        for (Queued q : group) instructions.addAll(q.instructions);
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        if (instructions.size() == 1) {
+            buf.writeVarInt(WireCodec.INSTRUCTION_FRAME);
+            externalize(instructions.getFirst()).writeTo(buf);
+        } else {
+            buf.writeVarInt(WireCodec.INSTRUCTION_BATCH_FRAME);
+            WireCodec.writeInstructions(buf, externalize(instructions));
+        }
+        Runnable defined = writePlugin(buf, plugin);
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        write(buf, () -> {
+            defined.run();
+            for (Instruction i : instructions) ServerAuditLog.INSTANCE.logSentAsync(i, plugin);
+        }, "Failed to send instruction", result, false);
+
+        result.whenComplete((v, ex) -> {
+            for (Queued q : group)
+                if (ex == null) q.future.complete(null);
+                else q.future.completeExceptionally(ex);
+        });
+    }
+
+    private CompletableFuture<Void> enqueue(List<Instruction> instructions, SocketPlugin plugin) {
+        Queued q = new Queued(instructions, plugin, new CompletableFuture<>());
+        queue.offer(q);
+
+        // Queued mode may have been disabled after the check
+        if (!isQueued()) flush();
+        return q.future;
+    }
+
+    private static final Map<Plugin, SocketPlugin> plugins = new ConcurrentHashMap<>();
+
+    // Blobs sent by reference, to serve clients that do not have them cached
+    static final BlobStore BLOBS = new BlobStore();
+
+    private static final Set<String> COLLAPSIBLE = Set.of(
+            Instruction.SET_WINDOW_TITLE,
+            Instruction.SET_WINDOW_ICON,
+            Instruction.SET_OVERLAY
+    );
+
+    private record Queued(List<Instruction> instructions, SocketPlugin plugin, CompletableFuture<Void> future) {}
+
+    /**
+     * Gets the minimum size of an outgoing frame before it is compressed.
+     * @return the compression threshold in bytes, or a negative number if compression is disabled
+     */
+    public int getCompressionThreshold() {
+        return compressor.getThreshold();
+    }
+
+    /**
+     * Sets the minimum size of an outgoing frame before it is compressed. Defaults to {@value FrameCompressor#DEFAULT_THRESHOLD}.
+     * @param threshold the compression threshold in bytes, or a negative number to disable compression
+     */
+    public void setCompressionThreshold(int threshold) {
+        compressor.setThreshold(threshold);
+    }
+
+    /**
+     * Gets the minimum size of a binary instruction parameter, such as audio or an icon, before it is sent by reference.
+     * Clients cache referenced data and only download it if they have not seen it before.
+     * @return the blob threshold in bytes, or a negative number if binary parameters are always sent inline
+     */
+    public int getBlobThreshold() {
+        return blobThreshold;
+    }
+
+    /**
+     * Sets the minimum size of a binary instruction parameter before it is sent by reference. Defaults to {@value BlobReference#DEFAULT_THRESHOLD}.
+     * @param threshold the blob threshold in bytes, or a negative number to always send binary parameters inline
+     */
+    public void setBlobThreshold(int threshold) {
+        this.blobThreshold = threshold;
+    }
+
+    /**
+     * Gets the minimum size of a payload before it is streamed to the player in chunks, instead of being written
+     * in one frame. Streamed audio can start playing before it has been fully received.
+     * @return the stream threshold in bytes, or a negative number if payloads are never streamed
+     */
+    public int getStreamThreshold() {
+        return streamThreshold;
+    }
+
+    /**
+     * Sets the minimum size of a payload before it is streamed to the player in chunks. Defaults to {@value StreamReference#DEFAULT_THRESHOLD}.
+     * @param threshold the stream threshold in bytes, or a negative number to never stream payloads
+     */
+    public void setStreamThreshold(int threshold) {
+        this.streamThreshold = threshold;
     }
 
     /**
@@ -159,4 +576,56 @@ public final class SocketPlayer {
         EventFactory.addPacketInjector(sp);
     }
 
+    static SocketPlugin toSocketPlugin(Plugin plugin) {
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        return plugins.computeIfAbsent(plugin, p -> {
+            try {
+                return new SocketPlugin(
+                        p.getDescription().getMain(),
+                        p.getName(),
+                        p.getDescription().getVersion(),
+                        p.getDescription().getWebsite(),
+                        p.getClass()
+                                .getProtectionDomain()
+                                .getCodeSource()
+                                .getLocation()
+                                .toURI()
+                                .getPath()
+                );
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Failed to get plugin jar file path", e);
+            }
+        });
+    }
+
+    // Drops the plugin, so that its class loader is not kept after it is disabled
+    static void forget(Plugin plugin) {
+        SocketPlugin removed = plugins.remove(plugin);
+        if (removed != null) SocketRetriever.forget(removed);
+    }
+
+    static RuntimeException failure(Throwable cause, String message) {
+        if (cause instanceof DecoderException)
+            return new SocketMCNotInstalledException("Player does not have SocketMC installed", cause);
+        else
+            return new FailedInstructionException(message, cause);
+    }
+
+    static <T> T await(Channel channel, CompletableFuture<T> future, String message) {
+        // The future can only complete on the event loop, so waiting on it there would never return
+        if (!future.isDone() && channel.eventLoop().inEventLoop())
+            throw new BlockingOperationException(message + ": cannot block the network thread, use the async variant instead");
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FailedInstructionException(message, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException ex) throw ex;
+            throw new FailedInstructionException(message, e.getCause());
+        }
+    }
+
 }
@@ -5,6 +5,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -103,4 +104,8 @@ public final class SocketPlayerRegistry {
         remove(p.getUniqueId());
     }
 
+    static Collection<SocketPlayer> values() {
+        return registry.values();
+    }
+
 }
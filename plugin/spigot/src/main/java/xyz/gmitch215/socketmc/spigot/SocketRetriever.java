@@ -1,29 +1,98 @@
 package xyz.gmitch215.socketmc.spigot;
 
 import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelFuture;
-import io.netty.handler.codec.DecoderException;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.BlockingOperationException;
 import net.minecraft.network.FriendlyByteBuf;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import xyz.gmitch215.socketmc.SocketMCNotInstalledException;
 import xyz.gmitch215.socketmc.instruction.FailedInstructionException;
+import xyz.gmitch215.socketmc.network.WireCodec;
+import xyz.gmitch215.socketmc.retriever.RetrieverSnapshot;
 import xyz.gmitch215.socketmc.retriever.RetrieverType;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 
 /**
- * The retriever handler for a {@link SocketPlayer}.
+ * <p>The retriever handler for a {@link SocketPlayer}.</p>
+ * <p>Each request waits for the client's response in a pending table for this player. Requests that are not answered
+ * before their timeout fail with a {@link TimeoutException}, and requests still pending when the player disconnects are
+ * cancelled. At most {@linkplain #getMaxPending() a limited number} of requests can be pending at once.</p>
+ * <p>Values that rarely change during a session, such as the client's operating system, are cached for a
+ * {@linkplain #getCacheTtl(RetrieverType) time to live} per type. Requests for cached values, or for values of
+ * {@linkplain #subscribe(RetrieverType, Duration, double, SocketPlugin) subscribed} types, complete immediately without
+ * any request to the client. Values are cached per plugin, since the client only returns the values a plugin has
+ * permission for. When the player joins, the cache is warmed for every plugin that has cached values before.</p>
  */
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "unchecked"})
 public final class SocketRetriever {
 
+    /**
+     * The default time to wait for a response from the client, in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT = 10_000;
+
+    /**
+     * The default maximum number of requests that can be pending at once for a player.
+     */
+    public static final int DEFAULT_MAX_PENDING = 64;
+
+    private static volatile Timer timer;
+
+    /**
+     * The time to live of a cached value that does not expire for the rest of the session.
+     */
+    public static final long CACHE_FOREVER = Long.MAX_VALUE;
+
+    /**
+     * The default cache time to live for each retriever type, in milliseconds. Types not included are not cached.
+     */
+    public static final Map<RetrieverType<?>, Long> DEFAULT_CACHE_TTLS = Map.of(
+            RetrieverType.OPERATING_SYSTEM, CACHE_FOREVER,
+            RetrieverType.AVAILABLE_PROCESSORS, CACHE_FOREVER,
+            RetrieverType.LAUNCH_VERSION, CACHE_FOREVER,
+            RetrieverType.VERSION_TYPE, CACHE_FOREVER,
+            RetrieverType.MAX_MEMORY, CACHE_FOREVER,
+            RetrieverType.CURRENT_WINDOW, 5_000L
+    );
+
+    // Plugins that have cached values, so the cache is warmed for them when a player joins
+    private static final Set<SocketPlugin> cachingPlugins = ConcurrentHashMap.newKeySet();
+
+    private static final Object NULL = new Object();
+    private static final Object MISS = new Object();
+
     final SocketPlayer player;
-    private static final Map<UUID, Map<UUID, Consumer>> bus = new HashMap<>();
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<RetrieverType<?>, Set<SocketPlugin>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<RetrieverType<?>, Map<SocketPlugin, Object>> latest = new ConcurrentHashMap<>();
+    private final Map<RetrieverType<?>, Long> cacheTtls = new ConcurrentHashMap<>(DEFAULT_CACHE_TTLS);
+    private final Map<CacheKey, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile long timeout = DEFAULT_TIMEOUT;
+    private volatile int maxPending = DEFAULT_MAX_PENDING;
 
     SocketRetriever(SocketPlayer player) {
         this.player = player;
@@ -38,15 +107,10 @@ public final class SocketRetriever {
      */
     @NotNull
     public Map<UUID, Consumer> getBus() {
-        return Map.copyOf(getBus0());
-    }
-
-    Map<UUID, Consumer> getBus0() {
-        UUID id = player.getPlayer().getUniqueId();
-        if (!bus.containsKey(id))
-            bus.put(id, new HashMap<>());
+        Map<UUID, Consumer> bus = new HashMap<>();
+        pending.forEach((id, p) -> bus.put(id, p.callback));
 
-        return bus.get(id);
+        return Map.copyOf(bus);
     }
 
     /**
@@ -58,79 +122,766 @@ public final class SocketRetriever {
         return player;
     }
 
+    /**
+     * Gets the number of requests waiting for a response from the client.
+     * @return Pending Request Count
+     */
+    public int getPendingCount() {
+        return outstanding.get();
+    }
+
+    /**
+     * Gets the default time to wait for a response from the client. Defaults to {@value #DEFAULT_TIMEOUT} milliseconds.
+     * @return the timeout, in milliseconds
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the default time to wait for a response from the client.
+     * @param timeout the timeout, in milliseconds
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    public void setTimeout(long timeout) throws IllegalArgumentException {
+        if (timeout <= 0) throw new IllegalArgumentException("Timeout must be positive");
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of requests that can be pending at once. Defaults to {@value #DEFAULT_MAX_PENDING}.
+     * @return the maximum pending requests
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * Sets the maximum number of requests that can be pending at once. Requests made while the limit is reached fail
+     * with a {@link FailedInstructionException} without being sent.
+     * @param maxPending the maximum pending requests
+     * @throws IllegalArgumentException if the maximum is not positive
+     */
+    public void setMaxPending(int maxPending) throws IllegalArgumentException {
+        if (maxPending <= 0) throw new IllegalArgumentException("Maximum pending requests must be positive");
+        this.maxPending = maxPending;
+    }
+
     /**
      * Retrieves information from the client.
      * @param r The retriever type
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the retrieved information, or exceptionally with a {@link SocketMCNotInstalledException},
+     * {@link FailedInstructionException} or {@link TimeoutException}
+     * @param <T> The type of the retriever
+     * @throws IllegalArgumentException if any of the arguments are null
+     */
+    @NotNull
+    public <T> CompletableFuture<T> retrieve(@NotNull RetrieverType<T> r, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return retrieve(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Retrieves information from the client.
+     * @param r The retriever type
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the retrieved information, or exceptionally with a {@link SocketMCNotInstalledException},
+     * {@link FailedInstructionException} or {@link TimeoutException}
+     * @param <T> The type of the retriever
+     * @throws IllegalArgumentException if any of the arguments are null
+     */
+    @NotNull
+    public <T> CompletableFuture<T> retrieve(@NotNull RetrieverType<T> r, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        return retrieve(r, Duration.ofMillis(timeout), plugin);
+    }
+
+    /**
+     * Retrieves information from the client.
+     * @param r The retriever type
+     * @param timeout The time to wait for a response from the client
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the retrieved information, or exceptionally with a {@link SocketMCNotInstalledException},
+     * {@link FailedInstructionException} or {@link TimeoutException}
+     * @param <T> The type of the retriever
+     * @throws IllegalArgumentException if any of the arguments are null, or the timeout is not positive
+     */
+    @NotNull
+    public <T> CompletableFuture<T> retrieve(@NotNull RetrieverType<T> r, @NotNull Duration timeout, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        if (r == null) throw new IllegalArgumentException("Retriever type cannot be null");
+        if (timeout == null) throw new IllegalArgumentException("Timeout cannot be null");
+        if (timeout.isNegative() || timeout.isZero()) throw new IllegalArgumentException("Timeout must be positive");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        Object cached = lookup(r, plugin);
+        if (cached != MISS) return CompletableFuture.completedFuture(r.getType().cast(cached));
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        send(r, result::complete, result, timeout.toMillis(), plugin).whenComplete((id, ex) -> {
+            if (ex != null) result.completeExceptionally(ex);
+        });
+
+        return result;
+    }
+
+    /**
+     * Retrieves information from the client, blocking until the request has been written to the network.
+     * @param r The retriever type
      * @param callback The callback to be called when the information is retrieved
      * @param plugin The plugin to retrieve the information for
-     * @return The identifier of the request, to be stored in {@link #getBus()}.
+     * @return The identifier of the request, to be stored in {@link #getBus()}
      * @param <T> The type of the retriever
+     * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
      * @throws FailedInstructionException if the instruction fails to send
+     * @throws BlockingOperationException if called on the player's network thread
      */
     @NotNull
-    public <T> UUID retrieve(@NotNull RetrieverType<T> r, @NotNull Consumer<@Nullable T> callback, @NotNull Plugin plugin) throws FailedInstructionException {
-        try {
-            SocketPlugin sp = new SocketPlugin(
-                    plugin.getDescription().getMain(),
-                    plugin.getName(),
-                    plugin.getDescription().getVersion(),
-                    plugin.getDescription().getWebsite(),
-                    plugin.getClass()
-                            .getProtectionDomain()
-                            .getCodeSource()
-                            .getLocation()
-                            .toURI()
-                            .getPath()
-            );
-
-            return retrieve(r, callback, sp);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to get plugin jar file path", e);
-        }
+    public <T> UUID retrieve(@NotNull RetrieverType<T> r, @NotNull Consumer<@Nullable T> callback, @NotNull Plugin plugin) throws SocketMCNotInstalledException, FailedInstructionException {
+        return retrieve(r, callback, SocketPlayer.toSocketPlugin(plugin));
     }
 
     /**
-     * Retrieves information from the client.
+     * Retrieves information from the client, blocking until the request has been written to the network.
      * @param r The retriever type
      * @param callback The callback to be called when the information is retrieved
      * @param plugin The plugin to retrieve the information for
-     * @return The identifier of the request, to be stored in {@link #getBus()}.
+     * @return The identifier of the request, to be stored in {@link #getBus()}
      * @param <T> The type of the retriever
+     * @throws SocketMCNotInstalledException if the player does not have SocketMC installed
      * @throws FailedInstructionException if the instruction fails to send
+     * @throws BlockingOperationException if called on the player's network thread
+     */
+    @NotNull
+    public <T> UUID retrieve(@NotNull RetrieverType<T> r, @NotNull Consumer<@Nullable T> callback, @NotNull SocketPlugin plugin) throws SocketMCNotInstalledException, FailedInstructionException {
+        return SocketPlayer.await(player.channel, retrieveAsync(r, callback, plugin), "Failed to request retriever");
+    }
+
+    /**
+     * Retrieves information from the client without blocking the calling thread.
+     * @param r The retriever type
+     * @param callback The callback to be called when the information is retrieved
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the identifier of the request once it has been written to the network, or
+     * exceptionally with a {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @param <T> The type of the retriever
+     * @throws IllegalArgumentException if any of the arguments are null
+     */
+    @NotNull
+    public <T> CompletableFuture<UUID> retrieveAsync(@NotNull RetrieverType<T> r, @NotNull Consumer<@Nullable T> callback, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return retrieveAsync(r, callback, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Retrieves information from the client without blocking the calling thread. The callback is not called if the
+     * client does not respond within the {@linkplain #getTimeout() timeout}.
+     * <p>Requests with a callback are always sent to the client, so that they are tracked in {@link #getBus()}; the
+     * response still refreshes the cache used by {@link #retrieve(RetrieverType, SocketPlugin)}.</p>
+     * @param r The retriever type
+     * @param callback The callback to be called when the information is retrieved
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the identifier of the request once it has been written to the network, or
+     * exceptionally with a {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @param <T> The type of the retriever
+     * @throws IllegalArgumentException if any of the arguments are null
      */
     @NotNull
-    public <T> UUID retrieve(@NotNull RetrieverType<T> r, @NotNull Consumer<@Nullable T> callback, @NotNull SocketPlugin plugin) throws FailedInstructionException {
+    public <T> CompletableFuture<UUID> retrieveAsync(@NotNull RetrieverType<T> r, @NotNull Consumer<@Nullable T> callback, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
         if (r == null) throw new IllegalArgumentException("Retriever type cannot be null");
         if (callback == null) throw new IllegalArgumentException("Callback cannot be null");
         if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
 
+        return send(r, callback, null, timeout, plugin);
+    }
+
+    /**
+     * Retrieves several values from the client in a single request. The client samples every value at the same time,
+     * and types the plugin has no permission for are left out of the snapshot.
+     * @param types The retriever types
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the retrieved values, or exceptionally with a {@link SocketMCNotInstalledException},
+     * {@link FailedInstructionException} or {@link TimeoutException}
+     * @throws IllegalArgumentException if any of the arguments are null, or there are no types
+     */
+    @NotNull
+    public CompletableFuture<RetrieverSnapshot> retrieve(@NotNull Collection<RetrieverType<?>> types, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return retrieve(types, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Retrieves several values from the client in a single request. The client samples every value at the same time,
+     * and types the plugin has no permission for are left out of the snapshot.
+     * @param types The retriever types
+     * @param plugin The plugin to retrieve the information for
+     * @return A future completing with the retrieved values, or exceptionally with a {@link SocketMCNotInstalledException},
+     * {@link FailedInstructionException} or {@link TimeoutException}
+     * @throws IllegalArgumentException if any of the arguments are null, or there are no types
+     */
+    @NotNull
+    public CompletableFuture<RetrieverSnapshot> retrieve(@NotNull Collection<RetrieverType<?>> types, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        if (types == null) throw new IllegalArgumentException("Retriever types cannot be null");
+        if (types.isEmpty()) throw new IllegalArgumentException("Retriever types cannot be empty");
+        if (types.contains(null)) throw new IllegalArgumentException("Retriever type cannot be null");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        // Only values that are not cached are requested
+        Map<String, Object> hits = new HashMap<>();
+        Set<RetrieverType<?>> missing = new LinkedHashSet<>();
+        for (RetrieverType<?> r : types) {
+            Object cached = lookup(r, plugin);
+            if (cached == MISS) missing.add(r);
+            else hits.put(r.getId(), cached);
+        }
+
+        if (missing.isEmpty()) return CompletableFuture.completedFuture(RetrieverSnapshot.fromIds(hits));
+
+        CompletableFuture<RetrieverSnapshot> result = new CompletableFuture<>();
+        Consumer<Map<String, Object>> callback = values -> {
+            values.forEach((id, value) -> {
+                RetrieverType<?> r = RetrieverType.fromId(id);
+                if (r != null) store(r, plugin, value);
+            });
+
+            hits.putAll(values);
+            result.complete(RetrieverSnapshot.fromIds(hits));
+        };
+
+        send((buf, id) -> {
+            buf.writeVarInt(WireCodec.MULTI_RETRIEVER_FRAME);
+            buf.writeUUID(id);
+            buf.writeVarInt(missing.size());
+            for (RetrieverType<?> r : missing) WireCodec.writeString(buf, r.getId());
+        }, () -> missing.forEach(r -> ServerAuditLog.INSTANCE.logSentAsync(r, plugin)), callback, result, timeout, plugin).whenComplete((id, ex) -> {
+            if (ex != null) result.completeExceptionally(ex);
+        });
+
+        return result;
+    }
+
+    /**
+     * Subscribes to a retriever type, so the client sends its value whenever it changes. The latest value is kept and
+     * can be read with {@link #getLatest(RetrieverType, SocketPlugin)} without any request to the client.
+     * @param r The retriever type
+     * @param interval The minimum time between samples on the client
+     * @param plugin The plugin to subscribe for
+     * @return A future completing once the subscription has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if any of the arguments are null, or the interval is negative
+     */
+    @NotNull
+    public CompletableFuture<Void> subscribe(@NotNull RetrieverType<?> r, @NotNull Duration interval, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return subscribe(r, interval, 0, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Subscribes to a retriever type, so the client sends its value whenever it changes. The latest value is kept and
+     * can be read with {@link #getLatest(RetrieverType, SocketPlugin)} without any request to the client.
+     * @param r The retriever type
+     * @param interval The minimum time between samples on the client
+     * @param threshold The minimum change of a numeric value before it is sent again, or {@code 0} to send any change
+     * @param plugin The plugin to subscribe for
+     * @return A future completing once the subscription has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if any of the arguments are null, or the interval or threshold is negative
+     */
+    @NotNull
+    public CompletableFuture<Void> subscribe(@NotNull RetrieverType<?> r, @NotNull Duration interval, double threshold, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return subscribe(r, interval, threshold, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Subscribes to a retriever type, so the client sends its value whenever it changes. The latest value is kept and
+     * can be read with {@link #getLatest(RetrieverType, SocketPlugin)} without any request to the client.
+     * <p>Several plugins can subscribe to the same type. The client samples it with the interval and threshold of the
+     * latest subscription, and only sends its value to the plugins that have permission for it.</p>
+     * @param r The retriever type
+     * @param interval The minimum time between samples on the client
+     * @param threshold The minimum change of a numeric value before it is sent again, or {@code 0} to send any change
+     * @param plugin The plugin to subscribe for
+     * @return A future completing once the subscription has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if any of the arguments are null, or the interval or threshold is negative
+     */
+    @NotNull
+    public CompletableFuture<Void> subscribe(@NotNull RetrieverType<?> r, @NotNull Duration interval, double threshold, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        if (r == null) throw new IllegalArgumentException("Retriever type cannot be null");
+        if (interval == null) throw new IllegalArgumentException("Interval cannot be null");
+        if (interval.isNegative()) throw new IllegalArgumentException("Interval cannot be negative");
+        if (threshold < 0) throw new IllegalArgumentException("Threshold cannot be negative");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        subscriptions.compute(r, (k, plugins) -> {
+            if (plugins == null) plugins = ConcurrentHashMap.newKeySet();
+            plugins.add(plugin);
+            return plugins;
+        });
+        return writeSubscription(r, true, interval.toMillis(), threshold, plugin);
+    }
+
+    /**
+     * Stops a plugin's subscription to a retriever type, and forgets its latest value. The client keeps sending the
+     * value while other plugins are subscribed to it.
+     * @param r The retriever type
+     * @param plugin The plugin to unsubscribe for
+     * @return A future completing once the request has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if any of the arguments are null
+     */
+    @NotNull
+    public CompletableFuture<Void> unsubscribe(@NotNull RetrieverType<?> r, @NotNull Plugin plugin) throws IllegalArgumentException {
+        return unsubscribe(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Stops a plugin's subscription to a retriever type, and forgets its latest value. The client keeps sending the
+     * value while other plugins are subscribed to it.
+     * @param r The retriever type
+     * @param plugin The plugin to unsubscribe for
+     * @return A future completing once the request has been written to the network, or exceptionally with a
+     * {@link SocketMCNotInstalledException} or {@link FailedInstructionException}
+     * @throws IllegalArgumentException if any of the arguments are null
+     */
+    @NotNull
+    public CompletableFuture<Void> unsubscribe(@NotNull RetrieverType<?> r, @NotNull SocketPlugin plugin) throws IllegalArgumentException {
+        if (r == null) throw new IllegalArgumentException("Retriever type cannot be null");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        Set<SocketPlugin> remaining = subscriptions.computeIfPresent(r, (k, plugins) -> {
+            plugins.remove(plugin);
+            return plugins.isEmpty() ? null : plugins;
+        });
+
+        Map<SocketPlugin, Object> values = latest.get(r);
+        if (values != null) values.remove(plugin);
+
+        // Only the last subscriber stops the client from sampling the type
+        if (remaining != null) return CompletableFuture.completedFuture(null);
+
+        latest.remove(r);
+        return writeSubscription(r, false, 0, 0, plugin);
+    }
+
+    /**
+     * Checks whether any plugin is subscribed to a retriever type for this player.
+     * @param r The retriever type
+     * @return true if subscribed
+     */
+    public boolean isSubscribed(@NotNull RetrieverType<?> r) {
+        return subscriptions.containsKey(r);
+    }
+
+    /**
+     * Checks whether a plugin is subscribed to a retriever type for this player.
+     * @param r The retriever type
+     * @param plugin The plugin
+     * @return true if subscribed
+     */
+    public boolean isSubscribed(@NotNull RetrieverType<?> r, @NotNull Plugin plugin) {
+        return isSubscribed(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Checks whether a plugin is subscribed to a retriever type for this player.
+     * @param r The retriever type
+     * @param plugin The plugin
+     * @return true if subscribed
+     */
+    public boolean isSubscribed(@NotNull RetrieverType<?> r, @NotNull SocketPlugin plugin) {
+        Set<SocketPlugin> plugins = subscriptions.get(r);
+        return plugins != null && plugins.contains(plugin);
+    }
+
+    /**
+     * Checks whether the client has sent a plugin a value for a subscribed retriever type.
+     * @param r The retriever type
+     * @param plugin The plugin subscribed to the type
+     * @return true if a value has been received
+     */
+    public boolean hasLatest(@NotNull RetrieverType<?> r, @NotNull Plugin plugin) {
+        return hasLatest(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Checks whether the client has sent a plugin a value for a subscribed retriever type.
+     * @param r The retriever type
+     * @param plugin The plugin subscribed to the type
+     * @return true if a value has been received
+     */
+    public boolean hasLatest(@NotNull RetrieverType<?> r, @NotNull SocketPlugin plugin) {
+        return latest(r, plugin) != null;
+    }
+
+    /**
+     * Gets the latest value the client sent a plugin for a subscribed retriever type.
+     * @param r The retriever type
+     * @param plugin The plugin subscribed to the type
+     * @return The latest value, or null if none has been received or the value is null
+     * @param <T> The type of the retriever
+     */
+    @Nullable
+    public <T> T getLatest(@NotNull RetrieverType<T> r, @NotNull Plugin plugin) {
+        return getLatest(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Gets the latest value the client sent a plugin for a subscribed retriever type.
+     * @param r The retriever type
+     * @param plugin The plugin subscribed to the type
+     * @return The latest value, or null if none has been received or the value is null
+     * @param <T> The type of the retriever
+     */
+    @Nullable
+    public <T> T getLatest(@NotNull RetrieverType<T> r, @NotNull SocketPlugin plugin) {
+        Object value = latest(r, plugin);
+        return value == null || value == NULL ? null : r.getType().cast(value);
+    }
+
+    private Object latest(RetrieverType<?> r, SocketPlugin plugin) {
+        Map<SocketPlugin, Object> values = latest.get(r);
+        return values == null ? null : values.get(plugin);
+    }
+
+    private CompletableFuture<Void> writeSubscription(RetrieverType<?> r, boolean subscribe, long interval, double threshold, SocketPlugin plugin) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(WireCodec.RETRIEVER_SUBSCRIBE_FRAME);
+        WireCodec.writeString(buf, r.getId());
+        buf.writeBoolean(subscribe);
+        if (subscribe) {
+            WireCodec.writeVarLong(buf, interval);
+            buf.writeDouble(threshold);
+        }
+        Runnable defined = player.writePlugin(buf, plugin);
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        player.channel.writeAndFlush(buf).addListener(f -> {
+            if (f.isSuccess()) {
+                defined.run();
+                result.complete(null);
+            } else
+                result.completeExceptionally(SocketPlayer.failure(f.cause(), "Failed to subscribe to retriever"));
+        });
+
+        return result;
+    }
+
+    /**
+     * Stores a value pushed by the client for a subscribed retriever type. The value is only kept for the plugins that
+     * are still subscribed and that the client allowed to receive it.
+     * @param r The retriever type
+     * @param value The value sent
+     * @param plugins The plugins the client sent the value for
+     */
+    void update(RetrieverType<?> r, Object value, Collection<SocketPlugin> plugins) {
+        Set<SocketPlugin> subscribers = subscriptions.get(r);
+        if (subscribers == null) return;
+
+        Map<SocketPlugin, Object> values = latest.computeIfAbsent(r, k -> new ConcurrentHashMap<>());
+        for (SocketPlugin plugin : plugins)
+            if (subscribers.contains(plugin)) values.put(plugin, value == null ? NULL : value);
+    }
+
+    /**
+     * Gets how long a retrieved value of a type is cached for.
+     * @param r The retriever type
+     * @return the time to live in milliseconds, {@link #CACHE_FOREVER} if it does not expire, or {@code 0} if the type is not cached
+     */
+    public long getCacheTtl(@NotNull RetrieverType<?> r) {
+        return cacheTtls.getOrDefault(r, 0L);
+    }
+
+    /**
+     * Sets how long a retrieved value of a type is cached for.
+     * @param r The retriever type
+     * @param ttl the time to live in milliseconds, {@link #CACHE_FOREVER} if it does not expire, or {@code 0} to not cache the type
+     * @throws IllegalArgumentException if the type is null, or the time to live is negative
+     */
+    public void setCacheTtl(@NotNull RetrieverType<?> r, long ttl) throws IllegalArgumentException {
+        if (r == null) throw new IllegalArgumentException("Retriever type cannot be null");
+        if (ttl < 0) throw new IllegalArgumentException("Time to live cannot be negative");
+
+        if (ttl == 0) {
+            cacheTtls.remove(r);
+            invalidate(r);
+        } else
+            cacheTtls.put(r, ttl);
+    }
+
+    /**
+     * Checks whether a value of a type can currently be read for a plugin without a request to the client, either from
+     * the cache or from a subscription.
+     * @param r The retriever type
+     * @param plugin The plugin reading the value
+     * @return true if a value is available
+     */
+    public boolean isCached(@NotNull RetrieverType<?> r, @NotNull Plugin plugin) {
+        return isCached(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Checks whether a value of a type can currently be read for a plugin without a request to the client, either from
+     * the cache or from a subscription.
+     * @param r The retriever type
+     * @param plugin The plugin reading the value
+     * @return true if a value is available
+     */
+    public boolean isCached(@NotNull RetrieverType<?> r, @NotNull SocketPlugin plugin) {
+        return lookup(r, plugin) != MISS;
+    }
+
+    /**
+     * Gets the value of a type that can currently be read for a plugin without a request to the client.
+     * @param r The retriever type
+     * @param plugin The plugin reading the value
+     * @return The cached value, or null if it is not cached or is null
+     * @param <T> The type of the retriever
+     * @see #isCached(RetrieverType, Plugin)
+     */
+    @Nullable
+    public <T> T getCached(@NotNull RetrieverType<T> r, @NotNull Plugin plugin) {
+        return getCached(r, SocketPlayer.toSocketPlugin(plugin));
+    }
+
+    /**
+     * Gets the value of a type that can currently be read for a plugin without a request to the client.
+     * @param r The retriever type
+     * @param plugin The plugin reading the value
+     * @return The cached value, or null if it is not cached or is null
+     * @param <T> The type of the retriever
+     * @see #isCached(RetrieverType, SocketPlugin)
+     */
+    @Nullable
+    public <T> T getCached(@NotNull RetrieverType<T> r, @NotNull SocketPlugin plugin) {
+        Object value = lookup(r, plugin);
+        return value == MISS ? null : r.getType().cast(value);
+    }
+
+    /**
+     * Removes the cached value of a type, so the next request for it is sent to the client.
+     * @param r The retriever type
+     */
+    public void invalidate(@NotNull RetrieverType<?> r) {
+        cache.keySet().removeIf(key -> key.type.equals(r));
+    }
+
+    /**
+     * Removes every cached value.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private Object lookup(RetrieverType<?> r, SocketPlugin plugin) {
+        Object value = latest(r, plugin);
+        if (value != null) return value == NULL ? null : value;
+
+        CacheKey key = new CacheKey(r, plugin);
+        Cached cached = cache.get(key);
+        if (cached == null) return MISS;
+
+        if (System.currentTimeMillis() >= cached.expires) {
+            cache.remove(key, cached);
+            return MISS;
+        }
+
+        return cached.value;
+    }
+
+    private void store(RetrieverType<?> r, SocketPlugin plugin, Object value) {
+        long ttl = getCacheTtl(r);
+        if (ttl <= 0) return;
+
+        long expires = ttl == CACHE_FOREVER ? Long.MAX_VALUE : System.currentTimeMillis() + ttl;
+        cache.put(new CacheKey(r, plugin), new Cached(value, expires));
+        cachingPlugins.add(plugin);
+    }
+
+    /**
+     * Retrieves every cached type for each enabled plugin that has cached values before, with one request per plugin,
+     * so later requests for them complete immediately. Failures are ignored, as the values are requested again when
+     * needed.
+     */
+    void warm() {
+        List<RetrieverType<?>> types = new ArrayList<>(cacheTtls.keySet());
+        if (types.isEmpty()) return;
+
+        for (SocketPlugin plugin : cachingPlugins) {
+            Plugin enabled = Bukkit.getPluginManager().getPlugin(plugin.getPluginName());
+            if (enabled == null || !enabled.isEnabled()) {
+                cachingPlugins.remove(plugin);
+                continue;
+            }
+
+            retrieve(types, plugin).exceptionally(ex -> null);
+        }
+    }
+
+    // Stops warming the cache for a plugin once it is disabled
+    static void forget(SocketPlugin plugin) {
+        cachingPlugins.remove(plugin);
+    }
+
+    private <T> CompletableFuture<UUID> send(RetrieverType<T> r, Consumer<T> callback, CompletableFuture<T> future, long timeout, SocketPlugin plugin) {
+        if (r == null) throw new IllegalArgumentException("Retriever type cannot be null");
+        if (plugin == null) throw new IllegalArgumentException("Plugin cannot be null");
+
+        Consumer<T> caching = value -> {
+            store(r, plugin, value);
+            callback.accept(value);
+        };
+
+        return send((buf, id) -> {
+            buf.writeVarInt(WireCodec.RETRIEVER_FRAME);
+            buf.writeUUID(id);
+            buf.writeByteArray(r.toByteArray());
+        }, () -> ServerAuditLog.INSTANCE.logSentAsync(r, plugin), caching, future, timeout, plugin);
+    }
+
+    private CompletableFuture<UUID> send(BiConsumer<FriendlyByteBuf, UUID> frame, Runnable audit, Consumer callback, CompletableFuture future, long timeout, SocketPlugin plugin) {
+
+        CompletableFuture<UUID> result = new CompletableFuture<>();
+        if (outstanding.incrementAndGet() > maxPending) {
+            outstanding.decrementAndGet();
+            result.completeExceptionally(new FailedInstructionException("Too many pending retriever requests"));
+            return result;
+        }
+
         UUID id = UUID.randomUUID();
-        getBus0().put(id, callback);
+        Pending request = new Pending(this, callback, future);
+        pending.put(id, request);
+        request.timeout = timer().newTimeout(t -> request.owner.expire(id), timeout, TimeUnit.MILLISECONDS);
+        if (future != null) future.whenComplete((v, ex) -> request.owner.remove(id));
+
+        // Requests made after the player disconnected are never answered
+        if (!player.channel.isActive()) cancel(id);
 
         FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-        buf.writeVarInt(-4);
-        buf.writeUUID(id);
-        buf.writeByteArray(r.toByteArray());
-        buf.writeByteArray(plugin.toByteArray());
-
-        try {
-            ChannelFuture future = player.channel.writeAndFlush(buf);
-            future.await();
-            if (!future.isSuccess()) {
-                if (future.cause() instanceof DecoderException)
-                    throw new SocketMCNotInstalledException("Player does not have SocketMC installed", future.cause());
-                else
-                    throw new FailedInstructionException("Failed to request retriever", future.cause());
-            } else {
+        frame.accept(buf, id);
+        Runnable defined = player.writePlugin(buf, plugin);
+
+        player.channel.writeAndFlush(buf).addListener(f -> {
+            if (f.isSuccess()) {
                 // Successful Retriever Request
-                ServerAuditLog.INSTANCE.logSent(r, plugin);
+                defined.run();
+                audit.run();
+                result.complete(id);
+            } else {
+                remove(id);
+                result.completeExceptionally(SocketPlayer.failure(f.cause(), "Failed to request retriever"));
             }
-        } catch (InterruptedException e) {
-            throw new FailedInstructionException("Failed to request retriever", e);
+        });
+
+        return result;
+    }
+
+    private Pending remove(UUID id) {
+        Pending request = pending.remove(id);
+        if (request == null) return null;
+
+        outstanding.decrementAndGet();
+        if (request.timeout != null) request.timeout.cancel();
+        return request;
+    }
+
+    private static Timer timer() {
+        Timer timer = SocketRetriever.timer;
+        if (timer != null) return timer;
+
+        synchronized (SocketRetriever.class) {
+            if (SocketRetriever.timer == null)
+                SocketRetriever.timer = new HashedWheelTimer(r -> {
+                    Thread t = new Thread(r, "SocketMC Retriever Timer");
+                    t.setDaemon(true);
+                    return t;
+                }, 100, TimeUnit.MILLISECONDS);
+
+            return SocketRetriever.timer;
+        }
+    }
+
+    /**
+     * Stops the thread timing out requests, expiring every request that is still pending. This is called when the
+     * plugin SocketMC is shaded into is disabled.
+     */
+    static void shutdown() {
+        Timer old;
+        synchronized (SocketRetriever.class) {
+            old = timer;
+            timer = null;
         }
 
-        return id;
+        if (old == null) return;
+        for (Timeout timeout : old.stop())
+            try {
+                timeout.task().run(timeout);
+            } catch (Exception e) {
+                Bukkit.getLogger().log(Level.SEVERE, "Failed to expire retriever request", e);
+            }
+    }
+
+    private void expire(UUID id) {
+        Pending request = remove(id);
+        if (request != null && request.future != null)
+            request.future.completeExceptionally(new TimeoutException("Client did not respond to retriever request " + id));
+    }
+
+    private void cancel(UUID id) {
+        Pending request = remove(id);
+        if (request != null && request.future != null) request.future.cancel(false);
     }
 
+    /**
+     * Completes a pending request with the value retrieved by the client. Responses to unknown, expired or cancelled
+     * requests are ignored.
+     * @param id The identifier of the request
+     * @param value The value retrieved
+     */
+    void complete(UUID id, Object value) {
+        Pending request = remove(id);
+        if (request != null) request.callback.accept(value);
+    }
+
+    /**
+     * Cancels every pending request, such as when the player disconnects.
+     */
+    void cancelAll() {
+        for (UUID id : pending.keySet()) cancel(id);
+    }
+
+    /**
+     * Moves every pending request to another retriever, such as when a {@link SocketPlayer} is recreated for the same connection.
+     * @param other The retriever to move the requests to
+     */
+    void transferTo(SocketRetriever other) {
+        if (other == this) return;
+
+        subscriptions.forEach((r, plugins) -> other.subscriptions.computeIfAbsent(r, k -> ConcurrentHashMap.newKeySet()).addAll(plugins));
+        latest.forEach((r, values) -> other.latest.computeIfAbsent(r, k -> new ConcurrentHashMap<>()).putAll(values));
+        other.cache.putAll(cache);
+
+        for (UUID id : pending.keySet()) {
+            Pending request = pending.remove(id);
+            if (request == null) continue;
+
+            outstanding.decrementAndGet();
+            other.outstanding.incrementAndGet();
+            request.owner = other;
+            other.pending.put(id, request);
+        }
+    }
+
+    private record CacheKey(RetrieverType<?> type, SocketPlugin plugin) {}
+
+    private record Cached(Object value, long expires) {}
+
+    private static final class Pending {
+        final Consumer callback;
+        final CompletableFuture future;
+        volatile SocketRetriever owner;
+        volatile Timeout timeout;
+
+        Pending(SocketRetriever owner, Consumer callback, CompletableFuture future) {
+            this.owner = owner;
+            this.callback = callback;
+            this.future = future;
+        }
+    }
 
 }
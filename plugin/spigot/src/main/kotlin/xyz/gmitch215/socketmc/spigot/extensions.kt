@@ -30,4 +30,47 @@ fun Player.sendInstruction(instruction: Instruction, plugin: Plugin) = socket.se
  * @param instruction Instruction to send
  * @param plugin Plugin to send the instruction with
  */
-fun Player.sendInstruction(instruction: Instruction, plugin: SocketPlugin) = socket.sendInstruction(instruction, plugin)
\ No newline at end of file
+fun Player.sendInstruction(instruction: Instruction, plugin: SocketPlugin) = socket.sendInstruction(instruction, plugin)
+
+/**
+ * Send an instruction to the player without blocking the calling thread.
+ * @param instruction Instruction to send
+ * @param plugin Plugin to send the instruction with
+ * @return Future completing once the instruction has been sent
+ */
+fun Player.sendInstructionAsync(instruction: Instruction, plugin: Plugin) = socket.sendInstructionAsync(instruction, plugin)
+
+/**
+ * Send an instruction to the player without blocking the calling thread.
+ * @param instruction Instruction to send
+ * @param plugin Plugin to send the instruction with
+ * @return Future completing once the instruction has been sent
+ */
+fun Player.sendInstructionAsync(instruction: Instruction, plugin: SocketPlugin) = socket.sendInstructionAsync(instruction, plugin)
+
+/**
+ * Send a batch of instructions to the player in a single frame.
+ * @param instructions Instructions to send
+ * @param plugin Plugin to send the instructions with
+ */
+fun Player.sendInstructions(instructions: Collection<Instruction>, plugin: Plugin) = socket.sendInstructions(instructions, plugin)
+
+/**
+ * Send a batch of instructions to the player in a single frame.
+ * @param instructions Instructions to send
+ * @param plugin Plugin to send the instructions with
+ */
+fun Player.sendInstructions(instructions: Collection<Instruction>, plugin: SocketPlugin) = socket.sendInstructions(instructions, plugin)
+
+/**
+ * Send a prepared instruction to the player.
+ * @param prepared Prepared instruction to send
+ */
+fun Player.sendInstruction(prepared: PreparedInstruction) = socket.sendInstruction(prepared)
+
+/**
+ * Send a prepared instruction to every player in the collection.
+ * @param prepared Prepared instruction to send
+ * @return Future completing once the instruction has been sent to every player
+ */
+fun Collection<Player>.broadcast(prepared: PreparedInstruction) = prepared.broadcast(this)